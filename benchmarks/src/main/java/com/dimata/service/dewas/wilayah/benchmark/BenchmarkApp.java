@@ -0,0 +1,100 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.cache.NegativeLookupCache;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.importer.CsvImportPipeline;
+import com.dimata.service.dewas.wilayah.importer.CsvSource;
+import com.dimata.service.dewas.wilayah.importer.RegionImportService;
+import com.dimata.service.dewas.wilayah.orm.core.BulkUpsertEngine;
+import com.dimata.service.dewas.wilayah.orm.core.BulkWriteMode;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
+import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
+import com.dimata.service.dewas.wilayah.repo.VillageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+
+import java.lang.reflect.Field;
+
+/**
+ * Bean aplikasi yang dirakit tanpa container CDI, dengan nilai konfigurasi bawaan dari application.properties.
+ * Field {@code @Inject} dan {@code @ConfigProperty} diisi lewat reflection supaya kode yang diukur
+ * persis kode aplikasi, tanpa subclass atau setter khusus benchmark.
+ */
+public final class BenchmarkApp {
+
+    public final BulkUpsertEngine bulkUpsertEngine;
+    public final ProvinceRepository provinceRepository;
+    public final RegencyRepository regencyRepository;
+    public final DistrictRepository districtRepository;
+    public final VillageRepository villageRepository;
+    public final CsvImportPipeline csvImportPipeline;
+    public final RegionImportService regionImportService;
+
+    /**
+     * @param dsl          koneksi database benchmark.
+     * @param writeMode    mode {@code dimata.wilayah.import.write-mode}.
+     * @param deltaEnabled nilai {@code dimata.wilayah.import.delta.enabled}.
+     */
+    public BenchmarkApp(DSLContext dsl, BulkWriteMode writeMode, boolean deltaEnabled) {
+        bulkUpsertEngine = inject(new BulkUpsertEngine(), "dsl", dsl, "mode", writeMode);
+        provinceRepository = repository(new ProvinceRepository(), dsl);
+        regencyRepository = repository(new RegencyRepository(), dsl);
+        districtRepository = repository(new DistrictRepository(), dsl);
+        villageRepository = repository(new VillageRepository(), dsl);
+
+        csvImportPipeline = inject(new CsvImportPipeline(),
+                "csvSource", new CsvSource(), "batchSize", 1000, "queueCapacity", 4,
+                "registry", new SimpleMeterRegistry());
+        // Snapshot dimatikan: yang diukur adalah import ke database, bukan pembangunan snapshot
+        RegionSnapshotHolder snapshotHolder = inject(new RegionSnapshotHolder(),
+                "negativeLookupCache", new NegativeLookupCache(), "enabled", false);
+        regionImportService = inject(new RegionImportService(),
+                "csvImportPipeline", csvImportPipeline,
+                "provinceRepository", provinceRepository,
+                "regencyRepository", regencyRepository,
+                "districtRepository", districtRepository,
+                "villageRepository", villageRepository,
+                "snapshotHolder", snapshotHolder,
+                "writerShards", 4,
+                "deltaEnabled", deltaEnabled);
+    }
+
+    private <T> T repository(T repository, DSLContext dsl) {
+        return inject(repository, "dsl", dsl, "bulkUpsertEngine", bulkUpsertEngine,
+                "defaultStrategy", QueryStrategy.ID_RANGE);
+    }
+
+    /**
+     * Mengisi field berdasarkan nama, termasuk field yang dideklarasikan di superclass.
+     *
+     * @param target          objek yang diisi.
+     * @param namesAndValues  pasangan nama field dan nilainya.
+     * @return {@code target}.
+     */
+    static <T> T inject(T target, Object... namesAndValues) {
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            String name = (String) namesAndValues[i];
+            try {
+                Field field = field(target.getClass(), name);
+                field.setAccessible(true);
+                field.set(target, namesAndValues[i + 1]);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Gagal mengisi " + target.getClass().getSimpleName() + "." + name, e);
+            }
+        }
+        return target;
+    }
+
+    private static Field field(Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // lanjut ke superclass
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+}
@@ -0,0 +1,204 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.configuration.supplier.AgroalDataSourceConfigurationSupplier;
+import io.agroal.api.security.NamePrincipal;
+import io.agroal.api.security.SimplePassword;
+import org.jooq.ConnectionProvider;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.DISTRICTS;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.PROVINCES;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.REGENCIES;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.VILLAGES;
+
+/**
+ * Database untuk benchmark. Bawaannya H2 in-memory dalam mode MySQL, satu database baru per instance,
+ * dengan skema dari {@code db/schema.sql} milik aplikasi. Koneksi diambil dari pool Agroal, sama seperti
+ * datasource aplikasi; ukurannya diatur lewat {@code -Dwilayah.bench.pool.size} (bawaan 8).
+ * <p>
+ * URL lain bisa dipakai lewat {@code -Dwilayah.bench.jdbc.url} (beserta {@code .user} dan {@code .password}),
+ * misalnya MySQL lokal untuk mengukur {@code LOAD_DATA}. Untuk URL selain H2 skema dianggap sudah ada.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    static final String URL_PROPERTY = "wilayah.bench.jdbc.url";
+
+    private static final String H2_URL = "jdbc:h2:mem:wilayah_%d;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final String url;
+    private final int poolSize;
+    private final AgroalDataSource dataSource;
+    private final DSLContext dsl;
+
+    private BenchmarkDatabase(String url, int poolSize, AgroalDataSource dataSource, DSLContext dsl) {
+        this.url = url;
+        this.poolSize = poolSize;
+        this.dataSource = dataSource;
+        this.dsl = dsl;
+    }
+
+    /**
+     * Membuka database benchmark baru.
+     *
+     * @return database yang sudah berisi skema, tetapi belum berisi data.
+     */
+    public static BenchmarkDatabase open() throws SQLException {
+        String url = System.getProperty(URL_PROPERTY, H2_URL.formatted(DATABASES.incrementAndGet()));
+        String user = System.getProperty(URL_PROPERTY + ".user", "");
+        String password = System.getProperty(URL_PROPERTY + ".password", "");
+        int poolSize = Integer.getInteger("wilayah.bench.pool.size", 8);
+        boolean h2 = url.startsWith("jdbc:h2:");
+
+        AgroalDataSource dataSource = AgroalDataSource.from(new AgroalDataSourceConfigurationSupplier()
+                .connectionPoolConfiguration(pool -> pool
+                        .maxSize(poolSize)
+                        .connectionFactoryConfiguration(factory -> factory
+                                .jdbcUrl(url)
+                                .principal(new NamePrincipal(user))
+                                .credential(new SimplePassword(password)))));
+        ConnectionProvider connections = new ConnectionProvider() {
+            @Override
+            public Connection acquire() {
+                try {
+                    Connection connection = dataSource.getConnection();
+                    return h2 ? h2Compatible(connection) : connection;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Gagal mengambil koneksi benchmark", e);
+                }
+            }
+
+            @Override
+            public void release(Connection connection) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new DataAccessException("Gagal mengembalikan koneksi benchmark", e);
+                }
+            }
+        };
+        // Dialek MYSQL menulis upsert dengan alias baris (MySQL 8.0.19+) yang tidak dikenal H2;
+        // MARIADB menulis VALUES(kolom), yang didukung H2 dalam mode MySQL
+        DSLContext dsl = DSL.using(connections, h2 ? SQLDialect.MARIADB : SQLDialect.MYSQL);
+        if (h2) {
+            try (Connection connection = dataSource.getConnection()) {
+                createSchema(connection);
+            }
+        }
+        return new BenchmarkDatabase(url, poolSize, dataSource, dsl);
+    }
+
+    public DSLContext dsl() {
+        return dsl;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public boolean isH2() {
+        return url.startsWith("jdbc:h2:");
+    }
+
+    /**
+     * Mengosongkan semua tabel wilayah, dari desa sampai provinsi supaya foreign key tidak dilanggar.
+     */
+    public void truncate() {
+        for (Table<?> table : List.of(VILLAGES, DISTRICTS, REGENCIES, PROVINCES)) {
+            dsl.deleteFrom(table).execute();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (isH2()) {
+                try (Connection connection = dataSource.getConnection();
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("SHUTDOWN");
+                }
+            }
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        String script;
+        try (InputStream inputStream = BenchmarkDatabase.class.getResourceAsStream("/db/schema.sql")) {
+            if (inputStream == null) {
+                throw new IllegalStateException("db/schema.sql tidak ditemukan di classpath");
+            }
+            script = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Repository memakai {@code fetchSize(Integer.MIN_VALUE)} supaya driver MySQL mengalirkan baris,
+     * sedangkan H2 menolak fetch size negatif. Proxy ini mengabaikan nilai negatif itu.
+     */
+    private static Connection h2Compatible(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = method.getReturnType();
+                return proxy(type, statement, (statementTarget, statementMethod, statementArgs) -> {
+                    if (statementMethod.getName().equals("setFetchSize") && (int) statementArgs[0] < 0) {
+                        return null;
+                    }
+                    return statementMethod.invoke(statementTarget, statementArgs);
+                });
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Invocation invocation) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return invocation.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(BenchmarkDatabase.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Object target, Method method, Object[] args) throws Exception;
+    }
+}
@@ -0,0 +1,84 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.orm.core.BulkWriteMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Satu batch {@code VillageRepository.bulkUpsert} per {@link BulkWriteMode}: batch yang semuanya baris baru,
+ * dan batch yang semuanya sudah ada (kasus import ulang tanpa delta).
+ * <p>
+ * {@code LOAD_DATA} butuh server MySQL sungguhan; jalankan dengan {@code -p writeMode=LOAD_DATA}
+ * dan {@code -Dwilayah.bench.jdbc.url=jdbc:mysql://...?allowLoadLocalInfile=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkUpsertBenchmark {
+
+    @Param({"BATCH", "MULTI_ROW"})
+    BulkWriteMode writeMode;
+
+    @Param({"1000"})
+    int batchSize;
+
+    private BenchmarkDatabase database;
+    private BenchmarkApp app;
+    private List<Village> batch;
+    private List<String> batchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.open();
+        app = new BenchmarkApp(database.dsl(), writeMode, false);
+        app.regionImportService.importAll();
+        batch = RegionCsv.villages().subList(0, batchSize);
+        batchIds = batch.stream().map(Village::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public void upsertExisting() {
+        app.villageRepository.bulkUpsert(batch);
+    }
+
+    /**
+     * State terpisah supaya penghapusan sebelum tiap pemanggilan hanya berlaku untuk {@link #upsertNew}.
+     * Satu batch butuh beberapa milidetik, jadi overhead {@link Level#Invocation} tidak berarti.
+     */
+    @State(Scope.Benchmark)
+    public static class Deleted {
+
+        @Setup(Level.Invocation)
+        public void delete(BulkUpsertBenchmark benchmark) {
+            benchmark.app.villageRepository.deleteByIds(benchmark.batchIds);
+        }
+    }
+
+    @Benchmark
+    public void upsertNew(Deleted deleted) {
+        app.villageRepository.bulkUpsert(batch);
+    }
+}
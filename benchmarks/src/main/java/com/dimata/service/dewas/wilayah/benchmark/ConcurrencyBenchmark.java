@@ -0,0 +1,139 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.orm.core.BulkWriteMode;
+import com.dimata.service.dewas.wilayah.orm.core.VirtualThreadConnectionLimit;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latensi request cepat selama lonjakan request lambat, per model eksekusi endpoint.
+ * <p>
+ * Selama setiap iterasi, {@code slowRequests} request {@code /villages/33} (query desa terbanyak) terus berjalan
+ * di latar belakang. Yang diukur:
+ * <ul>
+ *     <li>{@code fastRequest}: satu lookup provinsi yang dijalankan di executor yang sama, seperti request lain
+ *     yang datang bersamaan.</li>
+ *     <li>{@code importWriterQuery}: lookup yang sama langsung di platform thread, seperti writer job import.</li>
+ * </ul>
+ * Mode {@code WORKER_POOL} meniru worker pool berukuran tetap, {@code VIRTUAL} satu virtual thread per request
+ * tanpa batas koneksi, dan {@code VIRTUAL_LIMITED} dengan {@link VirtualThreadConnectionLimit} sebesar
+ * pool dikurangi dua.
+ * <p>
+ * H2 menjalankan query di thread pemanggil, jadi query desa memakai CPU carrier selama berjalan, tidak seperti
+ * MySQL yang menunggu jaringan. Virtual thread tidak di-preempt, sehingga di mesin dengan sedikit core request baru
+ * bisa tidak pernah kebagian carrier. Jumlah carrier karena itu ditetapkan sebesar pool bawaan (8).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=8")
+public class ConcurrencyBenchmark {
+
+    public enum Execution {
+        WORKER_POOL, VIRTUAL, VIRTUAL_LIMITED
+    }
+
+    @State(Scope.Benchmark)
+    public static class Burst {
+
+        @Param({"WORKER_POOL", "VIRTUAL", "VIRTUAL_LIMITED"})
+        Execution execution;
+
+        @Param({"32"})
+        int slowRequests;
+
+        @Param({"16"})
+        int workerThreads;
+
+        BenchmarkApp app;
+        ExecutorService executor;
+
+        private Thread producer;
+        private volatile boolean running;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededDatabase seeded) {
+            DSLContext dsl = seeded.database.dsl();
+            if (execution == Execution.VIRTUAL_LIMITED) {
+                int limit = Math.max(1, seeded.database.getPoolSize() - 2);
+                dsl = DSL.using(dsl.configuration().derive(new VirtualThreadConnectionLimit(
+                        dsl.configuration().connectionProvider(), limit, Duration.ofSeconds(30))));
+            }
+            app = new BenchmarkApp(dsl, BulkWriteMode.MULTI_ROW, true);
+            executor = execution == Execution.WORKER_POOL
+                    ? Executors.newFixedThreadPool(workerThreads)
+                    : Executors.newVirtualThreadPerTaskExecutor();
+        }
+
+        /**
+         * Menjaga {@code slowRequests} request lambat tetap berjalan sampai iterasi selesai.
+         */
+        @Setup(Level.Iteration)
+        public void startBurst() {
+            running = true;
+            Semaphore inFlight = new Semaphore(slowRequests);
+            producer = Thread.ofPlatform().name("burst").start(() -> {
+                while (running) {
+                    try {
+                        if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                            continue;
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    executor.execute(() -> {
+                        try {
+                            app.villageRepository.findByProvinceId("33", PageRequest.all());
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            });
+        }
+
+        @TearDown(Level.Iteration)
+        public void stopBurst() throws InterruptedException {
+            running = false;
+            producer.join();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Province> fastRequest(Burst burst) throws Exception {
+        return burst.executor.submit(() -> burst.app.provinceRepository.findById("33")).get();
+    }
+
+    @Benchmark
+    public Optional<Province> importWriterQuery(Burst burst) {
+        return burst.app.provinceRepository.findById("33");
+    }
+}
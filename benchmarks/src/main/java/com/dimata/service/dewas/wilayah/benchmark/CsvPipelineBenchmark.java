@@ -0,0 +1,54 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.importer.CsvImportPipeline;
+import com.dimata.service.dewas.wilayah.importer.CsvSource;
+import com.dimata.service.dewas.wilayah.importer.ImportResult;
+import com.dimata.service.dewas.wilayah.model.Village;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CsvImportPipeline} tanpa database: parsing villages.csv dan pembagian batch ke shard writer,
+ * dengan writer yang hanya mengonsumsi batch. Selisihnya dengan {@link ImportBenchmark} adalah biaya database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvPipelineBenchmark {
+
+    @Param({"1", "4"})
+    int shards;
+
+    private CsvImportPipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        pipeline = BenchmarkApp.inject(new CsvImportPipeline(),
+                "csvSource", new CsvSource(), "batchSize", 1000, "queueCapacity", 4,
+                "registry", new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public ImportResult parseVillages(Blackhole blackhole) throws Exception {
+        return pipeline.run("villages.csv",
+                record -> new Village(record.get(0), record.get(1), record.get(2)),
+                null, Village::getId, shards, CompletableFuture.completedFuture(null), blackhole::consume);
+    }
+}
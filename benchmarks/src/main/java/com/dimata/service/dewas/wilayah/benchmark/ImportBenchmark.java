@@ -0,0 +1,73 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.importer.ImportReport;
+import com.dimata.service.dewas.wilayah.orm.core.BulkWriteMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline import penuh ({@code RegionImportService.importAll}, endpoint {@code POST /import}):
+ * baca keempat CSV, bandingkan dengan isi tabel kalau delta aktif, lalu upsert per batch.
+ * <p>
+ * {@code EMPTY} mengukur import pertama ke tabel kosong, {@code SEEDED} mengukur import ulang
+ * CSV yang sama, yaitu kasus import terjadwal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ImportBenchmark {
+
+    @Param({"BATCH", "MULTI_ROW"})
+    BulkWriteMode writeMode;
+
+    @Param({"true", "false"})
+    boolean deltaEnabled;
+
+    @Param({"EMPTY", "SEEDED"})
+    String data;
+
+    private BenchmarkDatabase database;
+    private BenchmarkApp app;
+    private BenchmarkApp seeder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.open();
+        app = new BenchmarkApp(database.dsl(), writeMode, deltaEnabled);
+        seeder = new BenchmarkApp(database.dsl(), BulkWriteMode.MULTI_ROW, false);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareData() throws Exception {
+        database.truncate();
+        if (data.equals("SEEDED")) {
+            seeder.regionImportService.importAll();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public ImportReport importAll() throws Exception {
+        return app.regionImportService.importAll();
+    }
+}
@@ -0,0 +1,56 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.importer.CsvSource;
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.Village;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Isi CSV bawaan sebagai List model, untuk benchmark yang tidak butuh database.
+ */
+final class RegionCsv {
+
+    private RegionCsv() {
+    }
+
+    static List<Province> provinces() {
+        return read("provinces.csv", record -> new Province(record.get(0), record.get(1)));
+    }
+
+    static List<Regency> regencies() {
+        return read("regencies.csv", record -> new Regency(record.get(0), record.get(1), record.get(2)));
+    }
+
+    static List<District> districts() {
+        return read("districts.csv", record -> new District(record.get(0), record.get(1), record.get(2)));
+    }
+
+    static List<Village> villages() {
+        return read("villages.csv", record -> new Village(record.get(0), record.get(1), record.get(2)));
+    }
+
+    private static <T> List<T> read(String fileName, Function<CSVRecord, T> mapper) {
+        List<T> rows = new ArrayList<>();
+        try (InputStreamReader reader = new InputStreamReader(new CsvSource().open(fileName), StandardCharsets.UTF_8);
+             CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT)) {
+            for (CSVRecord record : parser) {
+                rows.add(mapper.apply(record));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+}
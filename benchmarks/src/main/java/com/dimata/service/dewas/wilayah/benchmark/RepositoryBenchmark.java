@@ -0,0 +1,58 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query baca di repository: desa per provinsi dengan kedua {@link QueryStrategy}, dan baca seluruh tabel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    /**
+     * Provinsi dengan desa paling banyak (33, Jawa Tengah) dan paling sedikit (31, DKI Jakarta).
+     */
+    @State(Scope.Benchmark)
+    public static class ProvinceQuery {
+
+        @Param({"33", "31"})
+        String provinceId;
+
+        @Param({"ID_RANGE", "JOIN"})
+        QueryStrategy strategy;
+    }
+
+    @Benchmark
+    public List<Village> villagesByProvinceId(SeededDatabase seeded, ProvinceQuery query) {
+        return seeded.app.villageRepository.findByProvinceId(query.provinceId, PageRequest.all(), query.strategy);
+    }
+
+    @Benchmark
+    public List<Village> findAllVillages(SeededDatabase seeded) {
+        return seeded.app.villageRepository.findAll();
+    }
+
+    @Benchmark
+    public void forEachVillage(SeededDatabase seeded, Blackhole blackhole) {
+        seeded.app.villageRepository.forEachVillage(blackhole::consume);
+    }
+}
@@ -0,0 +1,31 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.orm.core.BulkWriteMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Database benchmark yang sudah diisi seluruh CSV bawaan (34 provinsi sampai 80 ribuan desa),
+ * dipakai bersama oleh benchmark baca.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    BenchmarkDatabase database;
+    BenchmarkApp app;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.open();
+        app = new BenchmarkApp(database.dsl(), BulkWriteMode.MULTI_ROW, true);
+        app.regionImportService.importAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+}
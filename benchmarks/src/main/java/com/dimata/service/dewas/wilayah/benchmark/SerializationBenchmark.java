@@ -0,0 +1,87 @@
+package com.dimata.service.dewas.wilayah.benchmark;
+
+import com.dimata.service.dewas.wilayah.controller.FieldProjection;
+import com.dimata.service.dewas.wilayah.controller.JsonArrayStreamingOutput;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialisasi JSON List model dengan Jackson: langsung ke byte[] seperti respons biasa,
+ * dan lewat {@link JsonArrayStreamingOutput} seperti {@code GET /village} tanpa pagination.
+ * Output dibuang ke {@link OutputStream#nullOutputStream()} supaya yang terukur hanya serialisasi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Province> provinces;
+    private List<Regency> regencies;
+    private List<Village> villagesOfProvince;
+    private List<Village> villages;
+    private ObjectWriter villageWriter;
+    private FieldProjection<Village> idAndName;
+
+    @Setup
+    public void setUp() {
+        provinces = RegionCsv.provinces();
+        regencies = RegionCsv.regencies();
+        villages = RegionCsv.villages();
+        villagesOfProvince = villages.stream().filter(village -> village.getId().startsWith("33")).toList();
+        villageWriter = objectMapper.writerFor(Village.class);
+        idAndName = FieldProjection.forVillage("id,name");
+    }
+
+    @Benchmark
+    public byte[] provinces() throws IOException {
+        return objectMapper.writeValueAsBytes(provinces);
+    }
+
+    @Benchmark
+    public byte[] regencies() throws IOException {
+        return objectMapper.writeValueAsBytes(regencies);
+    }
+
+    @Benchmark
+    public byte[] villagesOfProvince() throws IOException {
+        return objectMapper.writeValueAsBytes(villagesOfProvince);
+    }
+
+    @Benchmark
+    public byte[] allVillages() throws IOException {
+        return objectMapper.writeValueAsBytes(villages);
+    }
+
+    @Benchmark
+    public void allVillagesStreamed() throws IOException {
+        JsonArrayStreamingOutput.of(villageWriter, villages::forEach).write(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void allVillagesProjected() throws IOException {
+        JsonArrayStreamingOutput.of(idAndName, villages::forEach).write(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,264 @@
+package com.dimata.service.dewas.wilayah.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator yang memutar ulang trafik dropdown alamat bertingkat ke instance wilayah-api yang sedang berjalan.
+ * <p>
+ * Setiap request memilih operasi sesuai {@code --mix}, lalu memilih provinsi dengan bobot jumlah desa di CSV
+ * (lihat {@link ProvinceWeights}). Dua model beban:
+ * <ul>
+ *     <li>closed ({@code --users=N}): N user virtual, masing-masing mengirim request berikutnya setelah response selesai.</li>
+ *     <li>open ({@code --rate=R}): R request per detik dengan jadwal tetap. Latensi dihitung dari jadwal mulai,
+ *     bukan dari saat request benar-benar terkirim, supaya antrean di sisi server ikut terukur
+ *     (coordinated omission).</li>
+ * </ul>
+ * Semua request berjalan di virtual thread, jadi ribuan user tidak membutuhkan ribuan platform thread.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("base-url", "http://localhost:8282");
+        DEFAULTS.put("users", "50");
+        DEFAULTS.put("rate", "0");
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("warmup", "10s");
+        DEFAULTS.put("mix", "provinces:40,regencies:30,districts:20,villages:10,import:0");
+        DEFAULTS.put("csv-dir", "src/main/resources/file-data-wilayah");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("gzip", "true");
+        DEFAULTS.put("timeout", "30s");
+        DEFAULTS.put("out", "");
+    }
+
+    private final Map<String, String> settings;
+    private final URI baseUrl;
+    private final ProvinceWeights provinces;
+    private final Operation[] operations;
+    private final long[] cumulativeMix;
+    private final boolean gzip;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final Report report = new Report();
+
+    private volatile long measureFrom;
+    private volatile long stopAt;
+
+    private LoadTest(Map<String, String> settings) throws IOException {
+        this.settings = settings;
+        this.baseUrl = URI.create(settings.get("base-url").replaceAll("/+$", ""));
+        this.provinces = ProvinceWeights.fromCsv(Path.of(settings.get("csv-dir")));
+        this.gzip = Boolean.parseBoolean(settings.get("gzip"));
+        this.timeout = parseDuration(settings.get("timeout"));
+
+        Map<Operation, Long> mix = parseMix(settings.get("mix"));
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeMix = new long[operations.length];
+        long sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeMix[i] = sum;
+        }
+
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(parseArgs(args)).run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        Duration duration = parseDuration(settings.get("duration"));
+        Duration warmup = parseDuration(settings.get("warmup"));
+        int users = Integer.parseInt(settings.get("users"));
+        double rate = Double.parseDouble(settings.get("rate"));
+        long seed = Long.parseLong(settings.get("seed"));
+
+        System.out.printf("Target %s, %d provinsi, provinsi terberat %s%n",
+                baseUrl, provinces.size(), provinces.describeHeaviest());
+        System.out.printf("%s, warmup %ds, pengukuran %ds, mix %s%n",
+                rate > 0 ? "Open model " + rate + " req/s" : "Closed model " + users + " user",
+                warmup.toSeconds(), duration.toSeconds(), settings.get("mix"));
+
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        stopAt = measureFrom + duration.toNanos();
+
+        if (rate > 0) {
+            runOpen(rate, new SplittableRandom(seed));
+        } else {
+            runClosed(users, new SplittableRandom(seed));
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        report.print(System.out, seconds);
+        String out = settings.get("out");
+        if (!out.isBlank()) {
+            report.writeJson(Path.of(out), settings, seconds);
+            System.out.println("Hasil ditulis ke " + out);
+        }
+    }
+
+    private void runClosed(int users, SplittableRandom seeds) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            // Setiap user punya random sendiri dari seed yang sama, jadi urutan request bisa diulang
+            SplittableRandom random = seeds.split();
+            threads.add(Thread.ofVirtual().name("user-" + i).start(() -> {
+                while (System.nanoTime() < stopAt) {
+                    long begin = System.nanoTime();
+                    send(nextOperation(random), random, begin);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void runOpen(double rate, SplittableRandom random) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long scheduled = System.nanoTime();
+        // close() menunggu request yang masih berjalan; lamanya dibatasi timeout request
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (scheduled < stopAt) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = nextOperation(random);
+                SplittableRandom requestRandom = random.split();
+                long intendedStart = scheduled;
+                requests.execute(() -> send(operation, requestRandom, intendedStart));
+                scheduled += interval;
+            }
+        }
+    }
+
+    private Operation nextOperation(SplittableRandom random) {
+        long point = random.nextLong(cumulativeMix[cumulativeMix.length - 1]);
+        for (int i = 0; i < cumulativeMix.length; i++) {
+            if (point < cumulativeMix[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Mengirim satu request dan membaca seluruh body-nya.
+     *
+     * @param intendedStart waktu mulai menurut jadwal (System.nanoTime).
+     */
+    private void send(Operation operation, SplittableRandom random, long intendedStart) {
+        String provinceId = operation.isPerProvince() ? provinces.sample(random) : null;
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(baseUrl.getPath() + operation.path(provinceId)))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        if (operation.getMethod().equals("POST")) {
+            request.POST(HttpRequest.BodyPublishers.noBody());
+        }
+
+        boolean ok;
+        try {
+            HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            ok = (response.statusCode() >= 200 && response.statusCode() < 300) || response.statusCode() == 304;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (intendedStart >= measureFrom && intendedStart < stopAt) {
+            report.record(operation, System.nanoTime() - intendedStart, ok);
+        }
+    }
+
+    /**
+     * Membaca argumen berbentuk {@code --nama=nilai}; nama yang tidak dikenal ditolak supaya salah ketik tidak
+     * diam-diam memakai nilai bawaan.
+     */
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> settings = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Argumen harus berbentuk --nama=nilai: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Opsi tidak dikenal: --" + name + ", pilihan: " + DEFAULTS.keySet());
+            }
+            settings.put(name, arg.substring(equals + 1));
+        }
+        return settings;
+    }
+
+    /**
+     * @param mix misalnya {@code provinces:40,regencies:30,villages:10}; operasi dengan bobot 0 diabaikan.
+     */
+    static Map<Operation, Long> parseMix(String mix) {
+        Map<Operation, Long> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Format mix harus operasi:bobot, ditemukan: " + part);
+            }
+            long weight = Long.parseLong(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.ofLabel(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix tidak berisi operasi dengan bobot lebih dari 0: " + mix);
+        }
+        return weights;
+    }
+
+    /**
+     * @param value angka dengan satuan {@code ms}, {@code s} atau {@code m}, misalnya {@code 90s}.
+     */
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        return switch (trimmed.charAt(trimmed.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Durasi harus berakhiran ms, s atau m: " + value);
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.dimata.service.dewas.wilayah.loadtest;
+
+/**
+ * Jenis request yang diputar ulang. Urutan {@code PROVINCES} sampai {@code VILLAGES} mengikuti
+ * dropdown bertingkat di form alamat: setiap pilihan provinsi memicu tiga request berikutnya.
+ */
+enum Operation {
+
+    PROVINCES("GET", "/provinces", false),
+    REGENCIES("GET", "/regencies/", true),
+    DISTRICTS("GET", "/districts/", true),
+    VILLAGES("GET", "/villages/", true),
+    IMPORT("POST", "/import", false);
+
+    private final String method;
+    private final String path;
+    private final boolean perProvince;
+
+    Operation(String method, String path, boolean perProvince) {
+        this.method = method;
+        this.path = path;
+        this.perProvince = perProvince;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return true kalau path membutuhkan ID provinsi.
+     */
+    boolean isPerProvince() {
+        return perProvince;
+    }
+
+    /**
+     * @param provinceId ID provinsi, diabaikan kalau operasi tidak per provinsi.
+     */
+    String path(String provinceId) {
+        return perProvince ? path + provinceId : path;
+    }
+
+    String label() {
+        return name().toLowerCase();
+    }
+
+    static Operation ofLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label().equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operasi tidak dikenal: " + label);
+    }
+}
@@ -0,0 +1,94 @@
+package com.dimata.service.dewas.wilayah.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Distribusi pilihan provinsi yang mengikuti kemiringan data CSV: peluang sebuah provinsi dipilih
+ * sebanding dengan jumlah desanya, jadi Jawa Tengah (sekitar 8.000 desa) jauh lebih sering diminta
+ * daripada DKI Jakarta (sekitar 250 desa).
+ */
+final class ProvinceWeights {
+
+    private final String[] provinceIds;
+    private final long[] cumulative;
+
+    private ProvinceWeights(String[] provinceIds, long[] cumulative) {
+        this.provinceIds = provinceIds;
+        this.cumulative = cumulative;
+    }
+
+    /**
+     * Membaca provinces.csv dan villages.csv dari direktori CSV wilayah.
+     *
+     * @param csvDir direktori berisi provinces.csv dan villages.csv.
+     * @throws IOException kalau file tidak ditemukan atau gagal dibaca.
+     */
+    static ProvinceWeights fromCsv(Path csvDir) throws IOException {
+        Map<String, Long> villages = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(csvDir.resolve("provinces.csv"), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                villages.put(line.substring(0, line.indexOf(',')), 0L);
+            }
+        }
+        // Dua digit pertama ID desa adalah ID provinsinya
+        try (BufferedReader reader = Files.newBufferedReader(csvDir.resolve("villages.csv"), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() >= 2) {
+                    villages.computeIfPresent(line.substring(0, 2), (id, count) -> count + 1);
+                }
+            }
+        }
+
+        List<String> ids = new ArrayList<>();
+        List<Long> sums = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : villages.entrySet()) {
+            // Provinsi tanpa desa tetap bisa terpilih sesekali
+            total += Math.max(1, entry.getValue());
+            ids.add(entry.getKey());
+            sums.add(total);
+        }
+        if (ids.isEmpty()) {
+            throw new IOException("provinces.csv kosong: " + csvDir);
+        }
+        return new ProvinceWeights(ids.toArray(new String[0]), sums.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    String sample(SplittableRandom random) {
+        long point = random.nextLong(cumulative[cumulative.length - 1]);
+        int index = Arrays.binarySearch(cumulative, point + 1);
+        return provinceIds[index >= 0 ? index : -index - 1];
+    }
+
+    int size() {
+        return provinceIds.length;
+    }
+
+    /**
+     * @return ID provinsi dengan bobot terbesar beserta porsinya, untuk ringkasan di awal run.
+     */
+    String describeHeaviest() {
+        int heaviest = 0;
+        for (int i = 1; i < provinceIds.length; i++) {
+            if (weight(i) > weight(heaviest)) {
+                heaviest = i;
+            }
+        }
+        return provinceIds[heaviest] + String.format(" (%.1f%%)", 100.0 * weight(heaviest) / cumulative[cumulative.length - 1]);
+    }
+
+    private long weight(int index) {
+        return index == 0 ? cumulative[0] : cumulative[index] - cumulative[index - 1];
+    }
+}
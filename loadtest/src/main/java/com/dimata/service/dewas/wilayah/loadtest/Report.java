@@ -0,0 +1,134 @@
+package com.dimata.service.dewas.wilayah.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hasil load test per operasi: histogram latensi (mikrodetik) dan jumlah error.
+ * Hanya request yang dimulai setelah warmup yang dicatat.
+ */
+final class Report {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Operation, ConcurrentHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    Report() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * @param latencyNanos waktu dari jadwal mulai request sampai body selesai dibaca.
+     * @param ok           false untuk status selain 2xx/304 atau kegagalan koneksi.
+     */
+    void record(Operation operation, long latencyNanos, boolean ok) {
+        // Nilai di atas batas histogram dipotong, bukan dibuang, supaya max tetap terlihat
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS);
+        latencies.get(operation).recordValue(micros);
+        if (!ok) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Mencetak tabel ringkasan, latensi dalam milidetik.
+     *
+     * @param seconds lama fase pengukuran (tanpa warmup), untuk menghitung throughput.
+     */
+    void print(PrintStream out, double seconds) {
+        out.printf(Locale.ROOT, "%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operasi", "request", "error", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            printRow(out, operation.label(), histogram, operationErrors, seconds);
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        printRow(out, "total", total, totalErrors, seconds);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errorCount, double seconds) {
+        out.printf(Locale.ROOT, "%-10s %9d %7d %9.1f", label, histogram.getTotalCount(), errorCount,
+                histogram.getTotalCount() / seconds);
+        for (double percentile : PERCENTILES) {
+            out.printf(Locale.ROOT, " %9.2f", millis(histogram.getValueAtPercentile(percentile)));
+        }
+        out.printf(Locale.ROOT, " %9.2f%n", millis(histogram.getMaxValue()));
+    }
+
+    /**
+     * Menulis hasil dalam JSON, supaya run dengan konfigurasi berbeda bisa dibandingkan.
+     *
+     * @param settings opsi run, ditulis apa adanya di field {@code settings}.
+     */
+    void writeJson(Path file, Map<String, String> settings, double seconds) throws IOException {
+        StringBuilder json = new StringBuilder("{\n  \"settings\": {");
+        String separator = "\n";
+        for (Map.Entry<String, String> entry : settings.entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ").append(quote(entry.getValue()));
+            separator = ",\n";
+        }
+        json.append("\n  },\n");
+        json.append(String.format(Locale.ROOT, "  \"durationSeconds\": %.3f,%n", seconds));
+        json.append("  \"operations\": {");
+        separator = "\n";
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            json.append(separator).append("    ").append(quote(operation.label())).append(": {");
+            json.append(String.format(Locale.ROOT, "\"count\": %d, \"errors\": %d, \"throughput\": %.2f",
+                    histogram.getTotalCount(), errors.get(operation).sum(), histogram.getTotalCount() / seconds));
+            for (double percentile : PERCENTILES) {
+                json.append(String.format(Locale.ROOT, ", \"p%s\": %.3f",
+                        percentileName(percentile), millis(histogram.getValueAtPercentile(percentile))));
+            }
+            json.append(String.format(Locale.ROOT, ", \"max\": %.3f}", millis(histogram.getMaxValue())));
+            separator = ",\n";
+        }
+        json.append("\n  }\n}\n");
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    private static String percentileName(double percentile) {
+        // 99.9 menjadi p99_9, supaya nama field tetap mudah dipakai di jq
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
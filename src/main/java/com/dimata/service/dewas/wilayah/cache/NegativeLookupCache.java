@@ -0,0 +1,86 @@
+package com.dimata.service.dewas.wilayah.cache;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache untuk lookup yang hasilnya kosong, misalnya {@code /provinces/99} dari bot yang memindai ID.
+ * Lookup yang sama dalam masa berlaku cache langsung dijawab kosong tanpa query ke database.
+ * <p>
+ * Kunci terdiri dari level hasil lookup dan ID yang dicari: (PROVINCE, "99") untuk provinsi 99,
+ * (REGENCY, "99") untuk daftar kabupaten di provinsi 99. Seluruh isi dibuang setiap snapshot
+ * dimuat ulang, karena data baru mungkin sudah masuk.
+ */
+@ApplicationScoped
+public class NegativeLookupCache {
+
+    private final ConcurrentHashMap<String, Long> expiries = new ConcurrentHashMap<>();
+
+    // Statistik untuk metrics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @ConfigProperty(name = "dimata.wilayah.negative-cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    @ConfigProperty(name = "dimata.wilayah.negative-cache.ttl-seconds", defaultValue = "60")
+    long ttlSeconds;
+
+    /**
+     * @return true kalau lookup ini baru saja kosong dan belum kedaluwarsa.
+     */
+    public boolean isKnownMissing(RegionLevel level, String id) {
+        String key = key(level, id);
+        Long expiry = expiries.get(key);
+        if (expiry == null) {
+            misses.increment();
+            return false;
+        }
+        if (expiry - System.nanoTime() <= 0) {
+            expiries.remove(key, expiry);
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Mencatat lookup yang hasilnya kosong.
+     */
+    public void markMissing(RegionLevel level, String id) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (expiries.size() >= maxSize) {
+            // Pemindaian ID acak tidak boleh membuat cache tumbuh tanpa batas
+            expiries.clear();
+        }
+        expiries.put(key(level, id), System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+    }
+
+    public void clear() {
+        expiries.clear();
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static String key(RegionLevel level, String id) {
+        return level.name() + ':' + id;
+    }
+}
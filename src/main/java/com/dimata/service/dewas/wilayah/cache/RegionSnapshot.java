@@ -0,0 +1,224 @@
+package com.dimata.service.dewas.wilayah.cache;
+
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionCode;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Salinan read-only seluruh data wilayah yang disimpan di memori.
+ * Objek ini immutable: dibangun sekali dari repository lalu hanya dibaca,
+ * sehingga aman diakses banyak thread tanpa lock.
+ * <p>
+ * Data disimpan per level sebagai {@link RegionTable} dengan kode primitif terurut,
+ * jadi index parent -> children cukup berupa rentang hasil binary search.
+ */
+public final class RegionSnapshot {
+
+    private static final RegionTable.RowMapper<Province> PROVINCE_MAPPER =
+            (table, i) -> new Province(table.id(i), table.name(i));
+    private static final RegionTable.RowMapper<Regency> REGENCY_MAPPER =
+            (table, i) -> new Regency(table.id(i), table.parentId(i), table.name(i));
+    private static final RegionTable.RowMapper<District> DISTRICT_MAPPER =
+            (table, i) -> new District(table.id(i), table.parentId(i), table.name(i));
+    private static final RegionTable.RowMapper<Village> VILLAGE_MAPPER =
+            (table, i) -> new Village(table.id(i), table.parentId(i), table.name(i));
+
+    private final RegionTable provinces;
+    private final RegionTable regencies;
+    private final RegionTable districts;
+    private final RegionTable villages;
+
+    private final Instant loadedAt;
+    private final String version;
+
+    private RegionSnapshot(RegionTable provinces, RegionTable regencies,
+                           RegionTable districts, RegionTable villages) {
+        this.provinces = provinces;
+        this.regencies = regencies;
+        this.districts = districts;
+        this.villages = villages;
+        this.loadedAt = Instant.now();
+
+        long hash = 0xcbf29ce484222325L;
+        for (RegionTable table : List.of(provinces, regencies, districts, villages)) {
+            hash = table.contentHash(hash);
+        }
+        this.version = String.format("%016x", hash);
+    }
+
+    /**
+     * Membangun snapshot baru dari data lengkap keempat level wilayah.
+     */
+    public static RegionSnapshot of(List<Province> provinces, List<Regency> regencies,
+                                    List<District> districts, List<Village> villages) {
+        return new RegionSnapshot(
+                RegionTable.of(RegionLevel.PROVINCE, provinces, Province::getId, Province::getName),
+                RegionTable.of(RegionLevel.REGENCY, regencies, Regency::getId, Regency::getName),
+                RegionTable.of(RegionLevel.DISTRICT, districts, District::getId, District::getName),
+                RegionTable.of(RegionLevel.VILLAGE, villages, Village::getId, Village::getName)
+        );
+    }
+
+    /**
+     * Tabel primitif untuk level tertentu.
+     */
+    public RegionTable table(RegionLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return provinces;
+            case REGENCY:
+                return regencies;
+            case DISTRICT:
+                return districts;
+            default:
+                return villages;
+        }
+    }
+
+    public List<Province> getProvinces() {
+        return provinces.view(PROVINCE_MAPPER);
+    }
+
+    public List<Province> getProvinces(PageRequest page) {
+        return page(provinces, 0, provinces.size(), page, PROVINCE_MAPPER);
+    }
+
+    public Optional<Province> findProvinceById(String id) {
+        int index = indexOf(provinces, id);
+        return index < 0 ? Optional.empty() : Optional.of(PROVINCE_MAPPER.map(provinces, index));
+    }
+
+    public List<Regency> getRegencies() {
+        return regencies.view(REGENCY_MAPPER);
+    }
+
+    public List<Regency> getRegencies(PageRequest page) {
+        return page(regencies, 0, regencies.size(), page, REGENCY_MAPPER);
+    }
+
+    public Optional<Regency> findRegencyById(String id) {
+        int index = indexOf(regencies, id);
+        return index < 0 ? Optional.empty() : Optional.of(REGENCY_MAPPER.map(regencies, index));
+    }
+
+    public List<Regency> findRegenciesByProvinceId(String provinceId) {
+        return findRegenciesByProvinceId(provinceId, PageRequest.all());
+    }
+
+    public List<Regency> findRegenciesByProvinceId(String provinceId, PageRequest page) {
+        return descendants(regencies, provinceId, RegionLevel.PROVINCE, page, REGENCY_MAPPER);
+    }
+
+    public List<District> getDistricts() {
+        return districts.view(DISTRICT_MAPPER);
+    }
+
+    public List<District> getDistricts(PageRequest page) {
+        return page(districts, 0, districts.size(), page, DISTRICT_MAPPER);
+    }
+
+    public Optional<District> findDistrictById(String id) {
+        int index = indexOf(districts, id);
+        return index < 0 ? Optional.empty() : Optional.of(DISTRICT_MAPPER.map(districts, index));
+    }
+
+    public List<District> findDistrictsByProvinceId(String provinceId) {
+        return findDistrictsByProvinceId(provinceId, PageRequest.all());
+    }
+
+    public List<District> findDistrictsByProvinceId(String provinceId, PageRequest page) {
+        return descendants(districts, provinceId, RegionLevel.PROVINCE, page, DISTRICT_MAPPER);
+    }
+
+    public List<District> findDistrictsByRegencyId(String regencyId, PageRequest page) {
+        return descendants(districts, regencyId, RegionLevel.REGENCY, page, DISTRICT_MAPPER);
+    }
+
+    public List<Village> getVillages() {
+        return villages.view(VILLAGE_MAPPER);
+    }
+
+    public List<Village> getVillages(PageRequest page) {
+        return page(villages, 0, villages.size(), page, VILLAGE_MAPPER);
+    }
+
+    public List<Village> findVillagesByProvinceId(String provinceId) {
+        return findVillagesByProvinceId(provinceId, PageRequest.all());
+    }
+
+    public List<Village> findVillagesByProvinceId(String provinceId, PageRequest page) {
+        return descendants(villages, provinceId, RegionLevel.PROVINCE, page, VILLAGE_MAPPER);
+    }
+
+    public List<Village> findVillagesByDistrictId(String districtId, PageRequest page) {
+        return descendants(villages, districtId, RegionLevel.DISTRICT, page, VILLAGE_MAPPER);
+    }
+
+    public Optional<Village> findVillageById(String id) {
+        int index = indexOf(villages, id);
+        return index < 0 ? Optional.empty() : Optional.of(VILLAGE_MAPPER.map(villages, index));
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Versi dataset, diturunkan dari hash isi seluruh tabel. Berubah setiap kali import mengubah data,
+     * dan sama di semua node yang memuat data yang sama, jadi aman dipakai sebagai ETag di belakang CDN.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    private static int indexOf(RegionTable table, String id) {
+        Long code = encode(id, table.getLevel());
+        return code == null ? -1 : table.indexOf(code);
+    }
+
+    private static <T> List<T> descendants(RegionTable table, String ancestorId, RegionLevel ancestorLevel,
+                                           PageRequest page, RegionTable.RowMapper<T> mapper) {
+        Long ancestor = encode(ancestorId, ancestorLevel);
+        if (ancestor == null) {
+            return List.of();
+        }
+        int[] range = table.descendantRange(ancestor, ancestorLevel);
+        return page(table, range[0], range[1], page, mapper);
+    }
+
+    /**
+     * Keyset pagination di atas rentang indeks: lompat ke kode setelah {@code after} dengan binary search.
+     */
+    private static <T> List<T> page(RegionTable table, int from, int to, PageRequest page,
+                                    RegionTable.RowMapper<T> mapper) {
+        if (page.getAfter() != null) {
+            Long after = encode(page.getAfter(), table.getLevel());
+            if (after != null) {
+                from = Math.max(from, table.upperBound(after));
+            }
+        }
+        if (page.hasLimit()) {
+            to = (int) Math.min(to, (long) from + page.getLimit());
+        }
+        return table.view(from, Math.max(from, to), mapper);
+    }
+
+    private static Long encode(String id, RegionLevel level) {
+        if (id == null || id.length() != level.getDigits()) {
+            return null;
+        }
+        try {
+            return RegionCode.encode(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.dimata.service.dewas.wilayah.cache;
+
+import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
+import com.dimata.service.dewas.wilayah.repo.VillageRepository;
+import com.dimata.service.dewas.wilayah.search.RegionMatchService;
+import com.dimata.service.dewas.wilayah.search.RegionSearchService;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Menyimpan {@link RegionSnapshot} aktif dan membangunnya ulang dari database.
+ * Snapshot baru ditukar secara atomik, jadi pembaca tidak pernah menunggu proses rebuild.
+ */
+@ApplicationScoped
+public class RegionSnapshotHolder {
+
+    private static final Logger LOGGER = Logger.getLogger(RegionSnapshotHolder.class.getName());
+
+    private final AtomicReference<RegionSnapshot> current = new AtomicReference<>();
+
+    // Bukan synchronized: rebuild menjalankan query JDBC, dan monitor yang ditahan selama I/O mengunci carrier virtual thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @ConfigProperty(name = "dimata.wilayah.snapshot.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    ProvinceRepository provinceRepository;
+
+    @Inject
+    RegencyRepository regencyRepository;
+
+    @Inject
+    DistrictRepository districtRepository;
+
+    @Inject
+    VillageRepository villageRepository;
+
+    @Inject
+    NegativeLookupCache negativeLookupCache;
+
+    @Inject
+    ResponseByteCache responseByteCache;
+
+    @Inject
+    RegionSearchService regionSearchService;
+
+    @Inject
+    RegionMatchService regionMatchService;
+
+    void onStart(@Observes StartupEvent event) {
+        refresh();
+    }
+
+    /**
+     * Snapshot yang sedang aktif.
+     *
+     * @return Optional kosong kalau snapshot dimatikan atau belum berhasil dibangun,
+     *         pemanggil harus fallback ke repository.
+     */
+    public Optional<RegionSnapshot> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Membaca ulang seluruh data wilayah dari database lalu menukar snapshot aktif.
+     * Kalau gagal, snapshot lama tetap dipakai. Isi {@link NegativeLookupCache} selalu dibuang;
+     * index pencarian, index pencocokan alamat dan {@link ResponseByteCache} diperbarui hanya kalau versi data berubah.
+     */
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            rebuild();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        // Data mungkin baru saja diimpor, jadi hasil lookup kosong sebelumnya tidak berlaku lagi
+        negativeLookupCache.clear();
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            RegionSnapshot snapshot = RegionSnapshot.of(
+                    provinceRepository.findAll(),
+                    regencyRepository.findAll(),
+                    districtRepository.findAllDistricts(),
+                    villageRepository.findAll()
+            );
+            RegionSnapshot previous = current.get();
+            boolean changed = previous == null || !previous.getVersion().equals(snapshot.getVersion());
+            if (changed) {
+                // Index dibangun sebelum snapshot ditukar, jadi pencarian dan pencocokan tidak pernah tertinggal versi
+                regionSearchService.rebuild(snapshot);
+                regionMatchService.rebuild(snapshot);
+            }
+            current.set(snapshot);
+            if (changed) {
+                // Entri lama memakai versi lama di kuncinya dan tidak akan terbaca lagi
+                responseByteCache.clear();
+            }
+            LOGGER.log(Level.INFO, "Snapshot wilayah diperbarui: " + snapshot.getVillages().size()
+                    + " desa dalam " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Gagal membangun snapshot wilayah, tetap memakai snapshot sebelumnya.", e);
+        }
+    }
+}
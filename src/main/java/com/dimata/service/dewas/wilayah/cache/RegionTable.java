@@ -0,0 +1,226 @@
+package com.dimata.service.dewas.wilayah.cache;
+
+import com.dimata.service.dewas.wilayah.model.RegionCode;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tabel kolumnar satu level wilayah dengan kode primitif yang terurut.
+ * Karena kode anak diawali kode induknya, semua keturunan satu wilayah berada
+ * dalam satu rentang indeks yang bersebelahan dan bisa dicari dengan binary search.
+ */
+public final class RegionTable {
+
+    private static final Logger LOGGER = Logger.getLogger(RegionTable.class.getName());
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final RegionLevel level;
+    private final long[] codes;
+    private final String[] names;
+
+    private RegionTable(RegionLevel level, long[] codes, String[] names) {
+        this.level = level;
+        this.codes = codes;
+        this.names = names;
+    }
+
+    /**
+     * Membangun tabel dari daftar entitas. Baris dengan kode tidak valid dilewati,
+     * nama yang sama dipakai bersama untuk menghemat heap.
+     *
+     * @param level  level wilayah dari entitas.
+     * @param rows   daftar entitas.
+     * @param idOf   pengambil ID dari entitas.
+     * @param nameOf pengambil nama dari entitas.
+     */
+    public static <T> RegionTable of(RegionLevel level, List<T> rows,
+                                     Function<T, String> idOf, Function<T, String> nameOf) {
+        long[] codes = new long[rows.size()];
+        String[] names = new String[rows.size()];
+        Map<String, String> namePool = new HashMap<>();
+        int size = 0;
+
+        for (T row : rows) {
+            String id = idOf.apply(row);
+            try {
+                long code = RegionCode.encode(id);
+                if (RegionLevel.ofDigits(id.length()) != level) {
+                    throw new IllegalArgumentException("Level kode tidak sesuai: " + id);
+                }
+                codes[size] = code;
+                names[size] = namePool.computeIfAbsent(nameOf.apply(row), name -> name);
+                size++;
+            } catch (IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Kode " + level + " dilewati: " + e.getMessage());
+            }
+        }
+
+        return sorted(level, Arrays.copyOf(codes, size), Arrays.copyOf(names, size));
+    }
+
+    private static RegionTable sorted(RegionLevel level, long[] codes, String[] names) {
+        boolean ordered = true;
+        for (int i = 1; i < codes.length && ordered; i++) {
+            ordered = codes[i - 1] < codes[i];
+        }
+        if (ordered) {
+            return new RegionTable(level, codes, names);
+        }
+
+        Integer[] order = new Integer[codes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(codes[a], codes[b]));
+
+        long[] sortedCodes = new long[codes.length];
+        String[] sortedNames = new String[names.length];
+        int size = 0;
+        for (int index : order) {
+            // Kode duplikat: baris terakhir yang menang, sama seperti upsert
+            if (size > 0 && sortedCodes[size - 1] == codes[index]) {
+                size--;
+            }
+            sortedCodes[size] = codes[index];
+            sortedNames[size] = names[index];
+            size++;
+        }
+        return new RegionTable(level, Arrays.copyOf(sortedCodes, size), Arrays.copyOf(sortedNames, size));
+    }
+
+    public RegionLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Hash FNV-1a 64-bit dari seluruh kode dan nama, berurutan. Dua tabel dengan isi sama
+     * selalu menghasilkan hash yang sama, di node mana pun.
+     *
+     * @param seed hash awal, untuk merangkai beberapa tabel.
+     */
+    public long contentHash(long seed) {
+        long hash = seed;
+        for (int i = 0; i < codes.length; i++) {
+            long code = codes[i];
+            for (int shift = 0; shift < 64; shift += 8) {
+                hash = (hash ^ ((code >>> shift) & 0xff)) * FNV_PRIME;
+            }
+            String name = names[i];
+            for (int c = 0; c < name.length(); c++) {
+                hash = (hash ^ name.charAt(c)) * FNV_PRIME;
+            }
+            hash = (hash ^ 0) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public long code(int index) {
+        return codes[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public String id(int index) {
+        return RegionCode.decode(codes[index], level);
+    }
+
+    public String parentId(int index) {
+        return RegionCode.decode(RegionCode.parentOf(codes[index], level), level.parent());
+    }
+
+    /**
+     * @return indeks kode, atau bilangan negatif kalau tidak ada.
+     */
+    public int indexOf(long code) {
+        return Arrays.binarySearch(codes, code);
+    }
+
+    /**
+     * Indeks pertama dengan kode >= {@code code}.
+     */
+    public int lowerBound(long code) {
+        int index = Arrays.binarySearch(codes, code);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Indeks pertama dengan kode > {@code code}.
+     */
+    public int upperBound(long code) {
+        int index = Arrays.binarySearch(codes, code);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Rentang indeks {@code [from, to)} semua baris yang merupakan keturunan {@code ancestor}.
+     */
+    public int[] descendantRange(long ancestor, RegionLevel ancestorLevel) {
+        int from = lowerBound(RegionCode.descendantLowerBound(ancestor, ancestorLevel, level));
+        int to = lowerBound(RegionCode.descendantUpperBound(ancestor, ancestorLevel, level));
+        return new int[]{from, to};
+    }
+
+    /**
+     * View list read-only atas rentang indeks; objek model dibuat saat elemen dibaca,
+     * jadi tabel tidak perlu menyimpan objek model sama sekali.
+     */
+    public <T> List<T> view(int from, int to, RowMapper<T> mapper) {
+        return new TableView<>(this, from, to, mapper);
+    }
+
+    public <T> List<T> view(RowMapper<T> mapper) {
+        return view(0, codes.length, mapper);
+    }
+
+    /**
+     * Pemetaan satu baris tabel ke objek model.
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(RegionTable table, int index);
+    }
+
+    private static final class TableView<T> extends AbstractList<T> implements RandomAccess {
+
+        private final RegionTable table;
+        private final int from;
+        private final int to;
+        private final RowMapper<T> mapper;
+
+        private TableView(RegionTable table, int from, int to, RowMapper<T> mapper) {
+            this.table = table;
+            this.from = from;
+            this.to = to;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return mapper.map(table, from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.dimata.service.dewas.wilayah.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache byte response JSON final per kunci (endpoint, parameter, versi dataset, encoding).
+ * <p>
+ * Isi disimpan di direct {@link ByteBuffer} (off-heap) supaya tidak menambah beban GC, dengan batas total
+ * {@code dimata.wilayah.response-cache.max-bytes} dan eviksi LRU. Karena versi dataset ikut dalam kunci,
+ * entri lama tidak pernah terbaca lagi setelah import; {@link #clear()} dipanggil saat versi berubah
+ * untuk langsung membebaskan memorinya.
+ */
+@ApplicationScoped
+public class ResponseByteCache {
+
+    @ConfigProperty(name = "dimata.wilayah.response-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "dimata.wilayah.response-cache.max-bytes", defaultValue = "67108864")
+    long maxBytes;
+
+    @ConfigProperty(name = "dimata.wilayah.response-cache.max-entry-bytes", defaultValue = "16777216")
+    int maxEntryBytes;
+
+    // accessOrder = true: iterasi dimulai dari entri yang paling lama tidak dipakai
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+
+    // Statistik untuk metrics; LongAdder supaya bisa dibaca tanpa mengambil lock cache
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled && maxBytes > 0;
+    }
+
+    /**
+     * @return batas ukuran satu response yang boleh disimpan.
+     */
+    public int getMaxEntryBytes() {
+        return (int) Math.min(maxEntryBytes, maxBytes);
+    }
+
+    public Optional<Entry> get(String key) {
+        return get(key, null);
+    }
+
+    /**
+     * Mencari {@code key}, lalu {@code fallbackKey} kalau tidak ada. Untuk statistik hit/miss
+     * keduanya dihitung sebagai satu lookup.
+     *
+     * @param fallbackKey kunci kedua, boleh null.
+     */
+    public synchronized Optional<Entry> get(String key, String fallbackKey) {
+        Entry entry = entries.get(key);
+        if (entry == null && fallbackKey != null) {
+            entry = entries.get(fallbackKey);
+        }
+        (entry == null ? misses : hits).increment();
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Menyimpan entri, lalu membuang entri yang paling lama tidak dipakai sampai total ukuran
+     * kembali di bawah batas.
+     */
+    public synchronized void put(String key, Entry entry) {
+        if (!isEnabled() || entry.size() > getMaxEntryBytes()) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            usedBytes -= previous.size();
+        }
+        usedBytes += entry.size();
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().size();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Satu response yang tersimpan: body beserta header yang dibutuhkan untuk mengirim ulang.
+     */
+    public static final class Entry {
+        private final ByteBuffer body;
+        private final String contentType;
+        private final String contentEncoding;
+        private final String nextCursor;
+
+        private Entry(ByteBuffer body, String contentType, String contentEncoding, String nextCursor) {
+            this.body = body;
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+            this.nextCursor = nextCursor;
+        }
+
+        /**
+         * Menyalin body ke buffer off-heap.
+         *
+         * @param contentEncoding misalnya gzip, atau null untuk identity.
+         * @param nextCursor      nilai header cursor halaman berikutnya, boleh null.
+         */
+        public static Entry of(byte[] body, int length, String contentType, String contentEncoding, String nextCursor) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+            buffer.put(body, 0, length).flip();
+            return new Entry(buffer.asReadOnlyBuffer(), contentType, contentEncoding, nextCursor);
+        }
+
+        /**
+         * @return view baru atas body; posisi view tidak memengaruhi pembaca lain.
+         */
+        public ByteBuffer body() {
+            return body.duplicate();
+        }
+
+        public int size() {
+            return body.capacity();
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getContentEncoding() {
+            return contentEncoding;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
@@ -1,34 +1,80 @@
 package com.dimata.service.dewas.wilayah.controller;
 
+import com.dimata.service.dewas.wilayah.importer.ImportJob;
+import com.dimata.service.dewas.wilayah.importer.ImportLease;
+import com.dimata.service.dewas.wilayah.importer.ImportScope;
 import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
 import com.dimata.service.dewas.wilayah.service.DistrictService;
+import com.dimata.service.dewas.wilayah.service.VillageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Path("/districts")
+@RunOnVirtualThread
 public class DistrictController {
 
+    @Inject
+    ImportLease importLease;
+
     @Inject
     DistrictService districtService;
 
+    @Inject
+    VillageService villageService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     /**
      * Endpoint untuk mengambil semua data kecamatan.
+     * Tanpa {@code limit}, data di-stream langsung ke response, jadi heap per request tidak bergantung pada jumlah kecamatan.
+     *
+     * @param after  ID kecamatan terakhir dari halaman sebelumnya (opsional).
+     * @param limit  jumlah maksimal kecamatan per halaman (opsional).
+     * @param fields daftar field yang dikirim, dipisah koma (opsional).
      * @return Response berisi data semua kecamatan.
      */
     @GET
-    public Response getAllDistricts() {
-        List<District> districts = districtService.getAllDistricts();
-        if (!districts.isEmpty()) {
-            return Response.ok(districts).build();
+    @HttpCached
+    public Response getAllDistricts(@QueryParam("after") String after,
+                                    @QueryParam("limit") String limit,
+                                    @QueryParam("fields") String fields) {
+        PageRequest page;
+        FieldProjection<District> projection;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.DISTRICT);
+            projection = FieldProjection.forDistrict(fields);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
+        if (!page.isUnbounded()) {
+            return ListResponses.ok(districtService.getAllDistricts(page), page, projection, District::getId);
+        }
+
+        if (districtService.hasDistricts()) {
+            StreamingOutput output = projection.isFull()
+                    ? JsonArrayStreamingOutput.of(objectMapper.writerFor(District.class), districtService::forEachDistrict)
+                    : JsonArrayStreamingOutput.of(projection, districtService::forEachDistrict);
+            return Response.ok(output, MediaType.APPLICATION_JSON).build();
         } else {
             // Kalau tidak ada data kecamatan yang ditemukan
             return Response.status(Response.Status.NOT_FOUND)
@@ -43,11 +89,20 @@ public class DistrictController {
      * Validasi dilakukan pada input ID untuk memastikan sesuai format yang diharapkan.
      *
      * @param provinceId ID provinsi yang akan dicari kecamatannya.
+     * @param after      ID kecamatan terakhir dari halaman sebelumnya (opsional).
+     * @param limit      jumlah maksimal kecamatan per halaman (opsional).
+     * @param fields     daftar field yang dikirim, dipisah koma (opsional).
+     * @param strategy   strategi query database, join atau id_range (opsional, untuk perbandingan).
      * @return Response berisi data kecamatan atau pesan error jika tidak ditemukan.
      */
     @GET
+    @HttpCached
     @Path("/{provinceId}")
-    public Response getDistrictsByProvinceId(@PathParam("provinceId") String provinceId) {
+    public Response getDistrictsByProvinceId(@PathParam("provinceId") String provinceId,
+                                             @QueryParam("after") String after,
+                                             @QueryParam("limit") String limit,
+                                             @QueryParam("fields") String fields,
+                                             @QueryParam("strategy") String strategy) {
         try {
             Integer.parseInt(provinceId); // Validasi bahwa provinceId berbentuk angka
         } catch (NumberFormatException e) {
@@ -57,10 +112,21 @@ public class DistrictController {
                     .build();
         }
 
+        PageRequest page;
+        FieldProjection<District> projection;
+        QueryStrategy queryStrategy;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.DISTRICT);
+            projection = FieldProjection.forDistrict(fields);
+            queryStrategy = QueryStrategy.parse(strategy);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
         try {
-            List<District> districts = districtService.findByProvinceId(provinceId);
-            if (!districts.isEmpty()) {
-                return Response.ok(districts).build();
+            List<District> districts = districtService.findByProvinceId(provinceId, page, queryStrategy);
+            if (!districts.isEmpty() || page.getAfter() != null) {
+                return ListResponses.ok(districts, page, projection, District::getId);
             } else {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(Map.of("status", 404, "message", "Tidak ada kecamatan untuk ID provinsi " + provinceId, "timestamp", LocalDateTime.now().toString()))
@@ -77,31 +143,58 @@ public class DistrictController {
     }
 
     /**
-     * Endpoint untuk mengimpor data kecamatan dari file CSV.
+     * Mengambil data desa dalam satu kecamatan, untuk dropdown kecamatan -> desa.
      *
-     * @return Response JSON berisi status sukses atau pesan error.
+     * @param id     ID kecamatan (7 digit).
+     * @param after  ID desa terakhir dari halaman sebelumnya (opsional).
+     * @param limit  jumlah maksimal desa per halaman (opsional).
+     * @param fields daftar field yang dikirim, dipisah koma (opsional).
+     * @return Response berisi data desa atau pesan error jika tidak ditemukan.
      */
-    @POST
-    @Path("/import")
-    public Response importDistrictsFromCsv() {
+    @GET
+    @HttpCached
+    @Path("/{id}/villages")
+    public Response getVillagesByDistrictId(@PathParam("id") String id,
+                                            @QueryParam("after") String after,
+                                            @QueryParam("limit") String limit,
+                                            @QueryParam("fields") String fields) {
+        if (!ListResponses.isValidId(id, RegionLevel.DISTRICT)) {
+            return ListResponses.badRequest("ID kecamatan harus berupa 7 digit angka.");
+        }
+
+        PageRequest page;
+        FieldProjection<Village> projection;
         try {
-            districtService.importFromCsvWithUpsert();
-            return Response.status(Response.Status.CREATED)
-                    .entity(Map.of("status", 201, "message", "Data kecamatan berhasil diimpor dan diperbarui dari CSV.", "timestamp", LocalDateTime.now().toString()))
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
+            page = PageRequest.of(after, limit, RegionLevel.VILLAGE);
+            projection = FieldProjection.forVillage(fields);
         } catch (IllegalArgumentException e) {
-            // Penanganan untuk kasus data CSV yang tidak sesuai atau tidak valid
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(Map.of("status", 400, "message", "Data dalam file CSV tidak valid. Periksa format dan isi file.", "error", e.getMessage(), "timestamp", LocalDateTime.now().toString()))
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
-        } catch (Exception e) {
-            // Penanganan error umum untuk kegagalan lainnya
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(Map.of("status", 500, "message", "Gagal mengimpor data dari CSV. Silakan periksa format dan lokasi file.", "error", e.getMessage(), "timestamp", LocalDateTime.now().toString()))
+            return ListResponses.badRequest(e.getMessage());
+        }
+
+        List<Village> villages = villageService.getVillagesByDistrictId(id, page);
+        if (!villages.isEmpty() || page.getAfter() != null) {
+            return ListResponses.ok(villages, page, projection, Village::getId);
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(Map.of("status", 404, "message", "Tidak ada desa untuk ID kecamatan " + id, "timestamp", LocalDateTime.now().toString()))
                     .type(MediaType.APPLICATION_JSON)
                     .build();
         }
     }
+
+    /**
+     * Endpoint untuk mengimpor data kecamatan dari CSV sebagai job background.
+     *
+     * @return Response 202 berisi ID job; progres dan hasilnya dibaca lewat GET /import/jobs/{id}.
+     *         atau 409 kalau import sedang dijalankan node lain.
+     */
+    @POST
+    @Path("/import")
+    public Response importDistrictsFromCsv() {
+        Optional<ImportJob> job = importLease.submit(ImportScope.DISTRICT);
+        if (job.isEmpty()) {
+            return ImportResponses.locked();
+        }
+        return ImportResponses.accepted(job.get(), "Import data kecamatan dari CSV sedang diproses.");
+    }
 }
@@ -0,0 +1,126 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Proyeksi field untuk parameter {@code fields=}, misalnya {@code fields=id,name}.
+ * Hanya field yang diminta yang ditulis ke JSON, dengan urutan dan nama yang sama seperti serialisasi penuh.
+ *
+ * @param <T> tipe model yang diproyeksikan.
+ */
+public final class FieldProjection<T> implements JsonArrayStreamingOutput.ElementWriter<T> {
+
+    private static final Map<String, Function<Province, String>> PROVINCE_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<Regency, String>> REGENCY_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<District, String>> DISTRICT_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<Village, String>> VILLAGE_FIELDS = new LinkedHashMap<>();
+
+    static {
+        PROVINCE_FIELDS.put("id", Province::getId);
+        PROVINCE_FIELDS.put("name", Province::getName);
+
+        REGENCY_FIELDS.put("id", Regency::getId);
+        REGENCY_FIELDS.put("provinceId", Regency::getProvinceId);
+        REGENCY_FIELDS.put("name", Regency::getName);
+
+        DISTRICT_FIELDS.put("id", District::getId);
+        DISTRICT_FIELDS.put("regencyId", District::getRegencyId);
+        DISTRICT_FIELDS.put("name", District::getName);
+
+        VILLAGE_FIELDS.put("id", Village::getId);
+        VILLAGE_FIELDS.put("districtId", Village::getDistrictId);
+        VILLAGE_FIELDS.put("name", Village::getName);
+    }
+
+    private final String[] names;
+    private final List<Function<T, String>> getters;
+    private final boolean full;
+
+    private FieldProjection(String[] names, List<Function<T, String>> getters, boolean full) {
+        this.names = names;
+        this.getters = getters;
+        this.full = full;
+    }
+
+    public static FieldProjection<Province> forProvince(String fields) {
+        return parse(PROVINCE_FIELDS, fields);
+    }
+
+    public static FieldProjection<Regency> forRegency(String fields) {
+        return parse(REGENCY_FIELDS, fields);
+    }
+
+    public static FieldProjection<District> forDistrict(String fields) {
+        return parse(DISTRICT_FIELDS, fields);
+    }
+
+    public static FieldProjection<Village> forVillage(String fields) {
+        return parse(VILLAGE_FIELDS, fields);
+    }
+
+    /**
+     * @throws IllegalArgumentException kalau ada nama field yang tidak dikenal.
+     */
+    private static <T> FieldProjection<T> parse(Map<String, Function<T, String>> available, String fields) {
+        List<String> requested = new ArrayList<>();
+        if (fields != null && !fields.isBlank()) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (!available.containsKey(name)) {
+                    throw new IllegalArgumentException("Field tidak dikenal: " + name
+                            + ". Field yang tersedia: " + String.join(",", available.keySet()) + ".");
+                }
+                requested.add(name);
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Function<T, String>> getters = new ArrayList<>();
+        available.forEach((name, getter) -> {
+            if (requested.isEmpty() || requested.contains(name)) {
+                names.add(name);
+                getters.add(getter);
+            }
+        });
+        return new FieldProjection<>(names.toArray(new String[0]), getters, names.size() == available.size());
+    }
+
+    /**
+     * @return true kalau semua field diminta, jadi serialisasi Jackson biasa bisa dipakai.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    @Override
+    public void write(JsonGenerator generator, T item) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < names.length; i++) {
+            generator.writeStringField(names[i], getters.get(i).apply(item));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Field yang diminta sebagai Map berurutan, untuk response yang diserialisasi Jackson per elemen
+     * (endpoint reaktif). Hasil JSON-nya sama dengan {@link #write(JsonGenerator, Object)}.
+     */
+    public Map<String, String> project(T item) {
+        Map<String, String> projected = new LinkedHashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            projected.put(names[i], getters.get(i).apply(item));
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,118 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * ETag dan Cache-Control untuk endpoint {@link HttpCached}.
+ * <p>
+ * ETag adalah versi dataset dari snapshot aktif ({@link RegionSnapshot#getVersion()}). Kalau
+ * {@code If-None-Match} cocok, request langsung dijawab 304 di filter ini, sebelum resource method,
+ * query repository maupun serialisasi berjalan. Tanpa snapshot tidak ada versi yang bisa dipercaya,
+ * jadi response dikirim tanpa ETag.
+ * <p>
+ * Varian gzip dari {@link ResponseCacheFilter} adalah representasi lain dengan byte berbeda, sehingga
+ * mendapat ETag strong sendiri berakhiran {@code -gzip}; keduanya diterima di If-None-Match.
+ * <p>
+ * Request dengan parameter {@code strategy} dilewati: parameter itu ada untuk membandingkan strategi
+ * query database, jadi query-nya harus benar-benar berjalan dan response-nya tidak diberi ETag.
+ */
+@Provider
+@HttpCached
+@Priority(Priorities.USER)
+public class HttpCacheFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ETAG_PROPERTY = HttpCacheFilter.class.getName() + ".etag";
+
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @ConfigProperty(name = "dimata.wilayah.http.max-age", defaultValue = "300")
+    long maxAge;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (bypassesCache(request)) {
+            return;
+        }
+        String etag = snapshotHolder.current()
+                .map(snapshot -> '"' + snapshot.getVersion() + '"')
+                .orElse(null);
+        if (etag == null) {
+            return;
+        }
+        // Versi dibaca sekali per request supaya response filter memakai ETag yang sama
+        request.setProperty(ETAG_PROPERTY, etag);
+
+        String ifNoneMatch = request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        String matched = matches(ifNoneMatch, etag) ? etag
+                : matches(ifNoneMatch, gzipEtag(etag)) ? gzipEtag(etag) : null;
+        if (matched != null) {
+            request.abortWith(Response.notModified()
+                    .header(HttpHeaders.ETAG, matched)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl())
+                    .build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object etag = request.getProperty(ETAG_PROPERTY);
+        if (etag == null || response.getStatus() != Response.Status.OK.getStatusCode()) {
+            return;
+        }
+        boolean gzip = ResponseCacheFilter.GZIP.equals(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        response.getHeaders().putSingle(HttpHeaders.ETAG, gzip ? gzipEtag((String) etag) : etag);
+        response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, cacheControl());
+    }
+
+    /**
+     * @return true kalau request memilih strategi query sendiri ({@code strategy=join|id_range}) dan
+     *         tidak boleh dijawab dari cache, sama seperti {@link ReadPathFilter} yang tidak mengalihkannya.
+     */
+    static boolean bypassesCache(ContainerRequestContext request) {
+        return request.getUriInfo().getQueryParameters().containsKey("strategy");
+    }
+
+    static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-" + ResponseCacheFilter.GZIP + '"';
+    }
+
+    private String cacheControl() {
+        return "public, max-age=" + maxAge;
+    }
+
+    /**
+     * Perbandingan If-None-Match: daftar ETag dipisah koma, {@code *}, dan prefix {@code W/} diabaikan
+     * (RFC 9110 memakai weak comparison untuk If-None-Match).
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Menandai endpoint GET yang response-nya hanya bergantung pada URL dan versi dataset,
+ * sehingga boleh diberi ETag dan dijawab 304 oleh {@link HttpCacheFilter}.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HttpCached {
+}
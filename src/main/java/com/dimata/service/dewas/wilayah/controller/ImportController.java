@@ -0,0 +1,71 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.importer.ImportJob;
+import com.dimata.service.dewas.wilayah.importer.ImportJobService;
+import com.dimata.service.dewas.wilayah.importer.ImportLease;
+import com.dimata.service.dewas.wilayah.importer.ImportScope;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Path("/import")
+@RunOnVirtualThread
+public class ImportController {
+
+    @Inject
+    ImportJobService importJobService;
+
+    @Inject
+    ImportLease importLease;
+
+    /**
+     * Endpoint untuk mengimpor semua level wilayah dari CSV dalam satu job background.
+     * Urutan penulisan provinsi, kabupaten, kecamatan, desa diatur oleh server.
+     *
+     * @return Response 202 berisi ID job; hasil dan ringkasan perubahan dibaca lewat GET /import/jobs/{id}.
+     *         atau 409 kalau import sedang dijalankan node lain.
+     */
+    @POST
+    @Path("/")
+    public Response importAll() {
+        Optional<ImportJob> job = importLease.submit(ImportScope.ALL);
+        if (job.isEmpty()) {
+            return ImportResponses.locked();
+        }
+        return ImportResponses.accepted(job.get(), "Import semua data wilayah dari CSV sedang diproses.");
+    }
+
+    /**
+     * Endpoint untuk membaca status dan progres job import.
+     *
+     * @param id ID job dari response POST import.
+     * @return Response berisi status job atau pesan error jika job tidak ditemukan.
+     */
+    @GET
+    @Path("/jobs/{id}")
+    public Response getJob(@PathParam("id") String id) {
+        Optional<ImportJob> job = importJobService.find(id);
+        if (job.isEmpty()) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", 404);
+            errorResponse.put("message", "Job import dengan ID " + id + " tidak ditemukan.");
+            errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(errorResponse)
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+        return Response.ok(job.get()).type(MediaType.APPLICATION_JSON).build();
+    }
+}
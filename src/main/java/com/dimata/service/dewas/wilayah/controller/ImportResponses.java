@@ -0,0 +1,57 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.importer.ImportJob;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Helper untuk response endpoint import yang dijalankan sebagai job background.
+ */
+final class ImportResponses {
+
+    private ImportResponses() {
+    }
+
+    /**
+     * Response 202 berisi ID job, dengan header Location ke endpoint status job.
+     *
+     * @param job     job yang baru diajukan, atau job aktif untuk cakupan yang sama.
+     * @param message pesan untuk klien.
+     */
+    static Response accepted(ImportJob job, String message) {
+        URI location = URI.create("/import/jobs/" + job.getId());
+
+        Map<String, Object> acceptedResponse = new HashMap<>();
+        acceptedResponse.put("status", 202);
+        acceptedResponse.put("message", message);
+        acceptedResponse.put("jobId", job.getId());
+        acceptedResponse.put("state", job.getState());
+        acceptedResponse.put("statusUrl", location.toString());
+        acceptedResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return Response.accepted(acceptedResponse)
+                .location(location)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Response 409 saat lock import antar node dipegang node lain.
+     */
+    static Response locked() {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", 409);
+        errorResponse.put("message", "Import sedang dijalankan node lain, coba lagi setelah selesai.");
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return Response.status(Response.Status.CONFLICT)
+                .entity(errorResponse)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
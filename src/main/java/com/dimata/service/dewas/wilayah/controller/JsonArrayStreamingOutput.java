@@ -0,0 +1,79 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Menulis JSON array elemen demi elemen langsung ke socket.
+ * Sumber data dipanggil di dalam {@link #write(OutputStream)}, jadi baris yang dibaca
+ * dari cursor database langsung diserialisasi tanpa ditampung ke List terlebih dahulu.
+ *
+ * @param <T> tipe elemen array.
+ */
+public class JsonArrayStreamingOutput<T> implements StreamingOutput {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonFactory factory;
+    private final ElementWriter<T> elementWriter;
+    private final Consumer<Consumer<T>> source;
+
+    /**
+     * @param factory       factory untuk membuat JsonGenerator.
+     * @param elementWriter penulis satu elemen array.
+     * @param source        fungsi yang mengirim setiap elemen ke consumer yang diberikan.
+     */
+    public JsonArrayStreamingOutput(JsonFactory factory, ElementWriter<T> elementWriter, Consumer<Consumer<T>> source) {
+        this.factory = factory;
+        this.elementWriter = elementWriter;
+        this.source = source;
+    }
+
+    /**
+     * Serialisasi penuh memakai ObjectWriter Jackson.
+     */
+    public static <T> JsonArrayStreamingOutput<T> of(ObjectWriter writer, Consumer<Consumer<T>> source) {
+        return new JsonArrayStreamingOutput<>(writer.getFactory(), writer::writeValue, source);
+    }
+
+    /**
+     * Serialisasi hanya field yang diminta lewat {@code fields=}.
+     */
+    public static <T> JsonArrayStreamingOutput<T> of(FieldProjection<T> projection, Consumer<Consumer<T>> source) {
+        return new JsonArrayStreamingOutput<>(JSON_FACTORY, projection, source);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(output)) {
+            generator.writeStartArray();
+            try {
+                source.accept(item -> {
+                    try {
+                        elementWriter.write(generator, item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Penulis satu elemen array ke JsonGenerator.
+     */
+    @FunctionalInterface
+    public interface ElementWriter<T> {
+        void write(JsonGenerator generator, T item) throws IOException;
+    }
+}
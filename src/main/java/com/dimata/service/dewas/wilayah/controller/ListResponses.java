@@ -0,0 +1,67 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Helper untuk membangun response endpoint daftar wilayah yang mendukung pagination dan proyeksi field.
+ */
+final class ListResponses {
+
+    /**
+     * Header berisi nilai {@code after} untuk halaman berikutnya. Tidak dikirim di halaman terakhir.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private ListResponses() {
+    }
+
+    /**
+     * Response 200 berisi satu halaman data.
+     *
+     * @param items      data dalam halaman.
+     * @param page       parameter pagination yang diminta.
+     * @param projection proyeksi field yang diminta.
+     * @param idOf       pengambil ID untuk cursor halaman berikutnya.
+     */
+    static <T> Response ok(List<T> items, PageRequest page, FieldProjection<T> projection, Function<T, String> idOf) {
+        Response.ResponseBuilder builder = projection.isFull()
+                ? Response.ok(items)
+                : Response.ok(JsonArrayStreamingOutput.of(projection, items::forEach), MediaType.APPLICATION_JSON);
+
+        if (page.hasLimit() && items.size() == page.getLimit()) {
+            builder.header(NEXT_CURSOR_HEADER, idOf.apply(items.get(items.size() - 1)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Mengecek apakah ID berupa angka dengan panjang sesuai level wilayah.
+     */
+    static boolean isValidId(String id, RegionLevel level) {
+        return id != null && id.length() == level.getDigits() && id.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Response 400 untuk parameter query yang tidak valid.
+     */
+    static Response badRequest(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", 400);
+        errorResponse.put("message", message);
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(errorResponse)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.AddressMatch;
+import com.dimata.service.dewas.wilayah.search.RegionMatchService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Path("/match")
+public class MatchController {
+
+    @Inject
+    RegionMatchService regionMatchService;
+
+    /**
+     * Mencocokkan alamat teks bebas ke kode desa, kecamatan, kabupaten dan provinsi.
+     * Salah ketik kecil dan singkatan seperti "KAB." atau "KEC." ditoleransi.
+     *
+     * @param addresses daftar alamat, misalnya ["Ds. Labuhan Bajau, Kec. Teupah Selatan, Kab. Simeulue"].
+     * @return Response berisi hasil pencocokan dengan urutan yang sama seperti input.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Response match(List<String> addresses) {
+        if (addresses == null || addresses.isEmpty()) {
+            return ListResponses.badRequest("Body harus berupa array alamat yang tidak kosong.");
+        }
+        if (addresses.size() > regionMatchService.getMaxBatch()) {
+            return ListResponses.badRequest("Jumlah alamat per permintaan maksimal " + regionMatchService.getMaxBatch() + ".");
+        }
+
+        Optional<List<AddressMatch>> results = regionMatchService.match(addresses);
+        if (results.isPresent()) {
+            return Response.ok(results.get()).build();
+        }
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", 503);
+        errorResponse.put("message", "Index pencocokan alamat belum tersedia.");
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity(errorResponse)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
@@ -1,12 +1,21 @@
 package com.dimata.service.dewas.wilayah.controller;
 
+import com.dimata.service.dewas.wilayah.importer.ImportJob;
+import com.dimata.service.dewas.wilayah.importer.ImportLease;
+import com.dimata.service.dewas.wilayah.importer.ImportScope;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
 import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.RegionTree;
 import com.dimata.service.dewas.wilayah.service.ProvinceService;
+import com.dimata.service.dewas.wilayah.service.RegionTreeService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -17,22 +26,44 @@ import java.util.Map;
 import java.util.Optional;
 
 @Path("/provinces")
+@RunOnVirtualThread
 public class ProvinceController {
 
+    @Inject
+    ImportLease importLease;
+
     @Inject
     ProvinceService provinceService;
 
+    @Inject
+    RegionTreeService regionTreeService;
+
     /**
      * Mengambil semua data provinsi.
      *
+     * @param after  ID provinsi terakhir dari halaman sebelumnya (opsional).
+     * @param limit  jumlah maksimal provinsi per halaman (opsional).
+     * @param fields daftar field yang dikirim, dipisah koma (opsional).
      * @return Response berisi semua data provinsi atau pesan error jika terjadi masalah.
      */
     @GET
+    @HttpCached
     @Path("/")
-    public Response getAllProvinces() {
+    public Response getAllProvinces(@QueryParam("after") String after,
+                                    @QueryParam("limit") String limit,
+                                    @QueryParam("fields") String fields) {
+        PageRequest page;
+        FieldProjection<Province> projection;
         try {
-            List<Province> provinces = provinceService.getAllProvinces();
-            return Response.ok(provinces).build();
+            page = PageRequest.of(after, limit, RegionLevel.PROVINCE);
+            projection = FieldProjection.forProvince(fields);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
+        try {
+            List<Province> provinces = provinceService.getAllProvinces(page);
+            return ListResponses.ok(provinces, page, projection, Province::getId);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", 500);
@@ -55,6 +86,7 @@ public class ProvinceController {
      * @return Response berisi data provinsi atau pesan error jika tidak valid/tidak ditemukan.
      */
     @GET
+    @HttpCached
     @Path("/{id}")
     public Response getProvinceById(@PathParam("id") String id) {
         try {
@@ -100,36 +132,56 @@ public class ProvinceController {
     }
 
     /**
-     * Import data provinsi dari file CSV.
-     * Kalau import berhasil, kirim respons sukses; kalau gagal, kirim error.
+     * Mengambil pohon satu provinsi: kabupaten, kecamatan dan desa di dalamnya dalam satu JSON bersarang.
+     * JSON ditulis bertahap ke response sambil keempat daftar digabung berurutan.
      *
-     * @return Response berisi status sukses atau error saat import data.
+     * @param id    ID provinsi.
+     * @param depth jumlah level di bawah provinsi: 0 sampai 3, default 3 (sampai desa) (opsional).
+     * @return Response berisi pohon provinsi atau pesan error jika tidak valid/tidak ditemukan.
+     */
+    @GET
+    @HttpCached
+    @Path("/{id}/tree")
+    public Response getProvinceTree(@PathParam("id") String id, @QueryParam("depth") String depth) {
+        int treeDepth;
+        try {
+            treeDepth = RegionTreeStreamingOutput.parseDepth(depth);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+        if (!ListResponses.isValidId(id, RegionLevel.PROVINCE)) {
+            return ListResponses.badRequest("ID provinsi harus berupa 2 digit angka.");
+        }
+
+        Optional<RegionTree> tree = regionTreeService.getProvinceTree(id, treeDepth);
+        if (tree.isPresent()) {
+            return Response.ok(new RegionTreeStreamingOutput(tree.get(), true), MediaType.APPLICATION_JSON).build();
+        }
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", 404);
+        errorResponse.put("message", "Province dengan ID " + id + " tidak ditemukan.");
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return Response.status(Response.Status.NOT_FOUND)
+                .entity(errorResponse)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Endpoint untuk mengimpor data provinsi dari CSV sebagai job background.
+     *
+     * @return Response 202 berisi ID job; progres dan hasilnya dibaca lewat GET /import/jobs/{id}.
+     *         atau 409 kalau import sedang dijalankan node lain.
      */
     @POST
     @Path("/import")
     public Response importProvincesFromCsv() {
-        try {
-            provinceService.importFromCsvWithUpsert();
-            Map<String, Object> successResponse = new HashMap<>();
-            successResponse.put("status", 201);
-            successResponse.put("message", "Data provinsi berhasil diimpor dan diperbarui dari CSV.");
-            successResponse.put("timestamp", LocalDateTime.now().toString());
-
-            return Response.status(Response.Status.CREATED)
-                    .entity(successResponse)
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", 500);
-            errorResponse.put("message", "Gagal mengimpor data dari CSV. Silakan periksa format dan lokasi file.");
-            errorResponse.put("error", e.getMessage());
-            errorResponse.put("timestamp", LocalDateTime.now().toString());
-
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(errorResponse)
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
+        Optional<ImportJob> job = importLease.submit(ImportScope.PROVINCE);
+        if (job.isEmpty()) {
+            return ImportResponses.locked();
         }
+        return ImportResponses.accepted(job.get(), "Import data provinsi dari CSV sedang diproses.");
     }
 }
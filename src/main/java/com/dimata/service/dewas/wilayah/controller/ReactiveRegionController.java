@@ -0,0 +1,250 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.repo.ReactiveRegionRepository;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.RestMulti;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Endpoint daftar wilayah di jalur baca reaktif: query lewat {@link ReactiveRegionRepository} dan setiap
+ * baris ditulis ke response begitu tiba dari database, di event loop tanpa thread yang menunggu.
+ * <p>
+ * Parameter, validasi, pesan error, header {@code X-Next-Cursor} dan JSON-nya sama dengan endpoint
+ * di {@link ProvinceController}, {@link RegencyController}, {@link DistrictController} dan
+ * {@link VillageController}. Request ke endpoint tersebut dialihkan ke sini oleh {@link ReadPathFilter}
+ * kalau {@code dimata.wilayah.read-path=REACTIVE}.
+ * <p>
+ * Status dan header dikirim bersama elemen pertama, jadi error sebelum itu (validasi, 404, gagal query)
+ * tetap menjadi response error biasa. Halaman dengan {@code limit} dikumpulkan dulu (paling banyak
+ * {@code limit} baris) karena header cursor baru diketahui setelah baris terakhir.
+ */
+@Path("/reactive")
+@Produces(MediaType.APPLICATION_JSON)
+public class ReactiveRegionController {
+
+    @Inject
+    ReactiveRegionRepository reactiveRegionRepository;
+
+    /**
+     * Mengambil semua data provinsi.
+     *
+     * @param after  ID provinsi terakhir dari halaman sebelumnya (opsional).
+     * @param limit  jumlah maksimal provinsi per halaman (opsional).
+     * @param fields daftar field yang dikirim, dipisah koma (opsional).
+     * @return Multi berisi data provinsi atau response error.
+     */
+    @GET
+    @Path("/provinces")
+    public Multi<Object> getAllProvinces(@QueryParam("after") String after,
+                                         @QueryParam("limit") String limit,
+                                         @QueryParam("fields") String fields) {
+        PageRequest page;
+        FieldProjection<Province> projection;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.PROVINCE);
+            projection = FieldProjection.forProvince(fields);
+        } catch (IllegalArgumentException e) {
+            return fail(ListResponses.badRequest(e.getMessage()));
+        }
+
+        return list(reactiveRegionRepository.findAllProvinces(page), page, projection, Province::getId, null)
+                .onFailure(failure -> !(failure instanceof WebApplicationException)).transform(e -> {
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("status", 500);
+                    errorResponse.put("message", "Gagal mengambil data provinsi.");
+                    errorResponse.put("error", e.getMessage());
+                    errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+                    return new WebApplicationException(response(Response.Status.INTERNAL_SERVER_ERROR, errorResponse));
+                });
+    }
+
+    /**
+     * Mengambil data kabupaten berdasarkan ID provinsi.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param after      ID kabupaten terakhir dari halaman sebelumnya (opsional).
+     * @param limit      jumlah maksimal kabupaten per halaman (opsional).
+     * @param fields     daftar field yang dikirim, dipisah koma (opsional).
+     * @return Multi berisi data kabupaten atau response error.
+     */
+    @GET
+    @Path("/regencies/{provinceId}")
+    public Multi<Object> getRegenciesByProvinceId(@PathParam("provinceId") String provinceId,
+                                                  @QueryParam("after") String after,
+                                                  @QueryParam("limit") String limit,
+                                                  @QueryParam("fields") String fields) {
+        if (!isNumber(provinceId)) {
+            return fail(provinceIdNotNumber());
+        }
+
+        PageRequest page;
+        FieldProjection<Regency> projection;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.REGENCY);
+            projection = FieldProjection.forRegency(fields);
+        } catch (IllegalArgumentException e) {
+            return fail(ListResponses.badRequest(e.getMessage()));
+        }
+
+        return list(reactiveRegionRepository.findRegenciesByProvinceId(provinceId, page), page, projection,
+                Regency::getId, () -> notFound("Tidak ada kabupaten untuk ID provinsi " + provinceId + "."));
+    }
+
+    /**
+     * Mengambil data kecamatan berdasarkan ID provinsi.
+     *
+     * @param provinceId ID provinsi yang digunakan sebagai filter.
+     * @param after      ID kecamatan terakhir dari halaman sebelumnya (opsional).
+     * @param limit      jumlah maksimal kecamatan per halaman (opsional).
+     * @param fields     daftar field yang dikirim, dipisah koma (opsional).
+     * @return Multi berisi data kecamatan atau response error.
+     */
+    @GET
+    @Path("/districts/{provinceId}")
+    public Multi<Object> getDistrictsByProvinceId(@PathParam("provinceId") String provinceId,
+                                                  @QueryParam("after") String after,
+                                                  @QueryParam("limit") String limit,
+                                                  @QueryParam("fields") String fields) {
+        if (!isNumber(provinceId)) {
+            return fail(response(Response.Status.BAD_REQUEST,
+                    Map.of("status", 400, "message", "ID provinsi harus berupa angka.", "timestamp", LocalDateTime.now().toString())));
+        }
+
+        PageRequest page;
+        FieldProjection<District> projection;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.DISTRICT);
+            projection = FieldProjection.forDistrict(fields);
+        } catch (IllegalArgumentException e) {
+            return fail(ListResponses.badRequest(e.getMessage()));
+        }
+
+        return list(reactiveRegionRepository.findDistrictsByProvinceId(provinceId, page), page, projection,
+                District::getId, () -> response(Response.Status.NOT_FOUND,
+                        Map.of("status", 404, "message", "Tidak ada kecamatan untuk ID provinsi " + provinceId, "timestamp", LocalDateTime.now().toString())))
+                .onFailure(failure -> !(failure instanceof WebApplicationException)).transform(e ->
+                        new WebApplicationException(response(Response.Status.INTERNAL_SERVER_ERROR,
+                                Map.of("status", 500, "message", "Terjadi kesalahan pada server saat mengambil data kecamatan.", "error", String.valueOf(e.getMessage()), "timestamp", LocalDateTime.now().toString()))));
+    }
+
+    /**
+     * Mengambil data desa berdasarkan ID provinsi.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param after      ID desa terakhir dari halaman sebelumnya (opsional).
+     * @param limit      jumlah maksimal desa per halaman (opsional).
+     * @param fields     daftar field yang dikirim, dipisah koma (opsional).
+     * @return Multi berisi data desa atau response error.
+     */
+    @GET
+    @Path("/villages/{provinceId}")
+    public Multi<Object> getVillagesByProvinceId(@PathParam("provinceId") String provinceId,
+                                                 @QueryParam("after") String after,
+                                                 @QueryParam("limit") String limit,
+                                                 @QueryParam("fields") String fields) {
+        if (!isNumber(provinceId)) {
+            return fail(provinceIdNotNumber());
+        }
+
+        PageRequest page;
+        FieldProjection<Village> projection;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.VILLAGE);
+            projection = FieldProjection.forVillage(fields);
+        } catch (IllegalArgumentException e) {
+            return fail(ListResponses.badRequest(e.getMessage()));
+        }
+
+        return list(reactiveRegionRepository.findVillagesByProvinceId(provinceId, page), page, projection,
+                Village::getId, () -> notFound("Tidak ada desa untuk ID provinsi " + provinceId + "."));
+    }
+
+    /**
+     * Response daftar dari Multi, padanan reaktif {@link ListResponses#ok}.
+     *
+     * @param items      data dari repository, urut berdasarkan ID.
+     * @param page       parameter pagination yang diminta.
+     * @param projection proyeksi field yang diminta.
+     * @param idOf       pengambil ID untuk cursor halaman berikutnya.
+     * @param notFound   response kalau halaman pertama kosong, atau null kalau daftar kosong tetap 200.
+     */
+    static <T> Multi<Object> list(Multi<T> items, PageRequest page, FieldProjection<T> projection,
+                                  Function<T, String> idOf, Supplier<Response> notFound) {
+        Multi<T> checked = notFound == null || page.getAfter() != null
+                ? items
+                : items.onCompletion().ifEmpty().failWith(() -> new WebApplicationException(notFound.get()));
+        Function<T, Object> element = projection.isFull() ? item -> item : projection::project;
+
+        if (!page.hasLimit()) {
+            return checked.map(element);
+        }
+        return RestMulti.fromUniResponse(checked.collect().asList(),
+                pageItems -> Multi.createFrom().iterable(pageItems).map(element),
+                pageItems -> pageItems.size() == page.getLimit()
+                        ? Map.of(ListResponses.NEXT_CURSOR_HEADER, List.of(idOf.apply(pageItems.get(pageItems.size() - 1))))
+                        : Map.of());
+    }
+
+    private static boolean isNumber(String provinceId) {
+        try {
+            Integer.parseInt(provinceId);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static Response provinceIdNotNumber() {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", 400);
+        errorResponse.put("message", "ID provinsi harus berupa angka.");
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return response(Response.Status.BAD_REQUEST, errorResponse);
+    }
+
+    private static Response notFound(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", 404);
+        errorResponse.put("message", message);
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return response(Response.Status.NOT_FOUND, errorResponse);
+    }
+
+    private static Response response(Response.Status status, Object errorResponse) {
+        return Response.status(status)
+                .entity(errorResponse)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Multi yang langsung gagal dengan response error, dikirim apa adanya oleh Quarkus REST.
+     */
+    private static Multi<Object> fail(Response response) {
+        return Multi.createFrom().failure(new WebApplicationException(response));
+    }
+}
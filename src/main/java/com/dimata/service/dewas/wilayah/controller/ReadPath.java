@@ -0,0 +1,17 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+/**
+ * Jalur baca database untuk endpoint daftar wilayah, diatur lewat {@code dimata.wilayah.read-path}.
+ */
+public enum ReadPath {
+
+    /**
+     * jOOQ lewat JDBC di virtual thread.
+     */
+    BLOCKING,
+
+    /**
+     * Client MySQL reaktif Vert.x di event loop, lihat {@link ReactiveRegionController}.
+     */
+    REACTIVE
+}
@@ -0,0 +1,66 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.regex.Pattern;
+
+/**
+ * Mengalihkan GET daftar wilayah ke {@link ReactiveRegionController} kalau
+ * {@code dimata.wilayah.read-path=REACTIVE}, sehingga URL untuk client tidak berubah.
+ * <p>
+ * Hanya request yang memang akan dibaca dari database yang dialihkan: selama snapshot aktif, data
+ * dilayani dari memori (beserta cache HTTP-nya) oleh controller biasa. Request dengan parameter
+ * {@code strategy} juga tetap di jalur blocking, karena jalur reaktif selalu memakai {@code ID_RANGE}.
+ */
+@Provider
+@PreMatching
+public class ReadPathFilter implements ContainerRequestFilter {
+
+    static final String REACTIVE_PREFIX = "/reactive";
+
+    // GET /provinces, /regencies/{provinceId}, /districts/{provinceId} dan /villages/{provinceId}
+    private static final Pattern REACTIVE_PATHS = Pattern.compile("/provinces/?|/(regencies|districts|villages)/[^/]+");
+
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @ConfigProperty(name = "dimata.wilayah.read-path", defaultValue = "BLOCKING")
+    ReadPath readPath;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (readPath != ReadPath.REACTIVE || !HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+        UriInfo uriInfo = request.getUriInfo();
+        String path = uriInfo.getPath(false);
+        if (!isReactivePath(path)
+                || uriInfo.getQueryParameters().containsKey("strategy")
+                || snapshotHolder.current().isPresent()) {
+            return;
+        }
+        request.setRequestUri(uriInfo.getRequestUriBuilder()
+                .replacePath(stripTrailingSlash(uriInfo.getBaseUri().getRawPath()) + REACTIVE_PREFIX + stripTrailingSlash(path))
+                .build());
+    }
+
+    /**
+     * @param path path request relatif terhadap root aplikasi, misalnya {@code /villages/33}.
+     * @return true kalau endpoint tersebut punya padanan di {@link ReactiveRegionController}.
+     */
+    static boolean isReactivePath(String path) {
+        return REACTIVE_PATHS.matcher(path).matches();
+    }
+
+    private static String stripTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
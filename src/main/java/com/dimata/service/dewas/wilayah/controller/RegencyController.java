@@ -1,12 +1,21 @@
 package com.dimata.service.dewas.wilayah.controller;
 
+import com.dimata.service.dewas.wilayah.importer.ImportJob;
+import com.dimata.service.dewas.wilayah.importer.ImportLease;
+import com.dimata.service.dewas.wilayah.importer.ImportScope;
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
 import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.service.DistrictService;
 import com.dimata.service.dewas.wilayah.service.RegencyService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -14,23 +23,46 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Path("/regencies")
+@RunOnVirtualThread
 public class RegencyController {
 
+    @Inject
+    ImportLease importLease;
+
     @Inject
     RegencyService regencyService;
 
+    @Inject
+    DistrictService districtService;
+
     /**
      * Mengambil semua data kabupaten.
      *
+     * @param after  ID kabupaten terakhir dari halaman sebelumnya (opsional).
+     * @param limit  jumlah maksimal kabupaten per halaman (opsional).
+     * @param fields daftar field yang dikirim, dipisah koma (opsional).
      * @return Response berisi semua data kabupaten atau pesan error jika terjadi masalah.
      */
     @GET
-    public Response getAllRegencies() {
+    @HttpCached
+    public Response getAllRegencies(@QueryParam("after") String after,
+                                    @QueryParam("limit") String limit,
+                                    @QueryParam("fields") String fields) {
+        PageRequest page;
+        FieldProjection<Regency> projection;
         try {
-            List<Regency> regencies = regencyService.getAllRegencies();
-            return Response.ok(regencies).build();
+            page = PageRequest.of(after, limit, RegionLevel.REGENCY);
+            projection = FieldProjection.forRegency(fields);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
+        try {
+            List<Regency> regencies = regencyService.getAllRegencies(page);
+            return ListResponses.ok(regencies, page, projection, Regency::getId);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", 500);
@@ -50,11 +82,18 @@ public class RegencyController {
      * Kalau ID provinsi tidak valid atau data kabupaten tidak ditemukan, akan mengembalikan error.
      *
      * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param after      ID kabupaten terakhir dari halaman sebelumnya (opsional).
+     * @param limit      jumlah maksimal kabupaten per halaman (opsional).
+     * @param fields     daftar field yang dikirim, dipisah koma (opsional).
      * @return Response berisi data kabupaten atau pesan error.
      */
     @GET
+    @HttpCached
     @Path("/{provinceId}")
-    public Response getRegenciesByProvinceId(@PathParam("provinceId") String provinceId) {
+    public Response getRegenciesByProvinceId(@PathParam("provinceId") String provinceId,
+                                             @QueryParam("after") String after,
+                                             @QueryParam("limit") String limit,
+                                             @QueryParam("fields") String fields) {
         try {
             Integer.parseInt(provinceId);
         } catch (NumberFormatException e) {
@@ -69,9 +108,18 @@ public class RegencyController {
                     .build();
         }
 
-        List<Regency> regencies = regencyService.getRegenciesByProvinceId(provinceId);
-        if (!regencies.isEmpty()) {
-            return Response.ok(regencies).build();
+        PageRequest page;
+        FieldProjection<Regency> projection;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.REGENCY);
+            projection = FieldProjection.forRegency(fields);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
+        List<Regency> regencies = regencyService.getRegenciesByProvinceId(provinceId, page);
+        if (!regencies.isEmpty() || page.getAfter() != null) {
+            return ListResponses.ok(regencies, page, projection, Regency::getId);
         } else {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", 404);
@@ -86,36 +134,63 @@ public class RegencyController {
     }
 
     /**
-     * Import data kabupaten dari file CSV.
-     * Kalau import berhasil, kirim respons sukses; kalau gagal, kirim error.
+     * Ambil data kecamatan dalam satu kabupaten, untuk dropdown kabupaten -> kecamatan.
      *
-     * @return Response berisi status sukses atau error saat import data.
+     * @param id     ID kabupaten (4 digit).
+     * @param after  ID kecamatan terakhir dari halaman sebelumnya (opsional).
+     * @param limit  jumlah maksimal kecamatan per halaman (opsional).
+     * @param fields daftar field yang dikirim, dipisah koma (opsional).
+     * @return Response berisi data kecamatan atau pesan error.
      */
-    @POST
-    @Path("/import")
-    public Response importRegenciesFromCsv() {
+    @GET
+    @HttpCached
+    @Path("/{id}/districts")
+    public Response getDistrictsByRegencyId(@PathParam("id") String id,
+                                            @QueryParam("after") String after,
+                                            @QueryParam("limit") String limit,
+                                            @QueryParam("fields") String fields) {
+        if (!ListResponses.isValidId(id, RegionLevel.REGENCY)) {
+            return ListResponses.badRequest("ID kabupaten harus berupa 4 digit angka.");
+        }
+
+        PageRequest page;
+        FieldProjection<District> projection;
         try {
-            regencyService.importFromCsvWithUpsert();
-            Map<String, Object> successResponse = new HashMap<>();
-            successResponse.put("status", 201);
-            successResponse.put("message", "Data kabupaten berhasil diimpor dan diperbarui dari CSV.");
-            successResponse.put("timestamp", LocalDateTime.now().toString());
-
-            return Response.status(Response.Status.CREATED)
-                    .entity(successResponse)
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
-        } catch (Exception e) {
+            page = PageRequest.of(after, limit, RegionLevel.DISTRICT);
+            projection = FieldProjection.forDistrict(fields);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
+        List<District> districts = districtService.findByRegencyId(id, page);
+        if (!districts.isEmpty() || page.getAfter() != null) {
+            return ListResponses.ok(districts, page, projection, District::getId);
+        } else {
             Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", 500);
-            errorResponse.put("message", "Gagal mengimpor data dari CSV. Silakan periksa format dan lokasi file.");
-            errorResponse.put("error", e.getMessage());
+            errorResponse.put("status", 404);
+            errorResponse.put("message", "Tidak ada kecamatan untuk ID kabupaten " + id + ".");
             errorResponse.put("timestamp", LocalDateTime.now().toString());
 
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            return Response.status(Response.Status.NOT_FOUND)
                     .entity(errorResponse)
                     .type(MediaType.APPLICATION_JSON)
                     .build();
         }
     }
+
+    /**
+     * Endpoint untuk mengimpor data kabupaten dari CSV sebagai job background.
+     *
+     * @return Response 202 berisi ID job; progres dan hasilnya dibaca lewat GET /import/jobs/{id}.
+     *         atau 409 kalau import sedang dijalankan node lain.
+     */
+    @POST
+    @Path("/import")
+    public Response importRegenciesFromCsv() {
+        Optional<ImportJob> job = importLease.submit(ImportScope.REGENCY);
+        if (job.isEmpty()) {
+            return ImportResponses.locked();
+        }
+        return ImportResponses.accepted(job.get(), "Import data kabupaten dari CSV sedang diproses.");
+    }
 }
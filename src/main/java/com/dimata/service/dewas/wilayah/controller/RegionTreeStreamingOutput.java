@@ -0,0 +1,160 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionTree;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.service.RegionTreeService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Menulis {@link RegionTree} sebagai JSON bersarang langsung ke response.
+ * <p>
+ * Keempat daftar dibaca sekali dari depan ke belakang, seperti merge join: anak-anak satu wilayah
+ * adalah rangkaian baris berikutnya di daftar level bawahnya yang ID-nya diawali ID wilayah itu.
+ * Tidak ada struktur pohon yang dibangun di memori; setiap node langsung ditulis ke generator.
+ * Field tiap node sama dengan serialisasi model, ditambah array anak (regencies, districts, villages).
+ */
+public class RegionTreeStreamingOutput implements StreamingOutput {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final RegionTree tree;
+    private final boolean single;
+
+    private int regency;
+    private int district;
+    private int village;
+
+    /**
+     * @param tree   bahan pohon.
+     * @param single true untuk menulis satu objek provinsi, false untuk array semua provinsi.
+     */
+    public RegionTreeStreamingOutput(RegionTree tree, boolean single) {
+        this.tree = tree;
+        this.single = single;
+    }
+
+    /**
+     * Membaca parameter {@code depth}; tanpa parameter pohon ditulis sampai desa.
+     *
+     * @throws IllegalArgumentException kalau depth bukan angka 0 sampai {@link RegionTreeService#MAX_DEPTH}.
+     */
+    static int parseDepth(String depth) {
+        if (depth == null) {
+            return RegionTreeService.MAX_DEPTH;
+        }
+        try {
+            int parsed = Integer.parseInt(depth);
+            if (parsed >= 0 && parsed <= RegionTreeService.MAX_DEPTH) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // pesan yang sama dengan nilai di luar rentang
+        }
+        throw new IllegalArgumentException("Parameter depth harus angka 0 hingga " + RegionTreeService.MAX_DEPTH
+                + " (0 provinsi saja, 1 sampai kabupaten, 2 sampai kecamatan, 3 sampai desa).");
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        regency = 0;
+        district = 0;
+        village = 0;
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(output)) {
+            if (single) {
+                writeProvince(generator, tree.getProvinces().get(0));
+            } else {
+                generator.writeStartArray();
+                for (Province province : tree.getProvinces()) {
+                    writeProvince(generator, province);
+                }
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private void writeProvince(JsonGenerator generator, Province province) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", province.getId());
+        generator.writeStringField("name", province.getName());
+        if (tree.getDepth() >= 1) {
+            generator.writeArrayFieldStart("regencies");
+            List<Regency> regencies = tree.getRegencies();
+            regency = skipOrphans(regencies, regency, province.getId(), Regency::getId);
+            while (regency < regencies.size() && isChild(regencies.get(regency).getId(), province.getId())) {
+                writeRegency(generator, regencies.get(regency++));
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeRegency(JsonGenerator generator, Regency item) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", item.getId());
+        generator.writeStringField("provinceId", item.getProvinceId());
+        generator.writeStringField("name", item.getName());
+        if (tree.getDepth() >= 2) {
+            generator.writeArrayFieldStart("districts");
+            List<District> districts = tree.getDistricts();
+            district = skipOrphans(districts, district, item.getId(), District::getId);
+            while (district < districts.size() && isChild(districts.get(district).getId(), item.getId())) {
+                writeDistrict(generator, districts.get(district++));
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeDistrict(JsonGenerator generator, District item) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", item.getId());
+        generator.writeStringField("regencyId", item.getRegencyId());
+        generator.writeStringField("name", item.getName());
+        if (tree.getDepth() >= 3) {
+            generator.writeArrayFieldStart("villages");
+            List<Village> villages = tree.getVillages();
+            village = skipOrphans(villages, village, item.getId(), Village::getId);
+            while (village < villages.size() && isChild(villages.get(village).getId(), item.getId())) {
+                Village child = villages.get(village++);
+                generator.writeStartObject();
+                generator.writeStringField("id", child.getId());
+                generator.writeStringField("districtId", child.getDistrictId());
+                generator.writeStringField("name", child.getName());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static boolean isChild(String childId, String parentId) {
+        return childId.startsWith(parentId);
+    }
+
+    /**
+     * Melewati baris yang induknya tidak ada di daftar (ID-nya lebih kecil dari induk saat ini),
+     * supaya merge tetap maju dan anak wilayah berikutnya tidak ikut tertahan.
+     */
+    private static <T> int skipOrphans(List<T> items, int from, String parentId, Function<T, String> idOf) {
+        int index = from;
+        while (index < items.size()) {
+            String id = idOf.apply(items.get(index));
+            String prefix = id.substring(0, Math.min(id.length(), parentId.length()));
+            if (prefix.compareTo(parentId) >= 0) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,56 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.service.RegionResolveService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Path("/resolve")
+@RunOnVirtualThread
+public class ResolveController {
+
+    @Inject
+    RegionResolveService regionResolveService;
+
+    /**
+     * Meresolusi banyak ID wilayah sekaligus, dari level mana pun, beserta seluruh induknya.
+     * Menggantikan banyak panggilan GET per ID dengan satu request.
+     *
+     * @param ids daftar ID, misalnya ["11", "1101", "1101010001"].
+     * @return Response berisi hasil per ID dengan urutan yang sama seperti input.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Response resolve(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return ListResponses.badRequest("Body harus berupa array ID wilayah yang tidak kosong.");
+        }
+        if (ids.size() > regionResolveService.getMaxBatch()) {
+            return ListResponses.badRequest("Jumlah ID per permintaan maksimal " + regionResolveService.getMaxBatch() + ".");
+        }
+
+        try {
+            return Response.ok(regionResolveService.resolve(ids)).build();
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", 500);
+            errorResponse.put("message", "Gagal meresolusi ID wilayah.");
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(errorResponse)
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.cache.ResponseByteCache;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Melayani endpoint {@link HttpCached} dari {@link ResponseByteCache}.
+ * <p>
+ * Saat cache hit, byte JSON (atau varian gzip-nya kalau client menerima gzip) langsung ditulis ke
+ * response tanpa menjalankan resource method maupun serialisasi. Saat miss, body yang ditulis
+ * serializer disalin sambil lalu dan disimpan sebagai varian identity dan gzip untuk request berikutnya.
+ * Berjalan setelah {@link HttpCacheFilter}, jadi request dengan ETag yang cocok tetap dijawab 304 lebih dulu.
+ * Request dengan parameter {@code strategy} tidak dibaca maupun disimpan di cache, supaya query strategi
+ * yang diminta selalu berjalan.
+ */
+@Provider
+@HttpCached
+@Priority(Priorities.USER + 100)
+public class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(ResponseCacheFilter.class.getName());
+
+    static final String GZIP = "gzip";
+
+    private static final String KEY_PROPERTY = ResponseCacheFilter.class.getName() + ".key";
+    private static final String STORE_PROPERTY = ResponseCacheFilter.class.getName() + ".store";
+
+    @Inject
+    ResponseByteCache responseByteCache;
+
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!responseByteCache.isEnabled() || HttpCacheFilter.bypassesCache(request)) {
+            return;
+        }
+        String version = snapshotHolder.current().map(snapshot -> snapshot.getVersion()).orElse(null);
+        if (version == null) {
+            return;
+        }
+        String key = key(request.getUriInfo().getPath(), request.getUriInfo().getQueryParameters(), version);
+        request.setProperty(KEY_PROPERTY, key);
+
+        boolean gzip = acceptsGzip(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        ResponseByteCache.Entry entry = gzip
+                ? responseByteCache.get(key + '|' + GZIP, key).orElse(null)
+                : responseByteCache.get(key).orElse(null);
+        if (entry != null) {
+            request.abortWith(toResponse(entry));
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object key = request.getProperty(KEY_PROPERTY);
+        if (key == null) {
+            return;
+        }
+        // Body bisa berbeda per Accept-Encoding, proxy perlu tahu
+        response.getHeaders().putSingle(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (response.getStatus() == Response.Status.OK.getStatusCode()
+                && response.getEntity() != null
+                && !(response.getEntity() instanceof CachedBody)) {
+            request.setProperty(STORE_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Object key = context.getProperty(KEY_PROPERTY);
+        if (key == null || context.getProperty(STORE_PROPERTY) == null) {
+            context.proceed();
+            return;
+        }
+
+        OutputStream original = context.getOutputStream();
+        CapturingOutputStream capture = new CapturingOutputStream(original, responseByteCache.getMaxEntryBytes());
+        context.setOutputStream(capture);
+        try {
+            context.proceed();
+        } finally {
+            context.setOutputStream(original);
+        }
+        if (capture.isOverflow()) {
+            return;
+        }
+
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+        String contentType = context.getMediaType() != null
+                ? context.getMediaType().toString()
+                : MediaType.APPLICATION_JSON;
+        Object cursor = headers.getFirst(ListResponses.NEXT_CURSOR_HEADER);
+        String nextCursor = cursor != null ? cursor.toString() : null;
+        try {
+            responseByteCache.put((String) key, ResponseByteCache.Entry.of(
+                    capture.buffer(), capture.size(), contentType, null, nextCursor));
+
+            byte[] compressed = gzip(capture.buffer(), capture.size());
+            if (compressed.length < capture.size()) {
+                responseByteCache.put(key + "|" + GZIP, ResponseByteCache.Entry.of(
+                        compressed, compressed.length, contentType, GZIP, nextCursor));
+            }
+        } catch (OutOfMemoryError e) {
+            // Memori direct buffer habis: response tetap terkirim, cukup tidak disimpan
+            LOGGER.log(Level.WARNING, "Tidak cukup memori untuk menyimpan response " + key, e);
+            responseByteCache.clear();
+        }
+    }
+
+    private static Response toResponse(ResponseByteCache.Entry entry) {
+        Response.ResponseBuilder builder = Response.ok(new CachedBody(entry), entry.getContentType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.getContentEncoding() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, entry.getContentEncoding());
+        }
+        if (entry.getNextCursor() != null) {
+            builder.header(ListResponses.NEXT_CURSOR_HEADER, entry.getNextCursor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Kunci cache: path, parameter query yang diurutkan, lalu versi dataset. Encoding ditambahkan
+     * sebagai sufiks oleh pemanggil untuk varian terkompresi.
+     */
+    static String key(String path, MultivaluedMap<String, String> query, String version) {
+        StringBuilder key = new StringBuilder(path).append('?');
+        new TreeMap<>(query).forEach((name, values) -> {
+            for (String value : values) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        });
+        return key.append('|').append(version).toString();
+    }
+
+    /**
+     * @return true kalau Accept-Encoding memuat gzip (atau {@code *}) dengan q lebih dari 0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase(GZIP) && !coding.equals("*")) {
+                continue;
+            }
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            return q > 0;
+        }
+        return false;
+    }
+
+    static byte[] gzip(byte[] body, int length) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body, 0, length);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Body dari cache, ditulis langsung dari buffer off-heap.
+     */
+    static final class CachedBody implements StreamingOutput {
+        private final ResponseByteCache.Entry entry;
+
+        CachedBody(ResponseByteCache.Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void write(OutputStream output) throws IOException {
+            Channels.newChannel(output).write(entry.body());
+        }
+    }
+
+    /**
+     * Meneruskan semua byte ke stream asli sambil menyalinnya, sampai batas ukuran entri terlampaui.
+     */
+    static final class CapturingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ExposedByteArrayOutputStream copy = new ExposedByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                if (copy.size() + 1 > limit) {
+                    copy = null;
+                } else {
+                    copy.write(b);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                if (copy.size() + len > limit) {
+                    copy = null;
+                } else {
+                    copy.write(b, off, len);
+                }
+            }
+        }
+
+        boolean isOverflow() {
+            return copy == null;
+        }
+
+        byte[] buffer() {
+            return copy.buffer();
+        }
+
+        int size() {
+            return copy.size();
+        }
+    }
+
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.RegionSearchResult;
+import com.dimata.service.dewas.wilayah.search.RegionNames;
+import com.dimata.service.dewas.wilayah.search.RegionSearchService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Path("/search")
+public class SearchController {
+
+    // Satu huruf mencocokkan hampir seluruh index, tidak berguna untuk autocomplete
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    @Inject
+    RegionSearchService regionSearchService;
+
+    /**
+     * Mencari wilayah dari semua level berdasarkan nama, untuk autocomplete.
+     * Hasil diurutkan dari yang paling cocok: nama sama persis, diawali query, kata diawali query,
+     * lalu nama yang mengandung query.
+     *
+     * @param q      teks yang dicari, minimal 2 karakter, tidak membedakan huruf besar/kecil.
+     * @param level  province, regency, district atau village (opsional).
+     * @param parent ID provinsi, kabupaten atau kecamatan untuk membatasi hasil ke wilayah di bawahnya (opsional).
+     * @param limit  jumlah hasil maksimal, default 10 dan paling banyak 100 (opsional).
+     * @return Response berisi daftar hasil pencarian atau pesan error jika parameter tidak valid.
+     */
+    @GET
+    @HttpCached
+    public Response search(@QueryParam("q") String q,
+                           @QueryParam("level") String level,
+                           @QueryParam("parent") String parent,
+                           @QueryParam("limit") String limit) {
+        if (q == null || RegionNames.normalize(q).length() < MIN_QUERY_LENGTH) {
+            return ListResponses.badRequest("Parameter q minimal " + MIN_QUERY_LENGTH + " huruf atau angka.");
+        }
+
+        RegionLevel regionLevel = null;
+        if (level != null && !level.isBlank()) {
+            try {
+                regionLevel = RegionLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ListResponses.badRequest("Parameter level harus salah satu dari province, regency, district atau village.");
+            }
+        }
+
+        if (parent != null && !isValidParent(parent)) {
+            return ListResponses.badRequest("Parameter parent harus berupa ID provinsi, kabupaten atau kecamatan.");
+        }
+
+        int maxResults = DEFAULT_LIMIT;
+        if (limit != null) {
+            try {
+                maxResults = Integer.parseInt(limit);
+            } catch (NumberFormatException e) {
+                return ListResponses.badRequest("Parameter limit harus berupa angka.");
+            }
+            if (maxResults <= 0 || maxResults > MAX_LIMIT) {
+                return ListResponses.badRequest("Parameter limit harus antara 1 hingga " + MAX_LIMIT + ".");
+            }
+        }
+
+        Optional<List<RegionSearchResult>> results = regionSearchService.search(q, regionLevel, parent, maxResults);
+        if (results.isPresent()) {
+            return Response.ok(results.get()).build();
+        }
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", 503);
+        errorResponse.put("message", "Index pencarian wilayah belum tersedia.");
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity(errorResponse)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static boolean isValidParent(String parent) {
+        return ListResponses.isValidId(parent, RegionLevel.PROVINCE)
+                || ListResponses.isValidId(parent, RegionLevel.REGENCY)
+                || ListResponses.isValidId(parent, RegionLevel.DISTRICT);
+    }
+}
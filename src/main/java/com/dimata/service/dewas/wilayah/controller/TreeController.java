@@ -0,0 +1,39 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.service.RegionTreeService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Path("/tree")
+@RunOnVirtualThread
+public class TreeController {
+
+    @Inject
+    RegionTreeService regionTreeService;
+
+    /**
+     * Mengambil pohon seluruh provinsi sebagai array JSON bersarang, untuk bootstrap front-end dalam satu request.
+     * Pohon dibaca langsung dari snapshot tanpa disalin, dan hasil serialisasinya (beserta varian gzip)
+     * disimpan di cache byte response per versi dataset.
+     *
+     * @param depth jumlah level di bawah provinsi: 0 sampai 3, default 3 (sampai desa) (opsional).
+     * @return Response berisi pohon seluruh provinsi.
+     */
+    @GET
+    @HttpCached
+    public Response getCountryTree(@QueryParam("depth") String depth) {
+        int treeDepth;
+        try {
+            treeDepth = RegionTreeStreamingOutput.parseDepth(depth);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+        return Response.ok(new RegionTreeStreamingOutput(regionTreeService.getCountryTree(treeDepth), false),
+                MediaType.APPLICATION_JSON).build();
+    }
+}
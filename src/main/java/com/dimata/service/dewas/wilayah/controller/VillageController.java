@@ -1,35 +1,76 @@
 package com.dimata.service.dewas.wilayah.controller;
 
+import com.dimata.service.dewas.wilayah.importer.ImportJob;
+import com.dimata.service.dewas.wilayah.importer.ImportLease;
+import com.dimata.service.dewas.wilayah.importer.ImportScope;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
 import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
 import com.dimata.service.dewas.wilayah.service.VillageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Path("/villages")
+@RunOnVirtualThread
 public class VillageController {
 
+    @Inject
+    ImportLease importLease;
+
     @Inject
     VillageService villageService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     /**
      * Endpoint untuk mengambil semua data desa.
+     * Tanpa {@code limit}, data di-stream langsung ke response, jadi heap per request tidak bergantung pada jumlah desa.
+     *
+     * @param after  ID desa terakhir dari halaman sebelumnya (opsional).
+     * @param limit  jumlah maksimal desa per halaman (opsional).
+     * @param fields daftar field yang dikirim, dipisah koma (opsional).
      * @return Response berisi data semua desa.
      */
     @GET
-    public Response getAllVillages() {
-        List<Village> villages = villageService.getAllVillages();
-        if (!villages.isEmpty()) {
-            return Response.ok(villages).build();
+    @HttpCached
+    public Response getAllVillages(@QueryParam("after") String after,
+                                   @QueryParam("limit") String limit,
+                                   @QueryParam("fields") String fields) {
+        PageRequest page;
+        FieldProjection<Village> projection;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.VILLAGE);
+            projection = FieldProjection.forVillage(fields);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
+        if (!page.isUnbounded()) {
+            return ListResponses.ok(villageService.getAllVillages(page), page, projection, Village::getId);
+        }
+
+        if (villageService.hasVillages()) {
+            StreamingOutput output = projection.isFull()
+                    ? JsonArrayStreamingOutput.of(objectMapper.writerFor(Village.class), villageService::forEachVillage)
+                    : JsonArrayStreamingOutput.of(projection, villageService::forEachVillage);
+            return Response.ok(output, MediaType.APPLICATION_JSON).build();
         } else {
             // Kalau tidak ada data desa yang ditemukan
             Map<String, Object> errorResponse = new HashMap<>();
@@ -49,11 +90,20 @@ public class VillageController {
      * Validasi jika ID tidak valid atau data desa tidak ditemukan.
      *
      * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param after      ID desa terakhir dari halaman sebelumnya (opsional).
+     * @param limit      jumlah maksimal desa per halaman (opsional).
+     * @param fields     daftar field yang dikirim, dipisah koma (opsional).
+     * @param strategy   strategi query database, join atau id_range (opsional, untuk perbandingan).
      * @return Response berisi data desa atau pesan error.
      */
     @GET
+    @HttpCached
     @Path("/{provinceId}")
-    public Response getVillagesByProvinceId(@PathParam("provinceId") String provinceId) {
+    public Response getVillagesByProvinceId(@PathParam("provinceId") String provinceId,
+                                            @QueryParam("after") String after,
+                                            @QueryParam("limit") String limit,
+                                            @QueryParam("fields") String fields,
+                                            @QueryParam("strategy") String strategy) {
         // Validasi apakah ID provinsi berupa angka
         try {
             Integer.parseInt(provinceId);
@@ -70,10 +120,21 @@ public class VillageController {
                     .build();
         }
 
+        PageRequest page;
+        FieldProjection<Village> projection;
+        QueryStrategy queryStrategy;
+        try {
+            page = PageRequest.of(after, limit, RegionLevel.VILLAGE);
+            projection = FieldProjection.forVillage(fields);
+            queryStrategy = QueryStrategy.parse(strategy);
+        } catch (IllegalArgumentException e) {
+            return ListResponses.badRequest(e.getMessage());
+        }
+
         // Ambil data desa dari service
-        List<Village> villages = villageService.getVillagesByProvinceId(provinceId);
-        if (!villages.isEmpty()) {
-            return Response.ok(villages).build();
+        List<Village> villages = villageService.getVillagesByProvinceId(provinceId, page, queryStrategy);
+        if (!villages.isEmpty() || page.getAfter() != null) {
+            return ListResponses.ok(villages, page, projection, Village::getId);
         } else {
             // Kalau data desa tidak ditemukan
             Map<String, Object> errorResponse = new HashMap<>();
@@ -89,36 +150,48 @@ public class VillageController {
     }
 
     /**
-     * Endpoint untuk import data desa dari file CSV.
-     * Mengembalikan status sukses atau error saat proses import data.
+     * Endpoint untuk mengambil satu desa berdasarkan ID desa.
      *
-     * @return Response berisi status sukses atau error saat import data.
+     * @param id ID desa (10 digit).
+     * @return Response berisi data desa atau pesan error.
      */
-    @POST
-    @Path("/import")
-    public Response importVillagesFromCsv() {
-        try {
-            villageService.importFromCsvWithUpsert(); // Memanggil method upsert di service
-            Map<String, Object> successResponse = new HashMap<>();
-            successResponse.put("status", 201);
-            successResponse.put("message", "Data desa berhasil diimpor dan diperbarui dari CSV.");
-            successResponse.put("timestamp", LocalDateTime.now().toString());
-
-            return Response.status(Response.Status.CREATED)
-                    .entity(successResponse)
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
-        } catch (Exception e) {
+    @GET
+    @HttpCached
+    @Path("/id/{id}")
+    public Response getVillageById(@PathParam("id") String id) {
+        if (!ListResponses.isValidId(id, RegionLevel.VILLAGE)) {
+            return ListResponses.badRequest("ID desa harus berupa 10 digit angka.");
+        }
+
+        Optional<Village> village = villageService.getVillageById(id);
+        if (village.isPresent()) {
+            return Response.ok(village.get()).build();
+        } else {
             Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", 500);
-            errorResponse.put("message", "Gagal mengimpor data dari CSV.");
-            errorResponse.put("error", e.getMessage());
+            errorResponse.put("status", 404);
+            errorResponse.put("message", "Desa dengan ID " + id + " tidak ditemukan.");
             errorResponse.put("timestamp", LocalDateTime.now().toString());
 
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            return Response.status(Response.Status.NOT_FOUND)
                     .entity(errorResponse)
                     .type(MediaType.APPLICATION_JSON)
                     .build();
         }
     }
+
+    /**
+     * Endpoint untuk mengimpor data desa dari CSV sebagai job background.
+     *
+     * @return Response 202 berisi ID job; progres dan hasilnya dibaca lewat GET /import/jobs/{id}.
+     *         atau 409 kalau import sedang dijalankan node lain.
+     */
+    @POST
+    @Path("/import")
+    public Response importVillagesFromCsv() {
+        Optional<ImportJob> job = importLease.submit(ImportScope.VILLAGE);
+        if (job.isEmpty()) {
+            return ImportResponses.locked();
+        }
+        return ImportResponses.accepted(job.get(), "Import data desa dari CSV sedang diproses.");
+    }
 }
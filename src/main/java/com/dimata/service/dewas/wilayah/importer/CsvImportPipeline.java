@@ -0,0 +1,273 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pipeline import CSV satu kali jalan.
+ * <p>
+ * Thread pemanggil membaca CSVParser secara lazy dan memotongnya menjadi batch berukuran tetap,
+ * lalu batch diserahkan ke tahap writer lewat antrean berkapasitas terbatas. Memori yang dipakai
+ * hanya sebesar (kapasitas antrean + 2) batch per shard, dan jumlah round trip ke database
+ * sebanding dengan jumlah baris dibagi ukuran batch.
+ * <p>
+ * Baris bisa dibagi ke beberapa shard berdasarkan ID. Tiap shard punya antrean dan writer sendiri,
+ * jadi satu ID selalu ditulis oleh writer yang sama dan urutan baris dengan ID ganda tetap terjaga.
+ * <p>
+ * Metrics per file CSV (tag {@code file}): {@code wilayah.import.batch} untuk waktu tulis satu batch,
+ * {@code wilayah.import.stage} untuk durasi tahap parse, wait, write dan total, serta
+ * {@code wilayah.import.rows} untuk jumlah baris yang dibaca dan ditulis.
+ */
+@ApplicationScoped
+public class CsvImportPipeline {
+
+    private static final Logger LOGGER = Logger.getLogger(CsvImportPipeline.class.getName());
+
+    // Penanda akhir antrean, dibandingkan berdasarkan referensi
+    private static final List<Object> END_OF_INPUT = new ArrayList<>();
+
+    @Inject
+    CsvSource csvSource;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "dimata.wilayah.import.batch-size", defaultValue = "1000")
+    int batchSize;
+
+    @ConfigProperty(name = "dimata.wilayah.import.queue-capacity", defaultValue = "4")
+    int queueCapacity;
+
+    private final ExecutorService writerExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "csv-import-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        writerExecutor.shutdownNow();
+    }
+
+    /**
+     * Membaca file CSV dari {@link CsvSource} dan menulis isinya per batch dengan satu writer.
+     *
+     * @param fileName     nama file CSV, misalnya villages.csv.
+     * @param mapper       pengubah satu baris CSV menjadi objek model.
+     * @param writer       penulis satu batch ke database, dipanggil dari thread writer.
+     * @return ringkasan import.
+     * @throws IOException kalau file tidak ditemukan atau gagal dibaca.
+     */
+    public <T> ImportResult run(String fileName, Function<CSVRecord, T> mapper, Consumer<List<T>> writer)
+            throws IOException {
+        return run(fileName, mapper, null, null, 1, CompletableFuture.completedFuture(null), writer);
+    }
+
+    /**
+     * Membaca file CSV dari {@link CsvSource} dan menulis isinya per batch dengan beberapa writer.
+     * Parsing langsung dimulai, tetapi writer baru menulis setelah {@code writeGate} selesai;
+     * selama menunggu, parser tertahan oleh antrean yang penuh.
+     *
+     * @param fileName     nama file CSV, misalnya villages.csv.
+     * @param mapper       pengubah satu baris CSV menjadi objek model.
+     * @param filter       penyaring baris yang perlu ditulis, misalnya hanya baris yang berubah; boleh null.
+     * @param shardKey     kunci pembagi shard, biasanya ID; boleh null kalau {@code shards} 1.
+     * @param shards       jumlah writer paralel, sekaligus jumlah koneksi database yang dipakai.
+     * @param writeGate    tahap yang harus selesai sebelum writer mulai, misalnya import level induk.
+     * @param writer       penulis satu batch ke database, dipanggil dari thread writer.
+     * @return ringkasan import.
+     * @throws IOException kalau file tidak ditemukan atau gagal dibaca.
+     */
+    public <T> ImportResult run(String fileName, Function<CSVRecord, T> mapper, Predicate<T> filter,
+                                Function<T, String> shardKey, int shards, Future<?> writeGate,
+                                Consumer<List<T>> writer) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong writeStart = new AtomicLong();
+        Timer batchTimer = histogram("wilayah.import.batch", fileName)
+                .description("Waktu tulis satu batch import ke database")
+                .register(registry);
+        List<BlockingQueue<List<T>>> queues = new ArrayList<>(shards);
+        List<Future<Long>> writerTasks = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            writerTasks.add(writerExecutor.submit(() -> {
+                awaitGate(writeGate);
+                writeStart.compareAndSet(0, System.nanoTime());
+                return drain(queue, writer, batchTimer);
+            }));
+        }
+
+        long rowsRead = 0;
+        long rowsWritten = 0;
+        long parseEnd;
+        try (InputStream inputStream = csvSource.open(fileName);
+             InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT)) {
+
+            List<List<T>> batches = new ArrayList<>(shards);
+            for (int shard = 0; shard < shards; shard++) {
+                batches.add(new ArrayList<>(batchSize));
+            }
+            for (CSVRecord record : csvParser) {
+                T row = mapper.apply(record);
+                rowsRead++;
+                if (filter != null && !filter.test(row)) {
+                    continue;
+                }
+                rowsWritten++;
+                int shard = shards == 1 ? 0 : Math.floorMod(shardKey.apply(row).hashCode(), shards);
+                List<T> batch = batches.get(shard);
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    put(queues.get(shard), batch, writerTasks.get(shard));
+                    batches.set(shard, new ArrayList<>(batchSize));
+                }
+            }
+            parseEnd = System.nanoTime();
+            for (int shard = 0; shard < shards; shard++) {
+                if (!batches.get(shard).isEmpty()) {
+                    put(queues.get(shard), batches.get(shard), writerTasks.get(shard));
+                }
+                put(queues.get(shard), endOfInput(), writerTasks.get(shard));
+            }
+        } catch (IOException | RuntimeException e) {
+            writerTasks.forEach(task -> task.cancel(true));
+            throw e;
+        }
+
+        long batches = 0;
+        try {
+            for (Future<Long> writerTask : writerTasks) {
+                batches += await(writerTask);
+            }
+        } catch (IOException | RuntimeException e) {
+            writerTasks.forEach(task -> task.cancel(true));
+            throw e;
+        }
+
+        long end = System.nanoTime();
+        long firstWrite = writeStart.get() == 0 ? end : writeStart.get();
+        ImportResult result = new ImportResult(fileName, rowsRead, rowsWritten, batches,
+                toMillis(parseEnd - start), toMillis(firstWrite - start), toMillis(end - firstWrite), toMillis(end - start));
+        recordStage(fileName, "parse", parseEnd - start);
+        recordStage(fileName, "wait", firstWrite - start);
+        recordStage(fileName, "write", end - firstWrite);
+        recordStage(fileName, "total", end - start);
+        registry.counter("wilayah.import.rows", "file", fileName, "result", "read").increment(rowsRead);
+        registry.counter("wilayah.import.rows", "file", fileName, "result", "written").increment(rowsWritten);
+        LOGGER.log(Level.INFO, "Import " + fileName + " selesai: " + rowsRead + " baris dibaca, "
+                + rowsWritten + " baris ditulis dalam " + batches + " batch, " + result.getDurationMillis() + " ms");
+        return result;
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private void recordStage(String fileName, String stage, long nanos) {
+        histogram("wilayah.import.stage", fileName)
+                .description("Durasi tahap import satu file CSV")
+                .tag("stage", stage)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer.Builder histogram(String name, String fileName) {
+        return Timer.builder(name)
+                .tag("file", fileName)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(10));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> endOfInput() {
+        return (List<T>) (List<?>) END_OF_INPUT;
+    }
+
+    private static void awaitGate(Future<?> writeGate) throws InterruptedException {
+        try {
+            writeGate.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tahap import sebelumnya gagal.", e.getCause());
+        }
+    }
+
+    private <T> long drain(BlockingQueue<List<T>> queue, Consumer<List<T>> writer, Timer batchTimer)
+            throws InterruptedException {
+        long batches = 0;
+        while (true) {
+            List<T> batch = queue.take();
+            if (batch == END_OF_INPUT) {
+                return batches;
+            }
+            long start = System.nanoTime();
+            writer.accept(batch);
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batches++;
+            LOGGER.log(Level.FINE, "Batch upsert sukses dengan size: " + batch.size());
+        }
+    }
+
+    /**
+     * Menaruh batch ke antrean; kalau antrean penuh, parser menunggu writer (backpressure).
+     * Berhenti lebih awal kalau writer sudah gagal supaya parser tidak menunggu selamanya.
+     */
+    private <T> void put(BlockingQueue<List<T>> queue, List<T> batch, Future<Long> writerTask) throws IOException {
+        try {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (writerTask.isDone()) {
+                    await(writerTask);
+                    throw new IllegalStateException("Writer import berhenti sebelum semua batch ditulis.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import dibatalkan.", e);
+        }
+    }
+
+    private long await(Future<Long> writerTask) throws IOException {
+        try {
+            return writerTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import dibatalkan.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Gagal menulis batch import.", e.getCause());
+        }
+    }
+}
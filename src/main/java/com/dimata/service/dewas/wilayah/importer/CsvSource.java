@@ -0,0 +1,118 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lokasi file CSV wilayah: direktori eksternal ({@code dimata.wilayah.import.source-dir}) kalau diatur,
+ * atau file bawaan di classpath {@code /file-data-wilayah/}.
+ */
+@ApplicationScoped
+public class CsvSource {
+
+    static final String CLASSPATH_DIR = "/file-data-wilayah/";
+
+    @ConfigProperty(name = "dimata.wilayah.import.source-dir")
+    Optional<String> sourceDir = Optional.empty();
+
+    // Checksum terakhir per file beserta mtime saat checksum dihitung
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * Membuka file CSV.
+     *
+     * @param fileName nama file, misalnya villages.csv.
+     * @throws FileNotFoundException kalau file tidak ada.
+     */
+    public InputStream open(String fileName) throws IOException {
+        if (sourceDir.isPresent()) {
+            Path path = Path.of(sourceDir.get(), fileName);
+            if (!Files.isRegularFile(path)) {
+                throw new FileNotFoundException("File CSV tidak ditemukan: " + path);
+            }
+            return Files.newInputStream(path);
+        }
+        InputStream inputStream = getClass().getResourceAsStream(CLASSPATH_DIR + fileName);
+        if (inputStream == null) {
+            throw new FileNotFoundException("File CSV tidak ditemukan: " + CLASSPATH_DIR + fileName);
+        }
+        return inputStream;
+    }
+
+    /**
+     * Sidik isi file: SHA-256 dari isinya. Untuk file di direktori eksternal, checksum hanya dihitung ulang
+     * kalau mtime atau ukuran berubah sejak pemeriksaan sebelumnya.
+     *
+     * @param fileName nama file, misalnya villages.csv.
+     * @return checksum dalam hex.
+     */
+    public String checksum(String fileName) throws IOException {
+        long modified = -1;
+        long size = -1;
+        if (sourceDir.isPresent()) {
+            Path path = Path.of(sourceDir.get(), fileName);
+            modified = Files.getLastModifiedTime(path).toMillis();
+            size = Files.size(path);
+            Fingerprint previous = fingerprints.get(fileName);
+            if (previous != null && previous.modified == modified && previous.size == size) {
+                return previous.checksum;
+            }
+        } else {
+            Fingerprint previous = fingerprints.get(fileName);
+            if (previous != null) {
+                // File di classpath tidak berubah selama aplikasi berjalan
+                return previous.checksum;
+            }
+        }
+
+        String checksum = sha256(fileName);
+        fingerprints.put(fileName, new Fingerprint(modified, size, checksum));
+        return checksum;
+    }
+
+    /**
+     * @return lokasi sumber untuk pesan log.
+     */
+    public String describe() {
+        return sourceDir.orElse("classpath:" + CLASSPATH_DIR);
+    }
+
+    private String sha256(String fileName) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream inputStream = new DigestInputStream(open(fileName), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static final class Fingerprint {
+        private final long modified;
+        private final long size;
+        private final String checksum;
+
+        private Fingerprint(long modified, long size, String checksum) {
+            this.modified = modified;
+            this.size = size;
+            this.checksum = checksum;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+/**
+ * Ringkasan perubahan hasil import delta untuk satu level.
+ */
+public class ImportDiff {
+
+    private final long inserted;
+    private final long updated;
+    private final long unchanged;
+    private final long deleted;
+
+    public ImportDiff(long inserted, long updated, long unchanged, long deleted) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.deleted = deleted;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public boolean hasChanges() {
+        return inserted > 0 || updated > 0 || deleted > 0;
+    }
+}
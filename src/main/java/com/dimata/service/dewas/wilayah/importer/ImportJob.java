@@ -0,0 +1,130 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Satu job import yang berjalan di background. Status dan progresnya dibaca lewat
+ * {@code GET /import/jobs/{id}}.
+ */
+public class ImportJob {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportScope scope;
+    private final ImportProgress progress = new ImportProgress();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CompletableFuture<ImportJob> completion = new CompletableFuture<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Object result;
+
+    ImportJob(ImportScope scope) {
+        this.scope = scope;
+    }
+
+    void started() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void succeeded(Object result) {
+        this.result = result;
+        finishedAt = LocalDateTime.now();
+        state = State.SUCCEEDED;
+        completion.complete(this);
+    }
+
+    void failed(Throwable error) {
+        errors.add(error.getMessage() != null ? error.getMessage() : error.getClass().getName());
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+        completion.complete(this);
+    }
+
+    ImportProgress progress() {
+        return progress;
+    }
+
+    /**
+     * @return future yang selesai saat job selesai, berhasil maupun gagal.
+     */
+    CompletableFuture<ImportJob> completion() {
+        return completion;
+    }
+
+    public boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ImportScope getScope() {
+        return scope;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getSubmittedAt() {
+        return submittedAt.toString();
+    }
+
+    public String getStartedAt() {
+        return startedAt != null ? startedAt.toString() : null;
+    }
+
+    public String getFinishedAt() {
+        return finishedAt != null ? finishedAt.toString() : null;
+    }
+
+    public long getRowsRead() {
+        return progress.getRowsRead();
+    }
+
+    public long getRowsWritten() {
+        return progress.getRowsWritten();
+    }
+
+    public long getBatchesCommitted() {
+        return progress.getBatchesCommitted();
+    }
+
+    /**
+     * @return baris CSV yang dibaca per detik sejak job mulai.
+     */
+    public long getRowsPerSecond() {
+        LocalDateTime start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return progress.getRowsRead() * 1000 / millis;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return {@link ImportReport} untuk job semua level, {@link ImportResult} untuk job satu level,
+     * atau null selama job belum selesai.
+     */
+    public Object getResult() {
+        return result;
+    }
+}
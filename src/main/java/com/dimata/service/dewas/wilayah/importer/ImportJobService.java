@@ -0,0 +1,131 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Menjalankan import sebagai job background di executor tersendiri, supaya thread HTTP tidak tertahan.
+ * <p>
+ * Job untuk cakupan yang sama tidak dijalankan dua kali: selama masih antre atau berjalan,
+ * pengajuan berikutnya mendapat job yang sama. Job {@link ImportScope#ALL} yang aktif juga
+ * dipakai untuk pengajuan satu level, karena sudah mencakup level tersebut. Sebaliknya, job
+ * {@link ImportScope#ALL} yang diajukan saat job satu level aktif menunggu dalam status QUEUED
+ * sampai job tersebut selesai, supaya tidak ada dua job yang menulis tabel yang sama bersamaan.
+ */
+@ApplicationScoped
+public class ImportJobService {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportJobService.class.getName());
+
+    // Job yang sudah selesai disimpan secukupnya untuk dibaca statusnya
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    @Inject
+    RegionImportService regionImportService;
+
+    @ConfigProperty(name = "dimata.wilayah.import.job-threads", defaultValue = "2")
+    int jobThreads;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<ImportJob> history = new ConcurrentLinkedQueue<>();
+    private final Map<ImportScope, ImportJob> active = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(jobThreads, runnable -> {
+            Thread thread = new Thread(runnable, "region-import-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Mengajukan job import, atau mengembalikan job aktif yang sudah mencakup {@code scope}.
+     *
+     * @param scope cakupan import.
+     * @return job yang baru diajukan, atau job {@code scope} maupun {@link ImportScope#ALL} yang masih aktif.
+     */
+    public synchronized ImportJob submit(ImportScope scope) {
+        ImportJob running = active.get(ImportScope.ALL);
+        if (running == null) {
+            running = active.get(scope);
+        }
+        if (running != null) {
+            return running;
+        }
+
+        ImportJob job = new ImportJob(scope);
+        jobs.put(job.getId(), job);
+        // Job ALL menulis semua tabel, jadi baru dijalankan setelah semua job level yang aktif selesai
+        CompletableFuture<?>[] overlapping = scope == ImportScope.ALL
+                ? active.values().stream().map(ImportJob::completion).toArray(CompletableFuture[]::new)
+                : new CompletableFuture<?>[0];
+        active.put(scope, job);
+        CompletableFuture.allOf(overlapping).whenComplete((ignored, error) -> execute(job));
+        return job;
+    }
+
+    /**
+     * @param id ID job.
+     * @return job dengan ID tersebut, kalau masih tersimpan.
+     */
+    public Optional<ImportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void execute(ImportJob job) {
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            // Aplikasi sedang berhenti saat job yang ditunggu selesai
+            job.failed(e);
+            active.remove(job.getScope(), job);
+        }
+    }
+
+    private void run(ImportJob job) {
+        job.started();
+        try {
+            Object result = job.getScope() == ImportScope.ALL
+                    ? regionImportService.importAll(job.progress())
+                    : regionImportService.importLevel(job.getScope().getLevel(), job.progress());
+            job.succeeded(result);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Job import " + job.getId() + " (" + job.getScope() + ") gagal", e);
+            job.failed(e);
+        } finally {
+            active.remove(job.getScope(), job);
+            remember(job);
+        }
+    }
+
+    private void remember(ImportJob job) {
+        history.add(job);
+        Iterator<ImportJob> oldest = history.iterator();
+        while (history.size() > MAX_FINISHED_JOBS && oldest.hasNext()) {
+            jobs.remove(oldest.next().getId());
+            oldest.remove();
+        }
+    }
+}
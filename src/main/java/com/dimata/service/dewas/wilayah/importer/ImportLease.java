@@ -0,0 +1,169 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.repo.ImportLockRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Menjalankan job import sambil memegang lock antar node di tabel region_import_lock.
+ * <p>
+ * Lock diambil sebelum job diajukan dan baru dilepas setelah semua job yang diajukan lewat node ini
+ * selesai, berapa pun lamanya. Selama itu {@code locked_until} diperpanjang setiap sepertiga
+ * {@code dimata.wilayah.refresh.lock-ttl}, jadi node lain tidak bisa mengambil alih lock di tengah import;
+ * TTL hanya berlaku kalau node ini mati dan berhenti memperpanjang.
+ * <p>
+ * Checksum import yang diberikan ke {@link #submit(ImportScope, String)} dicatat ke region_import_lock
+ * setelah job berhasil dan sebelum lock dilepas, jadi node lain tidak pernah mendapat lock sambil
+ * masih melihat checksum lama.
+ */
+@ApplicationScoped
+public class ImportLease {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportLease.class.getName());
+
+    static final String LOCK_NAME = "region-import";
+
+    final String nodeId = hostName() + "-" + UUID.randomUUID();
+
+    @Inject
+    ImportLockRepository importLockRepository;
+
+    @Inject
+    ImportJobService importJobService;
+
+    @ConfigProperty(name = "dimata.wilayah.refresh.lock-ttl", defaultValue = "PT30M")
+    Duration lockTtl;
+
+    // Job aktif yang diajukan lewat node ini beserta checksum yang dicatat kalau berhasil (boleh null);
+    // lock dipegang selama map ini tidak kosong
+    private final Map<ImportJob, String> held = new HashMap<>();
+
+    // Bukan synchronized: query lock dijalankan sambil memegang kunci ini, dan submit dipanggil dari virtual thread
+    private final ReentrantLock heldLock = new ReentrantLock();
+    private ScheduledExecutorService renewer;
+
+    @PostConstruct
+    void start() {
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "region-import-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(100, lockTtl.toMillis() / 3);
+        renewer.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    /**
+     * Mengambil lock lalu mengajukan job import.
+     *
+     * @param scope cakupan import.
+     * @return job yang diajukan (atau job aktif untuk cakupan yang sama), kosong kalau lock dipegang node lain.
+     */
+    public Optional<ImportJob> submit(ImportScope scope) {
+        return submit(scope, null);
+    }
+
+    /**
+     * Sama dengan {@link #submit(ImportScope)}, lalu mencatat {@code checksum} sebagai checksum import terakhir
+     * kalau job berhasil. Checksum tidak dicatat kalau yang didapat adalah job aktif yang sudah diajukan sebelumnya.
+     *
+     * @param scope    cakupan import.
+     * @param checksum checksum gabungan file CSV yang diimpor, atau null.
+     * @return job yang diajukan (atau job aktif untuk cakupan yang sama), kosong kalau lock dipegang node lain.
+     */
+    public Optional<ImportJob> submit(ImportScope scope, String checksum) {
+        heldLock.lock();
+        try {
+            if (!importLockRepository.tryAcquire(LOCK_NAME, nodeId, lockTtl)) {
+                return Optional.empty();
+            }
+            ImportJob job;
+            try {
+                job = importJobService.submit(scope);
+            } catch (RuntimeException e) {
+                releaseIfIdle();
+                throw e;
+            }
+            if (!held.containsKey(job)) {
+                held.put(job, checksum);
+                job.completion().whenComplete((finished, error) -> finished(job));
+            }
+            return Optional.of(job);
+        } finally {
+            heldLock.unlock();
+        }
+    }
+
+    private void finished(ImportJob job) {
+        heldLock.lock();
+        try {
+            String checksum = held.remove(job);
+            if (checksum != null && job.getState() == ImportJob.State.SUCCEEDED) {
+                try {
+                    importLockRepository.markImported(LOCK_NAME, checksum);
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "Gagal mencatat checksum import, data akan diimpor ulang pada refresh berikutnya.", e);
+                }
+            }
+            releaseIfIdle();
+        } finally {
+            heldLock.unlock();
+        }
+    }
+
+    private void releaseIfIdle() {
+        if (!held.isEmpty()) {
+            return;
+        }
+        try {
+            importLockRepository.release(LOCK_NAME, nodeId);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Gagal melepas lock import, lock berakhir sendiri setelah " + lockTtl, e);
+        }
+    }
+
+    void renew() {
+        heldLock.lock();
+        try {
+            if (held.isEmpty()) {
+                return;
+            }
+            if (!importLockRepository.renew(LOCK_NAME, nodeId, lockTtl)) {
+                LOGGER.log(Level.SEVERE, "Lock import sudah diambil node lain padahal job import di node ini masih berjalan.");
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Gagal memperpanjang lock import, dicoba lagi pada perpanjangan berikutnya.", e);
+        } finally {
+            heldLock.unlock();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
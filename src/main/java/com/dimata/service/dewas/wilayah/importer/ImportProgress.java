@@ -0,0 +1,34 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Penghitung progres import yang bisa dibaca dari thread lain selama import berjalan.
+ */
+public class ImportProgress {
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong batchesCommitted = new AtomicLong();
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void batchCommitted(int rows) {
+        rowsWritten.addAndGet(rows);
+        batchesCommitted.incrementAndGet();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getBatchesCommitted() {
+        return batchesCommitted.get();
+    }
+}
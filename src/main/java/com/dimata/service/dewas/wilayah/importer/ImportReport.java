@@ -0,0 +1,52 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Ringkasan import semua level wilayah dalam satu job.
+ */
+public class ImportReport {
+
+    private final Map<RegionLevel, ImportResult> levels;
+    private final long totalMillis;
+
+    public ImportReport(Map<RegionLevel, ImportResult> levels, long totalMillis) {
+        Map<RegionLevel, ImportResult> copy = new EnumMap<>(RegionLevel.class);
+        copy.putAll(levels);
+        this.levels = Collections.unmodifiableMap(copy);
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * @return hasil per level, urut sesuai urutan foreign key (provinsi sampai desa).
+     */
+    public Map<RegionLevel, ImportResult> getLevels() {
+        return levels;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public long getRowsRead() {
+        return levels.values().stream().mapToLong(ImportResult::getRowsRead).sum();
+    }
+
+    /**
+     * @return jumlah perubahan semua level, atau null kalau import delta tidak aktif.
+     */
+    public ImportDiff getDiff() {
+        if (levels.values().stream().anyMatch(result -> result.getDiff() == null)) {
+            return null;
+        }
+        return new ImportDiff(
+                levels.values().stream().mapToLong(result -> result.getDiff().getInserted()).sum(),
+                levels.values().stream().mapToLong(result -> result.getDiff().getUpdated()).sum(),
+                levels.values().stream().mapToLong(result -> result.getDiff().getUnchanged()).sum(),
+                levels.values().stream().mapToLong(result -> result.getDiff().getDeleted()).sum());
+    }
+}
@@ -0,0 +1,94 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+/**
+ * Ringkasan satu kali import CSV beserta waktu per tahapnya.
+ */
+public class ImportResult {
+
+    private final String fileName;
+    private final long rowsRead;
+    private final long rowsWritten;
+    private final long batches;
+    private final long parseMillis;
+    private final long waitMillis;
+    private final long writeMillis;
+    private final long durationMillis;
+    private final ImportDiff diff;
+
+    public ImportResult(String fileName, long rowsRead, long rowsWritten, long batches,
+                        long parseMillis, long waitMillis, long writeMillis, long durationMillis) {
+        this(fileName, rowsRead, rowsWritten, batches, parseMillis, waitMillis, writeMillis, durationMillis, null);
+    }
+
+    private ImportResult(String fileName, long rowsRead, long rowsWritten, long batches,
+                         long parseMillis, long waitMillis, long writeMillis, long durationMillis, ImportDiff diff) {
+        this.fileName = fileName;
+        this.rowsRead = rowsRead;
+        this.rowsWritten = rowsWritten;
+        this.batches = batches;
+        this.parseMillis = parseMillis;
+        this.waitMillis = waitMillis;
+        this.writeMillis = writeMillis;
+        this.durationMillis = durationMillis;
+        this.diff = diff;
+    }
+
+    /**
+     * @return salinan hasil ini dengan ringkasan perubahan dari import delta.
+     */
+    public ImportResult withDiff(ImportDiff diff) {
+        return new ImportResult(fileName, rowsRead, rowsWritten, batches,
+                parseMillis, waitMillis, writeMillis, durationMillis, diff);
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * @return jumlah baris yang dikirim ke database; pada import delta hanya baris baru dan berubah.
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return waktu dari mulai sampai baris CSV terakhir selesai dibaca.
+     */
+    public long getParseMillis() {
+        return parseMillis;
+    }
+
+    /**
+     * @return waktu dari mulai sampai writer pertama boleh menulis, termasuk menunggu level induk.
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * @return waktu dari batch pertama ditulis sampai semua writer selesai.
+     */
+    public long getWriteMillis() {
+        return writeMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * @return ringkasan insert, update, unchanged dan delete; null kalau import delta tidak aktif.
+     */
+    public ImportDiff getDiff() {
+        return diff;
+    }
+}
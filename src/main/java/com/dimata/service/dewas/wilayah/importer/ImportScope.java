@@ -0,0 +1,27 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+
+/**
+ * Cakupan satu job import: semua level sekaligus atau satu level saja.
+ */
+public enum ImportScope {
+    ALL(null),
+    PROVINCE(RegionLevel.PROVINCE),
+    REGENCY(RegionLevel.REGENCY),
+    DISTRICT(RegionLevel.DISTRICT),
+    VILLAGE(RegionLevel.VILLAGE);
+
+    private final RegionLevel level;
+
+    ImportScope(RegionLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * @return level yang di-import, atau null untuk {@link #ALL}.
+     */
+    public RegionLevel getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,82 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
+import com.dimata.service.dewas.wilayah.repo.VillageRepository;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mengisi database dari CSV bawaan satu kali kalau ada tabel wilayah yang masih kosong,
+ * misalnya pada instalasi baru. Import berjalan sebagai job background, jadi startup dan
+ * request tidak pernah menunggu import.
+ * <p>
+ * Pemeriksaan hanya dilakukan sekali (single-flight). Kalau pemeriksaan gagal, misalnya database
+ * belum siap, panggilan {@link #ensureData()} berikutnya mencoba lagi.
+ */
+@ApplicationScoped
+public class RegionBootstrap {
+
+    private static final Logger LOGGER = Logger.getLogger(RegionBootstrap.class.getName());
+
+    private final AtomicBoolean checked = new AtomicBoolean();
+
+    @ConfigProperty(name = "dimata.wilayah.bootstrap.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    ImportLease importLease;
+
+    @Inject
+    ProvinceRepository provinceRepository;
+
+    @Inject
+    RegencyRepository regencyRepository;
+
+    @Inject
+    DistrictRepository districtRepository;
+
+    @Inject
+    VillageRepository villageRepository;
+
+    void onStart(@Observes StartupEvent event) {
+        ensureData();
+    }
+
+    /**
+     * Memeriksa tabel wilayah sekali dan mengajukan job import semua level kalau ada yang kosong.
+     * Setelah pemeriksaan pertama berhasil, panggilan berikutnya tidak melakukan apa pun.
+     */
+    public void ensureData() {
+        if (!enabled || !checked.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            boolean empty = !provinceRepository.existsAny()
+                    || !regencyRepository.existsAny()
+                    || !districtRepository.existsAny()
+                    || !villageRepository.existsAny();
+            if (empty) {
+                // Lewat lock antar node, jadi node yang start bersamaan tidak mengimpor berbarengan
+                Optional<ImportJob> job = importLease.submit(ImportScope.ALL);
+                if (job.isPresent()) {
+                    LOGGER.log(Level.INFO, "Tabel wilayah masih kosong, import awal dijalankan sebagai job " + job.get().getId());
+                } else {
+                    LOGGER.log(Level.INFO, "Tabel wilayah masih kosong, import awal sedang dijalankan node lain.");
+                }
+            }
+        } catch (Exception e) {
+            checked.set(false);
+            LOGGER.log(Level.WARNING, "Gagal memeriksa isi tabel wilayah, bootstrap dicoba lagi nanti.", e);
+        }
+    }
+}
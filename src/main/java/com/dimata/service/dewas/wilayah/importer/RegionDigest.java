@@ -0,0 +1,162 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.model.RegionCode;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sidik isi tabel satu level: kode wilayah terurut beserta hash 64-bit isi barisnya.
+ * Dipakai import delta untuk memilah baris CSV menjadi insert, update atau tidak berubah,
+ * dan untuk menemukan baris database yang sudah tidak ada di CSV.
+ * <p>
+ * Tidak thread-safe; dipakai oleh satu thread parser.
+ */
+final class RegionDigest {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final RegionLevel level;
+    private final long[] codes;
+    private final long[] hashes;
+    private final BitSet seen;
+    private final Set<Long> insertedCodes = new HashSet<>();
+
+    private long inserted;
+    private long updated;
+    private long unchanged;
+
+    private RegionDigest(RegionLevel level, long[] codes, long[] hashes) {
+        this.level = level;
+        this.codes = codes;
+        this.hashes = hashes;
+        this.seen = new BitSet(codes.length);
+    }
+
+    /**
+     * Membaca isi tabel dari database. Baris dengan kode tidak valid dilewati,
+     * sehingga baris CSV dengan kode yang sama selalu dianggap berubah.
+     *
+     * @param level  level tabel.
+     * @param source pembaca semua baris, sebaiknya urut berdasarkan ID.
+     * @param idOf   pengambil ID baris.
+     * @param hashOf pengambil hash isi baris, lihat {@link #hash(String...)}.
+     */
+    static <T> RegionDigest load(RegionLevel level, Consumer<Consumer<T>> source,
+                                 Function<T, String> idOf, ToLongFunction<T> hashOf) {
+        long[][] buffer = {new long[1024], new long[1024]};
+        int[] size = {0};
+        boolean[] sorted = {true};
+        source.accept(row -> {
+            long code;
+            try {
+                code = RegionCode.encode(idOf.apply(row));
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+            int n = size[0];
+            if (n == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], n * 2);
+                buffer[1] = Arrays.copyOf(buffer[1], n * 2);
+            }
+            if (n > 0 && buffer[0][n - 1] >= code) {
+                sorted[0] = false;
+            }
+            buffer[0][n] = code;
+            buffer[1][n] = hashOf.applyAsLong(row);
+            size[0] = n + 1;
+        });
+
+        long[] codes = Arrays.copyOf(buffer[0], size[0]);
+        long[] hashes = Arrays.copyOf(buffer[1], size[0]);
+        if (!sorted[0]) {
+            Integer[] order = new Integer[codes.length];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, (a, b) -> Long.compare(codes[a], codes[b]));
+            long[] sortedCodes = new long[codes.length];
+            long[] sortedHashes = new long[codes.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedCodes[i] = codes[order[i]];
+                sortedHashes[i] = hashes[order[i]];
+            }
+            return new RegionDigest(level, sortedCodes, sortedHashes);
+        }
+        return new RegionDigest(level, codes, hashes);
+    }
+
+    /**
+     * Hash FNV-1a 64-bit dari gabungan kolom, dipisah karakter NUL supaya ("ab", "c") berbeda dari ("a", "bc").
+     */
+    static long hash(String... parts) {
+        long hash = FNV_OFFSET;
+        for (String part : parts) {
+            if (part != null) {
+                for (int i = 0; i < part.length(); i++) {
+                    hash = (hash ^ part.charAt(i)) * FNV_PRIME;
+                }
+            }
+            hash = (hash ^ 0) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Memeriksa satu baris CSV dan menandainya sudah terlihat.
+     *
+     * @return true kalau baris perlu ditulis (baru atau berubah).
+     */
+    boolean changed(String id, long hash) {
+        long code;
+        try {
+            code = RegionCode.encode(id);
+        } catch (IllegalArgumentException e) {
+            updated++;
+            return true;
+        }
+        int index = Arrays.binarySearch(codes, code);
+        if (index < 0) {
+            if (insertedCodes.add(code)) {
+                inserted++;
+            } else {
+                updated++;
+            }
+            return true;
+        }
+        if (seen.get(index)) {
+            // ID ganda di CSV: baris berikutnya selalu ditulis supaya baris terakhir yang menang
+            updated++;
+            return true;
+        }
+        seen.set(index);
+        if (hashes[index] == hash) {
+            unchanged++;
+            return false;
+        }
+        updated++;
+        return true;
+    }
+
+    /**
+     * @return ID baris database yang tidak muncul di CSV.
+     */
+    List<String> missingIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = seen.nextClearBit(0); i < codes.length; i = seen.nextClearBit(i + 1)) {
+            ids.add(RegionCode.decode(codes[i], level));
+        }
+        return ids;
+    }
+
+    ImportDiff diff(long deleted) {
+        return new ImportDiff(inserted, updated, unchanged, deleted);
+    }
+}
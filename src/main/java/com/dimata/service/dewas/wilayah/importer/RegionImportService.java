@@ -0,0 +1,319 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
+import com.dimata.service.dewas.wilayah.repo.VillageRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.commons.csv.CSVRecord;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Import data wilayah dari file CSV, per level atau keempat level sekaligus.
+ * <p>
+ * Pada import semua level, keempat file CSV dibaca bersamaan, tetapi penulisan mengikuti urutan
+ * foreign key: provinsi, kabupaten, kecamatan, lalu desa. Writer satu level baru mulai setelah
+ * level induknya selesai, dan tiap level ditulis oleh beberapa shard writer
+ * ({@code dimata.wilayah.import.writer-shards}) sehingga jumlah koneksi database yang dipakai terbatas.
+ * <p>
+ * Kalau {@code dimata.wilayah.import.delta.enabled} aktif, isi tabel dibaca dulu menjadi {@link RegionDigest}
+ * dan hanya baris baru atau berubah yang ditulis. Import semua level juga menghapus baris yang sudah tidak ada
+ * di CSV, berurutan dari desa sampai provinsi supaya foreign key tidak dilanggar. Import satu level tidak
+ * menghapus apa pun karena level anaknya mungkin masih merujuk baris tersebut.
+ */
+@ApplicationScoped
+public class RegionImportService {
+
+    private static final Logger LOGGER = Logger.getLogger(RegionImportService.class.getName());
+
+    @Inject
+    CsvImportPipeline csvImportPipeline;
+
+    @Inject
+    ProvinceRepository provinceRepository;
+
+    @Inject
+    RegencyRepository regencyRepository;
+
+    @Inject
+    DistrictRepository districtRepository;
+
+    @Inject
+    VillageRepository villageRepository;
+
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    @ConfigProperty(name = "dimata.wilayah.import.writer-shards", defaultValue = "4")
+    int writerShards;
+
+    @ConfigProperty(name = "dimata.wilayah.import.delta.enabled", defaultValue = "true")
+    boolean deltaEnabled;
+
+    // Satu thread parser per level
+    private final ExecutorService parserExecutor = Executors.newFixedThreadPool(RegionLevel.values().length, runnable -> {
+        Thread thread = new Thread(runnable, "csv-import-parser");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        parserExecutor.shutdownNow();
+    }
+
+    /**
+     * Import satu level dari file CSV-nya di thread pemanggil, lalu memuat ulang snapshot kalau ada perubahan.
+     *
+     * @param level level yang di-import.
+     * @return ringkasan import.
+     * @throws IOException kalau file CSV tidak ditemukan atau gagal dibaca.
+     */
+    public ImportResult importLevel(RegionLevel level) throws IOException {
+        return importLevel(level, new ImportProgress());
+    }
+
+    /**
+     * Sama dengan {@link #importLevel(RegionLevel)}, dengan progres yang bisa dipantau dari thread lain.
+     */
+    public ImportResult importLevel(RegionLevel level, ImportProgress progress) throws IOException {
+        ImportResult result = null;
+        try {
+            LevelImport levelImport = run(level, source(level), progress, CompletableFuture.completedFuture(null));
+            result = levelImport.digest == null
+                    ? levelImport.result
+                    : levelImport.result.withDiff(levelImport.digest.diff(0));
+            return result;
+        } finally {
+            if (result == null || result.getDiff() == null || result.getDiff().hasChanges()) {
+                snapshotHolder.refresh();
+            }
+        }
+    }
+
+    /**
+     * Import keempat level sekaligus, lalu memuat ulang snapshot sekali di akhir.
+     *
+     * @return ringkasan import per level beserta waktunya.
+     * @throws IOException kalau salah satu file CSV tidak ditemukan atau gagal dibaca.
+     */
+    public ImportReport importAll() throws IOException {
+        return importAll(new ImportProgress());
+    }
+
+    /**
+     * Sama dengan {@link #importAll()}, dengan progres yang bisa dipantau dari thread lain.
+     */
+    public ImportReport importAll(ImportProgress progress) throws IOException {
+        long start = System.nanoTime();
+        Map<RegionLevel, CompletableFuture<LevelImport>> stages = new EnumMap<>(RegionLevel.class);
+        CompletableFuture<?> gate = CompletableFuture.completedFuture(null);
+        for (RegionLevel level : RegionLevel.values()) {
+            Future<?> parentWritten = gate;
+            CompletableFuture<LevelImport> stage = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return run(level, source(level), progress, parentWritten);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, parserExecutor);
+            stages.put(level, stage);
+            gate = stage;
+        }
+
+        Map<RegionLevel, LevelImport> imports = new EnumMap<>(RegionLevel.class);
+        Throwable failure = null;
+        for (Map.Entry<RegionLevel, CompletableFuture<LevelImport>> stage : stages.entrySet()) {
+            try {
+                imports.put(stage.getKey(), stage.getValue().join());
+            } catch (CompletionException e) {
+                // Level setelah level yang gagal ikut gagal; yang dilaporkan penyebab pertama
+                if (failure == null) {
+                    failure = e.getCause();
+                    LOGGER.log(Level.SEVERE, "Import level " + stage.getKey() + " gagal", failure);
+                }
+            }
+        }
+
+        Map<RegionLevel, ImportResult> results = null;
+        try {
+            if (failure == null) {
+                results = deleteMissing(imports);
+            }
+        } finally {
+            // Snapshot hanya dimuat ulang kalau ada yang mungkin berubah
+            if (results == null || !deltaEnabled || results.values().stream().anyMatch(r -> r.getDiff().hasChanges())) {
+                snapshotHolder.refresh();
+            }
+        }
+
+        if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failure).getCause();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        ImportReport report = new ImportReport(results, (System.nanoTime() - start) / 1_000_000);
+        LOGGER.log(Level.INFO, "Import semua level selesai: " + report.getRowsRead() + " baris dalam "
+                + report.getTotalMillis() + " ms");
+        return report;
+    }
+
+    /**
+     * Menghapus baris yang tidak ada di CSV, mulai dari level paling bawah.
+     */
+    private Map<RegionLevel, ImportResult> deleteMissing(Map<RegionLevel, LevelImport> imports) {
+        Map<RegionLevel, ImportResult> results = new EnumMap<>(RegionLevel.class);
+        RegionLevel[] levels = RegionLevel.values();
+        for (int i = levels.length - 1; i >= 0; i--) {
+            LevelImport levelImport = imports.get(levels[i]);
+            if (levelImport.digest == null) {
+                results.put(levels[i], levelImport.result);
+                continue;
+            }
+            List<String> missing = levelImport.digest.missingIds();
+            long deleted = 0;
+            for (int from = 0; from < missing.size(); from += DELETE_CHUNK_SIZE) {
+                deleted += levelImport.deleter.applyAsInt(missing.subList(from, Math.min(from + DELETE_CHUNK_SIZE, missing.size())));
+            }
+            if (deleted > 0) {
+                LOGGER.log(Level.INFO, "Import " + levels[i] + ": " + deleted + " baris yang tidak ada di CSV dihapus");
+            }
+            results.put(levels[i], levelImport.result.withDiff(levelImport.digest.diff(deleted)));
+        }
+        return results;
+    }
+
+    private <T> LevelImport run(RegionLevel level, LevelSource<T> source, ImportProgress progress,
+                                Future<?> writeGate) throws IOException {
+        RegionDigest digest = deltaEnabled
+                ? RegionDigest.load(level, source.existing, source.idOf, source.hashOf)
+                : null;
+        Predicate<T> filter = digest == null
+                ? null
+                : row -> digest.changed(source.idOf.apply(row), source.hashOf.applyAsLong(row));
+        Function<CSVRecord, T> mapper = record -> {
+            progress.rowRead();
+            return source.mapper.apply(record);
+        };
+        Consumer<List<T>> writer = batch -> {
+            source.writer.accept(batch);
+            progress.batchCommitted(batch.size());
+        };
+        ImportResult result = csvImportPipeline.run(source.fileName, mapper, filter,
+                source.idOf, writerShards, writeGate, writer);
+        return new LevelImport(result, digest, source.deleter);
+    }
+
+    /**
+     * @return nama file CSV untuk satu level, dibuka lewat {@link CsvSource}.
+     */
+    static String fileName(RegionLevel level) {
+        return switch (level) {
+            case PROVINCE -> "provinces.csv";
+            case REGENCY -> "regencies.csv";
+            case DISTRICT -> "districts.csv";
+            case VILLAGE -> "villages.csv";
+        };
+    }
+
+    private LevelSource<?> source(RegionLevel level) {
+        return switch (level) {
+            case PROVINCE -> new LevelSource<>(fileName(level),
+                    record -> new Province(record.get(0), record.get(1)),
+                    Province::getId,
+                    province -> RegionDigest.hash(province.getName()),
+                    consumer -> provinceRepository.findAll().forEach(consumer),
+                    provinceRepository::bulkUpsert, provinceRepository::deleteByIds);
+            case REGENCY -> new LevelSource<>(fileName(level),
+                    record -> new Regency(record.get(0), record.get(1), record.get(2)),
+                    Regency::getId,
+                    regency -> RegionDigest.hash(regency.getProvinceId(), regency.getName()),
+                    consumer -> regencyRepository.findAll().forEach(consumer),
+                    regencyRepository::bulkUpsert, regencyRepository::deleteByIds);
+            case DISTRICT -> new LevelSource<>(fileName(level),
+                    record -> new District(record.get(0), record.get(1), record.get(2)),
+                    District::getId,
+                    district -> RegionDigest.hash(district.getRegencyId(), district.getName()),
+                    districtRepository::forEachDistrict,
+                    districtRepository::bulkUpsert, districtRepository::deleteByIds);
+            case VILLAGE -> new LevelSource<>(fileName(level),
+                    record -> new Village(record.get(0), record.get(1), record.get(2)),
+                    Village::getId,
+                    village -> RegionDigest.hash(village.getDistrictId(), village.getName()),
+                    villageRepository::forEachVillage,
+                    villageRepository::bulkUpsert, villageRepository::deleteByIds);
+        };
+    }
+
+    /**
+     * File CSV satu level beserta cara membaca, membandingkan dan menulisnya.
+     */
+    private static final class LevelSource<T> {
+        private final String fileName;
+        private final Function<CSVRecord, T> mapper;
+        private final Function<T, String> idOf;
+        private final ToLongFunction<T> hashOf;
+        private final Consumer<Consumer<T>> existing;
+        private final Consumer<List<T>> writer;
+        private final ToIntFunction<List<String>> deleter;
+
+        private LevelSource(String fileName, Function<CSVRecord, T> mapper, Function<T, String> idOf,
+                            ToLongFunction<T> hashOf, Consumer<Consumer<T>> existing,
+                            Consumer<List<T>> writer, ToIntFunction<List<String>> deleter) {
+            this.fileName = fileName;
+            this.mapper = mapper;
+            this.idOf = idOf;
+            this.hashOf = hashOf;
+            this.existing = existing;
+            this.writer = writer;
+            this.deleter = deleter;
+        }
+    }
+
+    /**
+     * Hasil tulis satu level, disimpan sampai semua level selesai supaya delete bisa dijalankan dari bawah.
+     */
+    private static final class LevelImport {
+        private final ImportResult result;
+        private final RegionDigest digest;
+        private final ToIntFunction<List<String>> deleter;
+
+        private LevelImport(ImportResult result, RegionDigest digest, ToIntFunction<List<String>> deleter) {
+            this.result = result;
+            this.digest = digest;
+            this.deleter = deleter;
+        }
+    }
+}
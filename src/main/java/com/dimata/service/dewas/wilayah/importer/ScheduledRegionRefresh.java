@@ -0,0 +1,125 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.repo.ImportLockRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Refresh data wilayah terjadwal ({@code dimata.wilayah.refresh.cron}, isi {@code off} untuk mematikan).
+ * <p>
+ * Setiap jadwal, checksum gabungan keempat file CSV dibandingkan dengan checksum import terakhir yang berhasil,
+ * yang disimpan di baris lock region_import_lock sehingga sama untuk semua node. Kalau berbeda, import semua
+ * level diajukan lewat {@link ImportLease}; hanya node yang mendapat lock yang mengimpor, dan lock dipegang
+ * sampai job selesai. Node lain cukup memuat ulang snapshot-nya setelah checksum di database berganti.
+ */
+@ApplicationScoped
+public class ScheduledRegionRefresh {
+
+    private static final Logger LOGGER = Logger.getLogger(ScheduledRegionRefresh.class.getName());
+
+    @Inject
+    CsvSource csvSource;
+
+    @Inject
+    ImportLease importLease;
+
+    @Inject
+    ImportLockRepository importLockRepository;
+
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    // Checksum import yang sudah dimuat ke snapshot node ini; null sampai pemeriksaan pertama setelah start
+    private volatile String loadedChecksum;
+
+    // Job import dari refresh sebelumnya yang mungkin masih berjalan
+    private volatile ImportJob pending;
+
+    @Scheduled(identity = "region-refresh", cron = "{dimata.wilayah.refresh.cron}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refresh() {
+        String checksum;
+        try {
+            checksum = checksum();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Gagal membaca file CSV di " + csvSource.describe() + ", refresh dilewati.", e);
+            return;
+        }
+        String imported;
+        try {
+            imported = importLockRepository.importedChecksum(ImportLease.LOCK_NAME).orElse(null);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Gagal membaca status import di database, refresh dilewati.", e);
+            return;
+        }
+        if (checksum.equals(imported)) {
+            // Sudah diimpor, mungkin oleh node lain: snapshot node ini cukup dimuat ulang sekali
+            if (!checksum.equals(loadedChecksum)) {
+                snapshotHolder.refresh();
+                loadedChecksum = checksum;
+            }
+            LOGGER.log(Level.FINE, "File CSV tidak berubah, refresh dilewati.");
+            return;
+        }
+
+        if (pending != null && !pending.isFinished()) {
+            LOGGER.log(Level.FINE, "Job import " + pending.getId() + " masih berjalan, refresh dilewati.");
+            return;
+        }
+
+        Optional<ImportJob> submitted;
+        try {
+            submitted = importLease.submit(ImportScope.ALL, checksum);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Refresh data wilayah terjadwal gagal", e);
+            return;
+        }
+        if (submitted.isEmpty()) {
+            LOGGER.log(Level.INFO, "Lock import dipegang node lain, refresh dicoba lagi pada jadwal berikutnya.");
+            return;
+        }
+        ImportJob job = submitted.get();
+        pending = job;
+        LOGGER.log(Level.INFO, "File CSV di " + csvSource.describe() + " berubah, menjalankan job import " + job.getId());
+        // Tidak ditunggu dengan batas waktu: lock tetap dipegang ImportLease sampai job benar-benar selesai,
+        // dan checksum sudah dicatat ImportLease sebelum lock dilepas
+        job.completion().thenAccept(finished -> {
+            if (finished.getState() == ImportJob.State.SUCCEEDED) {
+                snapshotHolder.refresh();
+                loadedChecksum = checksum;
+            }
+        }).exceptionally(e -> {
+            LOGGER.log(Level.SEVERE, "Refresh data wilayah terjadwal gagal", e);
+            return null;
+        });
+    }
+
+    /**
+     * @return SHA-256 (hex) dari checksum keempat file CSV, urut dari provinsi sampai desa.
+     */
+    private String checksum() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (RegionLevel level : RegionLevel.values()) {
+            String fileName = RegionImportService.fileName(level);
+            digest.update((fileName + '=' + csvSource.checksum(fileName) + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,64 @@
+package com.dimata.service.dewas.wilayah.metrics;
+
+import com.dimata.service.dewas.wilayah.cache.NegativeLookupCache;
+import com.dimata.service.dewas.wilayah.cache.ResponseByteCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Statistik cache dengan nama meter konvensi Micrometer ({@code cache.gets}, {@code cache.size},
+ * {@code cache.evictions}) dan tag {@code cache}:
+ * <ul>
+ *     <li>{@code response-bytes}: {@link ResponseByteCache}, beserta {@code wilayah.response.cache.bytes}.</li>
+ *     <li>{@code negative-lookup}: {@link NegativeLookupCache}.</li>
+ * </ul>
+ * Hit ratio dihitung di Prometheus dari {@code cache_gets_total} dengan {@code result="hit"} dibagi total.
+ */
+@ApplicationScoped
+public class CacheMetrics {
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    ResponseByteCache responseByteCache;
+
+    @Inject
+    NegativeLookupCache negativeLookupCache;
+
+    void onStart(@Observes StartupEvent event) {
+        bindGets("response-bytes", responseByteCache, ResponseByteCache::getHits, ResponseByteCache::getMisses);
+        Gauge.builder("cache.size", responseByteCache, ResponseByteCache::size)
+                .tags(Tags.of("cache", "response-bytes"))
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", responseByteCache, ResponseByteCache::getEvictions)
+                .tags(Tags.of("cache", "response-bytes"))
+                .register(registry);
+        Gauge.builder("wilayah.response.cache.bytes", responseByteCache, ResponseByteCache::getUsedBytes)
+                .description("Ukuran body yang tersimpan di cache byte response (off-heap)")
+                .baseUnit("bytes")
+                .register(registry);
+
+        bindGets("negative-lookup", negativeLookupCache, NegativeLookupCache::getHits, NegativeLookupCache::getMisses);
+        Gauge.builder("cache.size", negativeLookupCache, NegativeLookupCache::size)
+                .tags(Tags.of("cache", "negative-lookup"))
+                .register(registry);
+    }
+
+    private <T> void bindGets(String cache, T target, ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.gets", target, hits)
+                .tags(Tags.of("cache", cache, "result", "hit"))
+                .register(registry);
+        FunctionCounter.builder("cache.gets", target, misses)
+                .tags(Tags.of("cache", cache, "result", "miss"))
+                .register(registry);
+    }
+}
@@ -0,0 +1,193 @@
+package com.dimata.service.dewas.wilayah.metrics;
+
+import com.dimata.service.dewas.wilayah.orm.core.JooqRepository;
+import com.dimata.service.dewas.wilayah.orm.core.WilayahJooqContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkiverse.jooq.runtime.JooqCustomContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jooq.Configuration;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.ExecuteType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics per query jOOQ, dipasang ke DSLContext oleh {@link WilayahJooqContext}.
+ * <p>
+ * Setiap query dicatat dengan tag {@code operation} berupa method repository yang menjalankannya,
+ * misalnya {@code VillageRepository.findByProvinceId}, sehingga tidak ada repository yang perlu diubah:
+ * <ul>
+ *     <li>{@code wilayah.db.query}: timer dengan tag operation, type (read/write/batch) dan outcome.</li>
+ *     <li>{@code wilayah.db.rows.fetched}: jumlah baris yang dibaca per query.</li>
+ *     <li>{@code wilayah.db.rows.affected}: jumlah baris yang ditulis per statement atau batch.</li>
+ * </ul>
+ * Nama operation dicari dengan {@link StackWalker} sampai frame repository pertama; biayanya beberapa
+ * mikrodetik per query, kecil dibanding round trip ke database. Matikan dengan
+ * {@code dimata.wilayah.metrics.query.enabled=false}.
+ */
+@ApplicationScoped
+public class QueryMetrics implements JooqCustomContext {
+
+    static final String OTHER = "other";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "dimata.wilayah.metrics.query.enabled", defaultValue = "true")
+    boolean enabled;
+
+    // Meter per kombinasi tag, supaya query tidak perlu mencari meter di registry setiap kali
+    private final ConcurrentHashMap<String, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    public void apply(Configuration configuration) {
+        JooqCustomContext.super.apply(configuration);
+        if (!enabled) {
+            return;
+        }
+        ExecuteListenerProvider[] existing = configuration.executeListenerProviders();
+        ExecuteListenerProvider[] providers = Arrays.copyOf(existing, existing.length + 1);
+        providers[existing.length] = QueryListener::new;
+        configuration.set(providers);
+    }
+
+    /**
+     * Method repository yang sedang menjalankan query di thread ini.
+     *
+     * @return misalnya {@code VillageRepository.findAll}, atau {@code other} kalau query tidak berasal
+     *         dari repository.
+     */
+    static String currentOperation() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> JooqRepository.class.isAssignableFrom(frame.getDeclaringClass())
+                        && frame.getDeclaringClass() != JooqRepository.class)
+                .findFirst()
+                .map(frame -> repositoryName(frame.getDeclaringClass()) + '.' + methodName(frame.getMethodName()))
+                .orElse(OTHER));
+    }
+
+    /**
+     * Nama kelas repository tanpa akhiran kelas buatan Quarkus seperti {@code _Subclass} atau {@code _ClientProxy}.
+     */
+    static String repositoryName(Class<?> type) {
+        Class<?> current = type;
+        while (current.getSimpleName().contains("_") && current.getSuperclass() != JooqRepository.class
+                && JooqRepository.class.isAssignableFrom(current.getSuperclass())) {
+            current = current.getSuperclass();
+        }
+        return current.getSimpleName();
+    }
+
+    /**
+     * Nama method asal untuk lambda, misalnya {@code lambda$forEachVillage$0} menjadi {@code forEachVillage}.
+     */
+    static String methodName(String name) {
+        if (!name.startsWith("lambda$")) {
+            return name;
+        }
+        int end = name.indexOf('$', "lambda$".length());
+        return end < 0 ? name : name.substring("lambda$".length(), end);
+    }
+
+    private QueryMeters meters(String operation, ExecuteType type, boolean success) {
+        String typeTag = type.name().toLowerCase();
+        String outcome = success ? "success" : "error";
+        return meters.computeIfAbsent(operation + '|' + typeTag + '|' + outcome,
+                key -> new QueryMeters(registry, operation, type, outcome));
+    }
+
+    private static final class QueryMeters {
+        private final Timer timer;
+        // Query baca mencatat baris yang dibaca, query lain mencatat baris yang ditulis
+        private final DistributionSummary rows;
+
+        private QueryMeters(MeterRegistry registry, String operation, ExecuteType type, String outcome) {
+            timer = Timer.builder("wilayah.db.query")
+                    .description("Waktu eksekusi query jOOQ, termasuk membaca hasilnya")
+                    .tags("operation", operation, "type", type.name().toLowerCase(), "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+            rows = type == ExecuteType.READ
+                    ? DistributionSummary.builder("wilayah.db.rows.fetched")
+                            .description("Jumlah baris yang dibaca per query")
+                            .baseUnit("rows")
+                            .tags("operation", operation)
+                            .register(registry)
+                    : DistributionSummary.builder("wilayah.db.rows.affected")
+                            .description("Jumlah baris yang ditulis per statement atau batch")
+                            .baseUnit("rows")
+                            .tags("operation", operation)
+                            .register(registry);
+        }
+    }
+
+    /**
+     * Listener untuk satu eksekusi; jOOQ membuat instance baru lewat provider untuk setiap query,
+     * jadi field-nya tidak dibagi antar thread.
+     */
+    private final class QueryListener implements ExecuteListener {
+
+        private long start;
+        private String operation;
+        private long rowsFetched;
+        private boolean failed;
+
+        @Override
+        public void start(ExecuteContext ctx) {
+            start = System.nanoTime();
+            operation = currentOperation();
+        }
+
+        @Override
+        public void recordEnd(ExecuteContext ctx) {
+            rowsFetched++;
+        }
+
+        @Override
+        public void exception(ExecuteContext ctx) {
+            failed = true;
+        }
+
+        @Override
+        public void end(ExecuteContext ctx) {
+            QueryMeters queryMeters = meters(operation, ctx.type(), !failed && ctx.exception() == null);
+            queryMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long rows = ctx.type() == ExecuteType.READ ? rowsFetched : rowsAffected(ctx);
+            if (rows >= 0) {
+                queryMeters.rows.record(rows);
+            }
+        }
+
+        /**
+         * @return jumlah baris yang ditulis, atau -1 kalau driver tidak melaporkannya.
+         */
+        private long rowsAffected(ExecuteContext ctx) {
+            int[] batchRows = ctx.batchRows();
+            if (batchRows.length == 0) {
+                return ctx.rows();
+            }
+            long total = 0;
+            for (int rows : batchRows) {
+                if (rows < 0) {
+                    // Statement.SUCCESS_NO_INFO: driver tidak tahu jumlahnya
+                    return -1;
+                }
+                total += rows;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.dimata.service.dewas.wilayah.model;
+
+/**
+ * Hasil pencocokan satu alamat teks bebas ke kode wilayah. Field level yang tidak
+ * ditemukan bernilai null; induk dari wilayah terdalam yang cocok selalu diisi.
+ */
+public class AddressMatch {
+    private String input;
+    private boolean matched;
+    private RegionLevel level;
+    private int distance;
+    private boolean ambiguous;
+    private String provinceId;
+    private String provinceName;
+    private String regencyId;
+    private String regencyName;
+    private String districtId;
+    private String districtName;
+    private String villageId;
+    private String villageName;
+
+    public AddressMatch() {}
+
+    public AddressMatch(String input) {
+        this.input = input;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public void setInput(String input) {
+        this.input = input;
+    }
+
+    public boolean isMatched() {
+        return matched;
+    }
+
+    public void setMatched(boolean matched) {
+        this.matched = matched;
+    }
+
+    /**
+     * @return level terdalam yang cocok.
+     */
+    public RegionLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(RegionLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * @return total jarak edit dari semua nama yang dicocokkan; 0 berarti semuanya sama persis.
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    public void setDistance(int distance) {
+        this.distance = distance;
+    }
+
+    /**
+     * @return true kalau ada wilayah lain dengan skor yang sama, misalnya nama desa yang sama
+     *         di beberapa kecamatan tanpa petunjuk kecamatan atau kabupaten.
+     */
+    public boolean isAmbiguous() {
+        return ambiguous;
+    }
+
+    public void setAmbiguous(boolean ambiguous) {
+        this.ambiguous = ambiguous;
+    }
+
+    public String getProvinceId() {
+        return provinceId;
+    }
+
+    public void setProvinceId(String provinceId) {
+        this.provinceId = provinceId;
+    }
+
+    public String getProvinceName() {
+        return provinceName;
+    }
+
+    public void setProvinceName(String provinceName) {
+        this.provinceName = provinceName;
+    }
+
+    public String getRegencyId() {
+        return regencyId;
+    }
+
+    public void setRegencyId(String regencyId) {
+        this.regencyId = regencyId;
+    }
+
+    public String getRegencyName() {
+        return regencyName;
+    }
+
+    public void setRegencyName(String regencyName) {
+        this.regencyName = regencyName;
+    }
+
+    public String getDistrictId() {
+        return districtId;
+    }
+
+    public void setDistrictId(String districtId) {
+        this.districtId = districtId;
+    }
+
+    public String getDistrictName() {
+        return districtName;
+    }
+
+    public void setDistrictName(String districtName) {
+        this.districtName = districtName;
+    }
+
+    public String getVillageId() {
+        return villageId;
+    }
+
+    public void setVillageId(String villageId) {
+        this.villageId = villageId;
+    }
+
+    public String getVillageName() {
+        return villageName;
+    }
+
+    public void setVillageName(String villageName) {
+        this.villageName = villageName;
+    }
+}
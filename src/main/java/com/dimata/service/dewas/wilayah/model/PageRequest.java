@@ -0,0 +1,76 @@
+package com.dimata.service.dewas.wilayah.model;
+
+/**
+ * Parameter keyset pagination: ambil maksimal {@code limit} baris dengan ID lebih besar dari {@code after}.
+ * Tidak memakai OFFSET, jadi biaya halaman ke-N sama dengan halaman pertama.
+ */
+public final class PageRequest {
+
+    private static final PageRequest ALL = new PageRequest(null, 0);
+
+    private final String after;
+    private final int limit;
+
+    private PageRequest(String after, int limit) {
+        this.after = after;
+        this.limit = limit;
+    }
+
+    /**
+     * Tanpa pagination, seluruh data dikembalikan.
+     */
+    public static PageRequest all() {
+        return ALL;
+    }
+
+    /**
+     * Membuat dan memvalidasi parameter pagination dari query string.
+     *
+     * @param after ID terakhir dari halaman sebelumnya, boleh null untuk halaman pertama.
+     * @param limit jumlah maksimal baris dalam bentuk teks, boleh null untuk tanpa batas.
+     * @param level level wilayah yang dipaginasi, dipakai untuk validasi panjang {@code after}.
+     * @throws IllegalArgumentException kalau parameter tidak valid.
+     */
+    public static PageRequest of(String after, String limit, RegionLevel level) {
+        Integer parsedLimit = null;
+        if (limit != null) {
+            try {
+                parsedLimit = Integer.parseInt(limit);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Parameter limit harus berupa angka.");
+            }
+            if (parsedLimit <= 0) {
+                throw new IllegalArgumentException("Parameter limit harus lebih besar dari 0.");
+            }
+        }
+        if (after != null && (after.length() != level.getDigits() || !after.chars().allMatch(Character::isDigit))) {
+            throw new IllegalArgumentException("Parameter after harus berupa ID " + level.getDigits() + " digit angka.");
+        }
+        if (after == null && parsedLimit == null) {
+            return ALL;
+        }
+        return new PageRequest(after, parsedLimit == null ? 0 : parsedLimit);
+    }
+
+    /**
+     * @return ID terakhir halaman sebelumnya, atau null untuk halaman pertama.
+     */
+    public String getAfter() {
+        return after;
+    }
+
+    /**
+     * @return batas jumlah baris, 0 berarti tanpa batas.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean hasLimit() {
+        return limit > 0;
+    }
+
+    public boolean isUnbounded() {
+        return after == null && limit == 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.dimata.service.dewas.wilayah.model;
+
+/**
+ * Codec untuk kode wilayah BPS yang seluruhnya berupa angka.
+ * Kode disimpan sebagai {@code long} (desa butuh 10 digit, level lain muat di {@code int}),
+ * sehingga ID induk cukup dihitung dengan pembagian, tidak perlu disimpan sebagai String.
+ */
+public final class RegionCode {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private RegionCode() {
+    }
+
+    /**
+     * Mengubah kode String menjadi long.
+     *
+     * @param code kode wilayah, misalnya "1101010001".
+     * @return kode dalam bentuk long.
+     * @throws IllegalArgumentException kalau kode kosong, bukan angka, atau panjangnya tidak dikenal.
+     */
+    public static long encode(String code) {
+        if (code == null || code.isEmpty()) {
+            throw new IllegalArgumentException("Kode wilayah tidak boleh kosong.");
+        }
+        RegionLevel.ofDigits(code.length());
+
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Kode wilayah harus berupa angka: " + code);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Mengubah kode long kembali ke String dengan panjang sesuai level.
+     */
+    public static String decode(long code, RegionLevel level) {
+        char[] chars = new char[level.getDigits()];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + code % 10);
+            code /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Menurunkan kode induk pada level tertentu dengan memotong digit di belakangnya.
+     *
+     * @param code  kode wilayah.
+     * @param level level dari {@code code}.
+     * @param target level induk yang diinginkan, tidak boleh lebih dalam dari {@code level}.
+     */
+    public static long ancestorOf(long code, RegionLevel level, RegionLevel target) {
+        return code / POWERS_OF_TEN[level.getDigits() - target.getDigits()];
+    }
+
+    /**
+     * Kode induk langsung, misalnya 1101010001 -> 1101010.
+     */
+    public static long parentOf(long code, RegionLevel level) {
+        return ancestorOf(code, level, level.parent());
+    }
+
+    /**
+     * Batas bawah (inklusif) kode keturunan {@code ancestor} pada level {@code target}.
+     */
+    public static long descendantLowerBound(long ancestor, RegionLevel ancestorLevel, RegionLevel target) {
+        return ancestor * POWERS_OF_TEN[target.getDigits() - ancestorLevel.getDigits()];
+    }
+
+    /**
+     * Batas atas (eksklusif) kode keturunan {@code ancestor} pada level {@code target}.
+     */
+    public static long descendantUpperBound(long ancestor, RegionLevel ancestorLevel, RegionLevel target) {
+        return (ancestor + 1) * POWERS_OF_TEN[target.getDigits() - ancestorLevel.getDigits()];
+    }
+}
@@ -0,0 +1,53 @@
+package com.dimata.service.dewas.wilayah.model;
+
+/**
+ * Level wilayah administratif beserta panjang digit kode BPS-nya.
+ * Kode anak selalu diawali kode induknya, misalnya desa 1101010001 ada di kecamatan 1101010,
+ * kabupaten 1101 dan provinsi 11.
+ */
+public enum RegionLevel {
+    PROVINCE(2),
+    REGENCY(4),
+    DISTRICT(7),
+    VILLAGE(10);
+
+    private final int digits;
+
+    RegionLevel(int digits) {
+        this.digits = digits;
+    }
+
+    public int getDigits() {
+        return digits;
+    }
+
+    /**
+     * @return level induk, atau null untuk provinsi.
+     */
+    public RegionLevel parent() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
+
+    /**
+     * @return level anak, atau null untuk desa.
+     */
+    public RegionLevel child() {
+        return ordinal() == values().length - 1 ? null : values()[ordinal() + 1];
+    }
+
+    /**
+     * Menentukan level dari panjang kode.
+     *
+     * @param digits jumlah digit kode wilayah.
+     * @return level yang sesuai.
+     * @throws IllegalArgumentException kalau panjang kode tidak dikenal.
+     */
+    public static RegionLevel ofDigits(int digits) {
+        for (RegionLevel level : values()) {
+            if (level.digits == digits) {
+                return level;
+            }
+        }
+        throw new IllegalArgumentException("Panjang kode wilayah tidak dikenal: " + digits);
+    }
+}
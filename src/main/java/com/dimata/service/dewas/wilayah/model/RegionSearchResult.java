@@ -0,0 +1,55 @@
+package com.dimata.service.dewas.wilayah.model;
+
+/**
+ * Satu hasil pencarian nama wilayah, dari level mana pun.
+ */
+public class RegionSearchResult {
+    private String id;
+    private RegionLevel level;
+    private String parentId;
+    private String name;
+
+    public RegionSearchResult() {}
+
+    public RegionSearchResult(String id, RegionLevel level, String parentId, String name) {
+        this.id = id;
+        this.level = level;
+        this.parentId = parentId;
+        this.name = name;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public RegionLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(RegionLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * @return ID induk langsung, atau null untuk provinsi.
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dimata.service.dewas.wilayah.model;
+
+import java.util.List;
+
+/**
+ * Bahan pohon wilayah: daftar per level yang masing-masing sudah terurut ID.
+ * Karena ID anak diawali ID induknya, pohon bersarang cukup dibentuk dengan menggabungkan
+ * keempat daftar secara berurutan, tanpa map atau pengelompokan.
+ */
+public class RegionTree {
+    private final List<Province> provinces;
+    private final List<Regency> regencies;
+    private final List<District> districts;
+    private final List<Village> villages;
+    private final int depth;
+
+    /**
+     * @param depth jumlah level di bawah provinsi yang ikut ditulis: 0 hanya provinsi, 3 sampai desa.
+     */
+    public RegionTree(List<Province> provinces, List<Regency> regencies,
+                      List<District> districts, List<Village> villages, int depth) {
+        this.provinces = provinces;
+        this.regencies = regencies;
+        this.districts = districts;
+        this.villages = villages;
+        this.depth = depth;
+    }
+
+    public List<Province> getProvinces() {
+        return provinces;
+    }
+
+    public List<Regency> getRegencies() {
+        return regencies;
+    }
+
+    public List<District> getDistricts() {
+        return districts;
+    }
+
+    public List<Village> getVillages() {
+        return villages;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+}
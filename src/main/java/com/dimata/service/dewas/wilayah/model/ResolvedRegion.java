@@ -0,0 +1,83 @@
+package com.dimata.service.dewas.wilayah.model;
+
+/**
+ * Hasil resolusi satu ID wilayah: entitasnya sendiri beserta seluruh induknya.
+ * Field untuk level di bawah level ID selalu null.
+ */
+public class ResolvedRegion {
+    private String id;
+    private RegionLevel level;
+    private boolean found;
+    private Province province;
+    private Regency regency;
+    private District district;
+    private Village village;
+
+    public ResolvedRegion() {}
+
+    public ResolvedRegion(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return level dari panjang ID, atau null kalau ID tidak valid.
+     */
+    public RegionLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(RegionLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * @return true kalau wilayah dengan ID ini ada.
+     */
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public Province getProvince() {
+        return province;
+    }
+
+    public void setProvince(Province province) {
+        this.province = province;
+    }
+
+    public Regency getRegency() {
+        return regency;
+    }
+
+    public void setRegency(Regency regency) {
+        this.regency = regency;
+    }
+
+    public District getDistrict() {
+        return district;
+    }
+
+    public void setDistrict(District district) {
+        this.district = district;
+    }
+
+    public Village getVillage() {
+        return village;
+    }
+
+    public void setVillage(Village village) {
+        this.village = village;
+    }
+}
@@ -0,0 +1,198 @@
+package com.dimata.service.dewas.wilayah.orm.core;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Name;
+import org.jooq.Table;
+import org.jooq.TableRecord;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConnectionProvider;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Penulis batch upsert untuk tabel wilayah. Mode penulisan dipilih lewat
+ * {@code dimata.wilayah.import.write-mode} (lihat {@link BulkWriteMode}).
+ * <p>
+ * Kolom yang di-update saat key bentrok adalah semua kolom selain primary key.
+ */
+@ApplicationScoped
+public class BulkUpsertEngine {
+
+    @Inject
+    DSLContext dsl;
+
+    @ConfigProperty(name = "dimata.wilayah.import.write-mode", defaultValue = "MULTI_ROW")
+    BulkWriteMode mode;
+
+    public BulkWriteMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Upsert satu batch record ke tabel.
+     *
+     * @param table   tabel tujuan, harus punya primary key.
+     * @param records isi batch; semua kolom tabel ikut ditulis.
+     */
+    public <R extends TableRecord<R>> void upsert(Table<R> table, List<R> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        switch (mode) {
+            case BATCH -> upsertBatch(table, records);
+            case MULTI_ROW -> upsertMultiRow(table, records);
+            case LOAD_DATA -> upsertLoadData(table, records);
+        }
+    }
+
+    private <R extends TableRecord<R>> void upsertBatch(Table<R> table, List<R> records) {
+        dsl.batch(records.stream()
+                .map(record -> dsl.insertInto(table)
+                        .set(record)
+                        .onDuplicateKeyUpdate()
+                        .set(updatedValues(table, record)))
+                .collect(Collectors.toList())
+        ).execute();
+    }
+
+    private <R extends TableRecord<R>> void upsertMultiRow(Table<R> table, List<R> records) {
+        dsl.insertInto(table, table.fields())
+                .valuesOfRecords(records)
+                .onDuplicateKeyUpdate()
+                .set(excludedValues(table))
+                .execute();
+    }
+
+    /**
+     * Semua langkah harus memakai koneksi yang sama karena tabel staging adalah TEMPORARY TABLE,
+     * yang hanya terlihat oleh koneksi pembuatnya. Tabel staging dibuat sekali per koneksi (koneksi pool
+     * dipakai ulang antar batch) dan hanya dikosongkan setelah setiap batch.
+     */
+    private <R extends TableRecord<R>> void upsertLoadData(Table<R> table, List<R> records) {
+        Field<?>[] fields = table.fields();
+        Name staging = DSL.name(table.getName() + "_staging");
+        Table<?> stagingTable = DSL.table(staging);
+        String columns = Arrays.stream(fields)
+                .map(field -> "`" + field.getName() + "`")
+                .collect(Collectors.joining(", "));
+
+        dsl.connection(connection -> {
+            // Turunan konfigurasi utama, jadi ExecuteListener (metrik query) dan Settings (query timeout) tetap berlaku
+            DSLContext local = dsl.configuration().derive(new DefaultConnectionProvider(connection)).dsl();
+            // CREATE ... LIKE menyalin kolom dan primary key, tapi tidak foreign key.
+            // Tanpa implicit commit untuk TEMPORARY, dan tidak melakukan apa pun kalau tabelnya sudah ada.
+            local.execute("CREATE TEMPORARY TABLE IF NOT EXISTS {0} LIKE {1}", staging, table);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.unwrap(JdbcStatement.class)
+                            .setLocalInfileInputStream(new ByteArrayInputStream(toTsv(lastPerKey(table, records), fields)));
+                    statement.execute("LOAD DATA LOCAL INFILE 'batch.tsv' INTO TABLE `" + staging.last() + "`"
+                            + " CHARACTER SET utf8mb4"
+                            + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'"
+                            + " LINES TERMINATED BY '\\n' (" + columns + ")");
+                }
+                local.insertInto(table, fields)
+                        .select(local.select(Arrays.stream(fields)
+                                        .map(field -> DSL.field(DSL.name(staging.last(), field.getName())))
+                                        .collect(Collectors.toList()))
+                                .from(stagingTable))
+                        .onDuplicateKeyUpdate()
+                        .set(excludedValues(table))
+                        .execute();
+            } finally {
+                // DELETE, bukan TRUNCATE: TRUNCATE tetap melakukan implicit commit walaupun tabelnya TEMPORARY
+                local.deleteFrom(stagingTable).execute();
+            }
+        });
+    }
+
+    /**
+     * LOAD DATA LOCAL memperlakukan key ganda seperti IGNORE (baris pertama yang menang), sedangkan
+     * upsert biasa memakai baris terakhir. Duplikat dibuang di sini supaya hasil semua mode sama.
+     */
+    static <R extends TableRecord<R>> List<R> lastPerKey(Table<R> table, List<R> records) {
+        List<? extends Field<?>> keys = table.getPrimaryKey().getFields();
+        Map<List<Object>, R> unique = new LinkedHashMap<>();
+        for (R record : records) {
+            unique.put(keys.stream().map(record::get).collect(Collectors.toList()), record);
+        }
+        return unique.size() == records.size() ? records : new ArrayList<>(unique.values());
+    }
+
+    private static <R extends TableRecord<R>> Map<Field<?>, Object> updatedValues(Table<R> table, R record) {
+        Map<Field<?>, Object> values = new LinkedHashMap<>();
+        for (Field<?> field : nonKeyFields(table)) {
+            values.put(field, record.get(field));
+        }
+        return values;
+    }
+
+    /**
+     * {@code name = VALUES(name)} untuk setiap kolom non-key. Untuk dialek MySQL 8 jOOQ menuliskannya
+     * dengan row alias ({@code ... AS t ON DUPLICATE KEY UPDATE name = t.name}), pengganti resmi VALUES().
+     */
+    private static Map<Field<?>, Field<?>> excludedValues(Table<?> table) {
+        Map<Field<?>, Field<?>> values = new LinkedHashMap<>();
+        for (Field<?> field : nonKeyFields(table)) {
+            values.put(field, DSL.excluded(field));
+        }
+        return values;
+    }
+
+    private static List<Field<?>> nonKeyFields(Table<?> table) {
+        Set<Field<?>> keys = Set.copyOf(table.getPrimaryKey().getFields());
+        return Arrays.stream(table.fields())
+                .filter(field -> !keys.contains(field))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Format teks untuk LOAD DATA: kolom dipisah tab, baris dipisah newline,
+     * dengan escape backslash untuk tab, newline dan backslash, serta \N untuk NULL.
+     */
+    static <R extends TableRecord<R>> byte[] toTsv(List<R> records, Field<?>[] fields) {
+        StringBuilder tsv = new StringBuilder(records.size() * 48);
+        for (R record : records) {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    tsv.append('\t');
+                }
+                Object value = record.get(fields[i]);
+                if (value == null) {
+                    tsv.append("\\N");
+                } else {
+                    appendEscaped(tsv, value.toString());
+                }
+            }
+            tsv.append('\n');
+        }
+        return tsv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendEscaped(StringBuilder tsv, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> tsv.append("\\\\");
+                case '\t' -> tsv.append("\\t");
+                case '\n' -> tsv.append("\\n");
+                case '\r' -> tsv.append("\\r");
+                default -> tsv.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.dimata.service.dewas.wilayah.orm.core;
+
+/**
+ * Cara {@link BulkUpsertEngine} menulis satu batch ke database.
+ */
+public enum BulkWriteMode {
+
+    /**
+     * Satu statement {@code INSERT ... ON DUPLICATE KEY UPDATE} per baris, dikirim sebagai JDBC batch.
+     */
+    BATCH,
+
+    /**
+     * Satu statement per batch: {@code INSERT ... VALUES (..),(..) ON DUPLICATE KEY UPDATE name = VALUES(name)}.
+     */
+    MULTI_ROW,
+
+    /**
+     * {@code LOAD DATA LOCAL INFILE} ke tabel staging sementara, lalu digabung dengan
+     * {@code INSERT ... SELECT ... ON DUPLICATE KEY UPDATE}. Butuh {@code allowLoadLocalInfile=true}
+     * di URL JDBC dan {@code local_infile=ON} di server MySQL.
+     */
+    LOAD_DATA
+}
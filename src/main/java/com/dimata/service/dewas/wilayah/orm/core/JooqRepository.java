@@ -1,12 +1,93 @@
 package com.dimata.service.dewas.wilayah.orm.core;
 
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionCode;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SelectLimitStep;
+import org.jooq.impl.DSL;
 
 @ApplicationScoped
 public class JooqRepository {
 
     @Inject
     protected DSLContext dsl;  // Menggunakan DSLContext dari JOOQ
+
+    @Inject
+    protected BulkUpsertEngine bulkUpsertEngine;  // Penulis batch import, modenya diatur lewat konfigurasi
+
+    @ConfigProperty(name = "dimata.wilayah.query.strategy", defaultValue = "ID_RANGE")
+    protected QueryStrategy defaultStrategy;
+
+    /**
+     * Strategi yang dipakai untuk satu query.
+     *
+     * @param requested strategi dari request, boleh null.
+     * @return strategi dari request, atau strategi default dari konfigurasi.
+     */
+    protected QueryStrategy strategy(QueryStrategy requested) {
+        return requested != null ? requested : defaultStrategy;
+    }
+
+    /**
+     * Predikat rentang pada primary key untuk semua keturunan {@code ancestorId}.
+     * Kode wilayah disimpan sebagai string angka dengan panjang tetap per level,
+     * jadi urutan string sama dengan urutan angka dan index primary key bisa dipakai langsung.
+     *
+     * @param idField       kolom ID tabel level {@code level}.
+     * @param ancestorId    ID wilayah induk.
+     * @param ancestorLevel level dari {@code ancestorId}.
+     * @param level         level dari tabel yang di-query.
+     * @return kondisi {@code id >= X00.. AND id < (X+1)00..}.
+     */
+    protected Condition descendantOf(Field<String> idField, String ancestorId, RegionLevel ancestorLevel, RegionLevel level) {
+        long ancestor;
+        try {
+            ancestor = RegionCode.encode(ancestorId);
+        } catch (IllegalArgumentException e) {
+            return DSL.falseCondition();
+        }
+        if (ancestorId.length() != ancestorLevel.getDigits()) {
+            // Sama seperti join: ID induk dengan panjang yang salah tidak punya keturunan
+            return DSL.falseCondition();
+        }
+        long lower = RegionCode.descendantLowerBound(ancestor, ancestorLevel, level);
+        long upper = RegionCode.descendantUpperBound(ancestor, ancestorLevel, level);
+
+        Condition condition = idField.ge(RegionCode.decode(lower, level));
+        // Induk dengan kode tertinggi (misalnya 99) tidak punya batas atas dengan jumlah digit yang sama
+        if (Long.toString(upper).length() <= level.getDigits()) {
+            condition = condition.and(idField.lt(RegionCode.decode(upper, level)));
+        }
+        return condition;
+    }
+
+    /**
+     * Kondisi seek untuk keyset pagination: hanya baris dengan ID setelah {@code page.getAfter()}.
+     *
+     * @param idField kolom ID yang dipakai sebagai urutan halaman.
+     * @param page    parameter pagination.
+     * @return kondisi {@code id > after}, atau tanpa kondisi untuk halaman pertama.
+     */
+    protected Condition afterId(Field<String> idField, PageRequest page) {
+        return page.getAfter() == null ? DSL.noCondition() : idField.gt(page.getAfter());
+    }
+
+    /**
+     * Menjalankan query yang sudah diurutkan berdasarkan ID dengan LIMIT sesuai halaman.
+     *
+     * @param query query yang sudah memiliki ORDER BY id.
+     * @param page  parameter pagination.
+     * @return hasil query untuk satu halaman.
+     */
+    protected <R extends Record> Result<R> fetchPage(SelectLimitStep<R> query, PageRequest page) {
+        return page.hasLimit() ? query.limit(page.getLimit()).fetch() : query.fetch();
+    }
 }
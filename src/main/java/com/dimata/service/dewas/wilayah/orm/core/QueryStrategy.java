@@ -0,0 +1,38 @@
+package com.dimata.service.dewas.wilayah.orm.core;
+
+import java.util.Locale;
+
+/**
+ * Strategi query untuk mencari semua keturunan satu wilayah.
+ */
+public enum QueryStrategy {
+
+    /**
+     * Join berantai lewat tabel induk, misalnya villages -> districts -> regencies.
+     */
+    JOIN,
+
+    /**
+     * Predikat rentang pada primary key, memanfaatkan kode anak yang selalu diawali kode induknya.
+     * Misalnya desa di provinsi 33: {@code id >= '3300000000' AND id < '3400000000'}.
+     */
+    ID_RANGE;
+
+    /**
+     * Membaca strategi dari parameter request, misalnya "join", "id_range" atau "id-range".
+     *
+     * @param value nilai parameter, boleh null.
+     * @return strategi yang diminta, atau null kalau parameter kosong.
+     * @throws IllegalArgumentException kalau nilai tidak dikenal.
+     */
+    public static QueryStrategy parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Parameter strategy harus join atau id_range.");
+        }
+    }
+}
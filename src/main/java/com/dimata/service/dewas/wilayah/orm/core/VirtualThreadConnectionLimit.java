@@ -0,0 +1,86 @@
+package com.dimata.service.dewas.wilayah.orm.core;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membatasi jumlah koneksi JDBC yang dipegang virtual thread secara bersamaan.
+ * <p>
+ * Endpoint yang berjalan di virtual thread tidak lagi dibatasi ukuran worker pool, jadi lonjakan request lambat
+ * (misalnya {@code /villages/{provinceId}} tanpa snapshot) bisa memakai seluruh pool koneksi. Batas ini lebih kecil
+ * dari pool, sehingga job import yang berjalan di platform thread tetap mendapat koneksi. Request yang tidak kebagian
+ * izin menunggu paling lama {@code maxWait}, lalu gagal dengan {@link DataAccessException}.
+ */
+public class VirtualThreadConnectionLimit implements ConnectionProvider {
+
+    private final ConnectionProvider delegate;
+    private final int limit;
+    private final Semaphore permits;
+    private final Duration maxWait;
+
+    // Koneksi yang diambil dengan izin; release bisa terjadi di thread lain, misalnya cursor yang ditutup belakangan
+    private final Set<Connection> limited = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param delegate penyedia koneksi asli, biasanya pool datasource.
+     * @param limit    jumlah koneksi maksimal untuk virtual thread.
+     * @param maxWait  lama maksimal menunggu izin.
+     */
+    public VirtualThreadConnectionLimit(ConnectionProvider delegate, int limit, Duration maxWait) {
+        this.delegate = delegate;
+        this.limit = limit;
+        this.permits = new Semaphore(limit, true);
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public Connection acquire() throws DataAccessException {
+        if (!Thread.currentThread().isVirtual()) {
+            return delegate.acquire();
+        }
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new DataAccessException("Semua " + limit + " koneksi database untuk request sedang dipakai, "
+                        + "tidak ada yang kosong dalam " + maxWait.toMillis() + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Menunggu koneksi database terputus.", e);
+        }
+
+        Connection connection;
+        try {
+            connection = delegate.acquire();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        limited.add(connection);
+        return connection;
+    }
+
+    @Override
+    public void release(Connection connection) throws DataAccessException {
+        try {
+            delegate.release(connection);
+        } finally {
+            if (limited.remove(connection)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * @return jumlah koneksi yang masih bisa diambil virtual thread tanpa menunggu.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,38 @@
+package com.dimata.service.dewas.wilayah.orm.core;
+
+import com.dimata.service.dewas.wilayah.metrics.QueryMetrics;
+import io.quarkiverse.jooq.runtime.JooqCustomContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jooq.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Kustomisasi DSLContext aplikasi, dipasang lewat {@code quarkus.jooq.configuration-inject}:
+ * listener {@link QueryMetrics} dan {@link VirtualThreadConnectionLimit}.
+ */
+@ApplicationScoped
+@Named("wilayahJooqContext")
+public class WilayahJooqContext implements JooqCustomContext {
+
+    @Inject
+    QueryMetrics queryMetrics;
+
+    @ConfigProperty(name = "dimata.wilayah.db.virtual-thread-connections", defaultValue = "16")
+    int virtualThreadConnections;
+
+    @ConfigProperty(name = "dimata.wilayah.db.virtual-thread-wait", defaultValue = "PT5S")
+    Duration virtualThreadWait;
+
+    @Override
+    public void apply(Configuration configuration) {
+        queryMetrics.apply(configuration);
+        if (virtualThreadConnections > 0) {
+            configuration.set(new VirtualThreadConnectionLimit(
+                    configuration.connectionProvider(), virtualThreadConnections, virtualThreadWait));
+        }
+    }
+}
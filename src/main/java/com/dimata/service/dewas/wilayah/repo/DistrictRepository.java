@@ -1,35 +1,96 @@
 package com.dimata.service.dewas.wilayah.repo;
 
+import com.dimata.service.dewas.wilayah.jooq.gen.tables.records.DistrictsRecord;
 import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
 import com.dimata.service.dewas.wilayah.orm.core.JooqRepository;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.Record3;
+import org.jooq.RecordMapper;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.DISTRICTS;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.REGENCIES;
+
 @ApplicationScoped
 public class DistrictRepository extends JooqRepository {
 
+    // Mapping berdasarkan posisi kolom (id, regency_id, name), tanpa lookup nama field
+    private static final RecordMapper<Record3<String, String, String>, District> DISTRICT_MAPPER =
+            record -> new District(record.value1(), record.value2(), record.value3());
+
     /**
      * Mengambil semua data kecamatan tanpa filter.
      * @return List berisi semua data kecamatan.
      */
     public List<District> findAllDistricts() {
-        var districtsTable = org.jooq.impl.DSL.table("districts");
-        var districtIdField = org.jooq.impl.DSL.field("id", String.class);
-        var regencyIdField = org.jooq.impl.DSL.field("regency_id", String.class);
-        var districtNameField = org.jooq.impl.DSL.field("name", String.class);
-
-        // Query untuk mengambil semua data kecamatan
-        var records = dsl.select(districtIdField, regencyIdField, districtNameField)
-                .from(districtsTable)
-                .fetch();
-
-        // Map hasil query ke objek District
-        return records.stream().map(record -> new District(
-                record.get(districtIdField),
-                record.get(regencyIdField),
-                record.get(districtNameField)
-        )).collect(Collectors.toList());
+        return findAllDistricts(PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data kecamatan dengan keyset pagination (seek pada kolom id, bukan OFFSET).
+     *
+     * @param page parameter pagination.
+     * @return List berisi data kecamatan dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<District> findAllDistricts(PageRequest page) {
+        // Query untuk mengambil data kecamatan
+        return fetchPage(dsl.select(DISTRICTS.ID, DISTRICTS.REGENCY_ID, DISTRICTS.NAME)
+                .from(DISTRICTS)
+                .where(afterId(DISTRICTS.ID, page))
+                .orderBy(DISTRICTS.ID), page)
+                .map(DISTRICT_MAPPER);
+    }
+
+    /**
+     * Membaca semua data kecamatan memakai cursor dan menyerahkannya satu per satu ke {@code consumer},
+     * tanpa menampung seluruh hasil di memori. Dipakai untuk response yang di-stream.
+     *
+     * @param consumer penerima setiap data kecamatan sesuai urutan ID.
+     */
+    public void forEachDistrict(Consumer<District> consumer) {
+        // fetchSize Integer.MIN_VALUE membuat driver MySQL mengalirkan baris, bukan membaca semuanya dulu
+        try (var cursor = dsl.select(DISTRICTS.ID, DISTRICTS.REGENCY_ID, DISTRICTS.NAME)
+                .from(DISTRICTS)
+                .orderBy(DISTRICTS.ID)
+                .fetchSize(Integer.MIN_VALUE)
+                .fetchLazy()) {
+            for (var record : cursor) {
+                consumer.accept(DISTRICT_MAPPER.map(record));
+            }
+        }
+    }
+
+    /**
+     * Mengecek apakah tabel districts berisi data.
+     *
+     * @return true kalau minimal ada satu kecamatan.
+     */
+    public boolean existsAny() {
+        return dsl.fetchExists(DISTRICTS);
+    }
+
+    /**
+     * Mengambil banyak data kecamatan sekaligus dengan satu query {@code WHERE id IN (...)}.
+     * ID yang tidak ada di tabel dilewati saja.
+     *
+     * @param ids ID kecamatan yang dicari.
+     * @return List of District yang ditemukan, tanpa urutan tertentu.
+     */
+    public List<District> findByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return dsl.select(DISTRICTS.ID, DISTRICTS.REGENCY_ID, DISTRICTS.NAME)
+                .from(DISTRICTS)
+                .where(DISTRICTS.ID.in(ids))
+                .fetch(DISTRICT_MAPPER);
     }
 
     /**
@@ -40,55 +101,86 @@ public class DistrictRepository extends JooqRepository {
      * @return List of Districts yang terkait dengan ID provinsi.
      */
     public List<District> findByProvinceId(String provinceId) {
-        // Inisiasi nama tabel dan kolom
-        var districtsTable = org.jooq.impl.DSL.table("districts");
-        var regenciesTable = org.jooq.impl.DSL.table("regencies");
+        return findByProvinceId(provinceId, PageRequest.all());
+    }
 
-        var districtIdField = org.jooq.impl.DSL.field("districts.id", String.class);
-        var regencyIdField = org.jooq.impl.DSL.field("districts.regency_id", String.class);
-        var districtNameField = org.jooq.impl.DSL.field("districts.name", String.class);
-        var provinceIdField = org.jooq.impl.DSL.field("regencies.province_id", String.class);
-        var regencyIdJoinField = org.jooq.impl.DSL.field("regencies.id", String.class);
+    /**
+     * Mencari satu halaman kecamatan berdasarkan ID provinsi dengan keyset pagination.
+     *
+     * @param provinceId ID provinsi yang digunakan sebagai filter.
+     * @param page       parameter pagination.
+     * @return List of Districts dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<District> findByProvinceId(String provinceId, PageRequest page) {
+        return findByProvinceId(provinceId, page, null);
+    }
+
+    /**
+     * Mencari satu halaman kecamatan berdasarkan ID provinsi dengan strategi query tertentu.
+     * {@link QueryStrategy#ID_RANGE} memakai rentang primary key tanpa join,
+     * {@link QueryStrategy#JOIN} memakai join ke tabel regencies.
+     *
+     * @param provinceId ID provinsi yang digunakan sebagai filter.
+     * @param page       parameter pagination.
+     * @param strategy   strategi query, null untuk memakai konfigurasi default.
+     * @return List of Districts dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<District> findByProvinceId(String provinceId, PageRequest page, QueryStrategy strategy) {
+        if (strategy(strategy) == QueryStrategy.ID_RANGE) {
+            return fetchPage(dsl.select(DISTRICTS.ID, DISTRICTS.REGENCY_ID, DISTRICTS.NAME)
+                    .from(DISTRICTS)
+                    .where(descendantOf(DISTRICTS.ID, provinceId, RegionLevel.PROVINCE, RegionLevel.DISTRICT))
+                    .and(afterId(DISTRICTS.ID, page))
+                    .orderBy(DISTRICTS.ID), page)
+                    .map(DISTRICT_MAPPER);
+        }
 
         // Eksekusi query dengan join antar tabel districts dan regencies
-        var records = dsl.select(districtIdField, regencyIdField, districtNameField)
-                .from(districtsTable)
-                .join(regenciesTable).on(regencyIdField.eq(regencyIdJoinField))
-                .where(provinceIdField.eq(provinceId))
-                .fetch();
-
-        // Mapping hasil query ke objek District
-        return records.map(record -> new District(
-                record.value1(),
-                record.value2(),
-                record.value3()
-        ));
+        return fetchPage(dsl.select(DISTRICTS.ID, DISTRICTS.REGENCY_ID, DISTRICTS.NAME)
+                .from(DISTRICTS)
+                .join(REGENCIES).on(DISTRICTS.REGENCY_ID.eq(REGENCIES.ID))
+                .where(REGENCIES.PROVINCE_ID.eq(provinceId))
+                .and(afterId(DISTRICTS.ID, page))
+                .orderBy(DISTRICTS.ID), page)
+                .map(DISTRICT_MAPPER);
+    }
+
+    /**
+     * Mencari satu halaman kecamatan berdasarkan ID kabupaten.
+     * Filter langsung ke kolom induk regency_id tanpa join, cukup satu range scan pada index regency_id.
+     *
+     * @param regencyId ID kabupaten yang digunakan sebagai filter.
+     * @param page      parameter pagination.
+     * @return List of Districts dalam kabupaten tersebut, urut berdasarkan ID.
+     */
+    public List<District> findByRegencyId(String regencyId, PageRequest page) {
+        return fetchPage(dsl.select(DISTRICTS.ID, DISTRICTS.REGENCY_ID, DISTRICTS.NAME)
+                .from(DISTRICTS)
+                .where(DISTRICTS.REGENCY_ID.eq(regencyId))
+                .and(afterId(DISTRICTS.ID, page))
+                .orderBy(DISTRICTS.ID), page)
+                .map(DISTRICT_MAPPER);
     }
 
     /**
      * Melakukan upsert (insert atau update jika sudah ada) pada tabel districts dalam jumlah besar.
-     * Menggunakan batch processing untuk efisiensi.
+     * Cara penulisannya (batch, multi-row atau LOAD DATA) mengikuti konfigurasi BulkUpsertEngine.
      *
      * @param districts List of Districts untuk diinsert atau diupdate.
      */
     public void bulkUpsert(List<District> districts) {
-        var districtsTable = org.jooq.impl.DSL.table("districts");
-        var idField = org.jooq.impl.DSL.field("id");
-        var regencyIdField = org.jooq.impl.DSL.field("regency_id");
-        var nameField = org.jooq.impl.DSL.field("name");
-
-        // Menyusun batch insert atau update dengan penggunaan parallel stream untuk performa
-        dsl.batch(
-                districts.parallelStream()
-                        .map(district ->
-                                dsl.insertInto(districtsTable)
-                                        .set(idField, district.getId())
-                                        .set(regencyIdField, district.getRegencyId())
-                                        .set(nameField, district.getName())
-                                        .onDuplicateKeyUpdate()
-                                        .set(regencyIdField, district.getRegencyId())
-                                        .set(nameField, district.getName())
-                        ).collect(Collectors.toList())
-        ).execute();
+        bulkUpsertEngine.upsert(DISTRICTS, districts.stream()
+                .map(district -> new DistrictsRecord(district.getId(), district.getRegencyId(), district.getName()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Menghapus data kecamatan berdasarkan daftar ID, dipakai import delta untuk baris yang sudah tidak ada di CSV.
+     *
+     * @param ids ID kecamatan yang dihapus.
+     * @return jumlah baris yang terhapus.
+     */
+    public int deleteByIds(List<String> ids) {
+        return ids.isEmpty() ? 0 : dsl.deleteFrom(DISTRICTS).where(DISTRICTS.ID.in(ids)).execute();
     }
 }
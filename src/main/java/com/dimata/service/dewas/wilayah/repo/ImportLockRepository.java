@@ -0,0 +1,134 @@
+package com.dimata.service.dewas.wilayah.repo;
+
+import com.dimata.service.dewas.wilayah.orm.core.JooqRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.DatePart;
+import org.jooq.Record1;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.REGION_IMPORT_LOCK;
+import static org.jooq.impl.DSL.constraint;
+import static org.jooq.impl.DSL.currentLocalDateTime;
+import static org.jooq.impl.DSL.localDateTimeAdd;
+
+/**
+ * Lock antar node berbasis tabel region_import_lock. Lock dipegang sampai {@code locked_until},
+ * jadi node yang mati di tengah import tidak mengunci selamanya. Semua waktu memakai jam database
+ * supaya perbedaan jam antar node tidak berpengaruh.
+ * <p>
+ * Tabelnya dibuat sendiri (CREATE TABLE IF NOT EXISTS) sebelum query pertama, karena schema.sql
+ * hanya dipakai untuk codegen dan database yang sudah berjalan belum punya tabel ini.
+ */
+@ApplicationScoped
+public class ImportLockRepository extends JooqRepository {
+
+    private final AtomicBoolean tableReady = new AtomicBoolean();
+
+    /**
+     * Mencoba mengambil lock. Berhasil kalau lock belum dipegang, sudah kedaluwarsa,
+     * atau sedang dipegang oleh {@code owner} sendiri (diperpanjang).
+     *
+     * @param name  nama lock.
+     * @param owner identitas node.
+     * @param ttl   lama lock berlaku sebelum dianggap ditinggalkan.
+     * @return true kalau lock didapat.
+     */
+    public boolean tryAcquire(String name, String owner, Duration ttl) {
+        ensureTable();
+        // Baris baru dibuat dalam keadaan kedaluwarsa, lalu diambil dengan UPDATE bersyarat di bawah
+        dsl.insertInto(REGION_IMPORT_LOCK)
+                .set(REGION_IMPORT_LOCK.NAME, name)
+                .set(REGION_IMPORT_LOCK.OWNER, owner)
+                .set(REGION_IMPORT_LOCK.LOCKED_UNTIL, currentLocalDateTime())
+                .onDuplicateKeyIgnore()
+                .execute();
+
+        return dsl.update(REGION_IMPORT_LOCK)
+                .set(REGION_IMPORT_LOCK.OWNER, owner)
+                .set(REGION_IMPORT_LOCK.LOCKED_UNTIL, localDateTimeAdd(currentLocalDateTime(), ttl.toSeconds(), DatePart.SECOND))
+                .where(REGION_IMPORT_LOCK.NAME.eq(name))
+                .and(REGION_IMPORT_LOCK.LOCKED_UNTIL.le(currentLocalDateTime())
+                        .or(REGION_IMPORT_LOCK.OWNER.eq(owner)))
+                .execute() == 1;
+    }
+
+    /**
+     * Memperpanjang lock yang masih dipegang {@code owner} sampai {@code ttl} dari sekarang.
+     *
+     * @param name  nama lock.
+     * @param owner identitas node.
+     * @param ttl   lama lock berlaku sebelum dianggap ditinggalkan.
+     * @return false kalau lock sudah diambil node lain.
+     */
+    public boolean renew(String name, String owner, Duration ttl) {
+        ensureTable();
+        return dsl.update(REGION_IMPORT_LOCK)
+                .set(REGION_IMPORT_LOCK.LOCKED_UNTIL, localDateTimeAdd(currentLocalDateTime(), ttl.toSeconds(), DatePart.SECOND))
+                .where(REGION_IMPORT_LOCK.NAME.eq(name))
+                .and(REGION_IMPORT_LOCK.OWNER.eq(owner))
+                .execute() == 1;
+    }
+
+    /**
+     * Checksum data yang terakhir berhasil diimpor, disimpan bersama lock supaya sama untuk semua node.
+     *
+     * @param name nama lock.
+     * @return checksum, atau kosong kalau belum pernah ada import yang tercatat.
+     */
+    public Optional<String> importedChecksum(String name) {
+        ensureTable();
+        return dsl.select(REGION_IMPORT_LOCK.IMPORTED_CHECKSUM)
+                .from(REGION_IMPORT_LOCK)
+                .where(REGION_IMPORT_LOCK.NAME.eq(name))
+                .fetchOptional()
+                .map(Record1::value1);
+    }
+
+    /**
+     * Mencatat checksum data yang baru saja berhasil diimpor.
+     *
+     * @param name     nama lock.
+     * @param checksum checksum gabungan file CSV yang diimpor.
+     */
+    public void markImported(String name, String checksum) {
+        ensureTable();
+        dsl.update(REGION_IMPORT_LOCK)
+                .set(REGION_IMPORT_LOCK.IMPORTED_CHECKSUM, checksum)
+                .where(REGION_IMPORT_LOCK.NAME.eq(name))
+                .execute();
+    }
+
+    /**
+     * Melepas lock kalau masih dipegang oleh {@code owner}.
+     *
+     * @param name  nama lock.
+     * @param owner identitas node.
+     */
+    public void release(String name, String owner) {
+        ensureTable();
+        dsl.update(REGION_IMPORT_LOCK)
+                .set(REGION_IMPORT_LOCK.LOCKED_UNTIL, currentLocalDateTime())
+                .where(REGION_IMPORT_LOCK.NAME.eq(name))
+                .and(REGION_IMPORT_LOCK.OWNER.eq(owner))
+                .execute();
+    }
+
+    /**
+     * Membuat tabel region_import_lock kalau belum ada, sekali per instance. Kalau gagal, misalnya
+     * database belum siap, exception diteruskan ke pemanggil dan pembuatan dicoba lagi pada query berikutnya.
+     */
+    private void ensureTable() {
+        if (tableReady.get()) {
+            return;
+        }
+        // Idempotent, jadi node yang start bersamaan boleh menjalankannya berbarengan
+        dsl.createTableIfNotExists(REGION_IMPORT_LOCK)
+                .columns(REGION_IMPORT_LOCK.fields())
+                .constraint(constraint("pk_region_import_lock").primaryKey(REGION_IMPORT_LOCK.NAME))
+                .execute();
+        tableReady.set(true);
+    }
+}
@@ -1,33 +1,48 @@
 package com.dimata.service.dewas.wilayah.repo;
 
+import com.dimata.service.dewas.wilayah.jooq.gen.tables.records.ProvincesRecord;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
 import com.dimata.service.dewas.wilayah.model.Province;
 import com.dimata.service.dewas.wilayah.orm.core.JooqRepository;
 import jakarta.enterprise.context.ApplicationScoped;
-import org.jooq.Record;
+import org.jooq.Record2;
+import org.jooq.RecordMapper;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.PROVINCES;
+
 @ApplicationScoped
 public class ProvinceRepository extends JooqRepository {
 
+    // Mapping berdasarkan posisi kolom (id, name), tanpa lookup nama field
+    private static final RecordMapper<Record2<String, String>, Province> PROVINCE_MAPPER =
+            record -> new Province(record.value1(), record.value2());
+
     /**
      * Mengambil semua data provinsi dari tabel provinces.
      *
      * @return List of Province berisi semua data provinsi.
      */
     public List<Province> findAll() {
-        // Query untuk mengambil semua data dari tabel provinces
-        return dsl.select()
-                .from("provinces")
-                .fetch()
-                .map(record -> {
-                    Province province = new Province();
-                    province.setId(record.get("id", String.class));
-                    province.setName(record.get("name", String.class));
-                    return province;
-                });
+        return findAll(PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data provinsi dengan keyset pagination (seek pada kolom id, bukan OFFSET).
+     *
+     * @param page parameter pagination.
+     * @return List of Province dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<Province> findAll(PageRequest page) {
+        return fetchPage(dsl.select(PROVINCES.ID, PROVINCES.NAME)
+                .from(PROVINCES)
+                .where(afterId(PROVINCES.ID, page))
+                .orderBy(PROVINCES.ID), page)
+                .map(PROVINCE_MAPPER);
     }
 
     /**
@@ -39,44 +54,57 @@ public class ProvinceRepository extends JooqRepository {
      */
     public Optional<Province> findById(String id) {
         // Query untuk mengambil data provinsi berdasarkan ID
-        Record record = dsl.select()
-                .from("provinces")
-                .where("id = ?", id)
-                .fetchOne();
+        return dsl.select(PROVINCES.ID, PROVINCES.NAME)
+                .from(PROVINCES)
+                .where(PROVINCES.ID.eq(id))
+                .fetchOptional(PROVINCE_MAPPER);
+    }
 
-        // Kalau record tidak ditemukan, kembalikan Optional kosong
-        if (record == null) {
-            return Optional.empty();
-        }
+    /**
+     * Mengecek apakah tabel provinces berisi data.
+     *
+     * @return true kalau minimal ada satu provinsi.
+     */
+    public boolean existsAny() {
+        return dsl.fetchExists(PROVINCES);
+    }
 
-        // Map hasil query ke objek Province
-        Province province = new Province();
-        province.setId(record.get("id", String.class));
-        province.setName(record.get("name", String.class));
-        return Optional.of(province);
+    /**
+     * Mengambil banyak data provinsi sekaligus dengan satu query {@code WHERE id IN (...)}.
+     * ID yang tidak ada di tabel dilewati saja.
+     *
+     * @param ids ID provinsi yang dicari.
+     * @return List of Province yang ditemukan, tanpa urutan tertentu.
+     */
+    public List<Province> findByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return dsl.select(PROVINCES.ID, PROVINCES.NAME)
+                .from(PROVINCES)
+                .where(PROVINCES.ID.in(ids))
+                .fetch(PROVINCE_MAPPER);
     }
 
     /**
      * Melakukan upsert (insert atau update jika sudah ada) pada tabel provinces dalam jumlah besar.
-     * Menggunakan batch processing untuk efisiensi.
+     * Cara penulisannya (batch, multi-row atau LOAD DATA) mengikuti konfigurasi BulkUpsertEngine.
      *
      * @param provinces List of Province untuk diinsert atau diupdate.
      */
     public void bulkUpsert(List<Province> provinces) {
-        var provincesTable = org.jooq.impl.DSL.table("provinces");
-        var idField = org.jooq.impl.DSL.field("id");
-        var nameField = org.jooq.impl.DSL.field("name");
+        bulkUpsertEngine.upsert(PROVINCES, provinces.stream()
+                .map(province -> new ProvincesRecord(province.getId(), province.getName()))
+                .collect(Collectors.toList()));
+    }
 
-        // Menggunakan parallel stream dan batch processing
-        dsl.batch(
-                provinces.parallelStream()
-                        .map(province ->
-                                dsl.insertInto(provincesTable)
-                                        .set(idField, province.getId())
-                                        .set(nameField, province.getName())
-                                        .onDuplicateKeyUpdate()
-                                        .set(nameField, province.getName())
-                        ).collect(Collectors.toList())
-        ).execute();
+    /**
+     * Menghapus data provinsi berdasarkan daftar ID, dipakai import delta untuk baris yang sudah tidak ada di CSV.
+     *
+     * @param ids ID provinsi yang dihapus.
+     * @return jumlah baris yang terhapus.
+     */
+    public int deleteByIds(List<String> ids) {
+        return ids.isEmpty() ? 0 : dsl.deleteFrom(PROVINCES).where(PROVINCES.ID.in(ids)).execute();
     }
 }
@@ -0,0 +1,132 @@
+package com.dimata.service.dewas.wilayah.repo;
+
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.orm.core.JooqRepository;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.mysqlclient.MySQLPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.SelectLimitStep;
+import org.jooq.conf.ParamType;
+
+import java.util.function.Function;
+
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.DISTRICTS;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.PROVINCES;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.REGENCIES;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.VILLAGES;
+
+/**
+ * Query baca wilayah lewat client MySQL reaktif Vert.x, tanpa memblokir thread.
+ * <p>
+ * SQL tetap dibangun dengan DSL jOOQ seperti repository lain (kondisi {@link #descendantOf} dan
+ * {@link #afterId} yang sama), lalu hanya di-render; eksekusinya lewat pool reaktif, bukan JDBC.
+ * Baris dibaca dengan cursor prepared statement per {@code fetch-size} baris dan dikirim ke
+ * {@link Multi} begitu tiba, dengan backpressure dari subscriber: cursor baru diminta lagi setelah
+ * baris sebelumnya dikonsumsi. Query keturunan selalu memakai strategi {@code ID_RANGE}.
+ */
+@ApplicationScoped
+public class ReactiveRegionRepository extends JooqRepository {
+
+    @Inject
+    MySQLPool pool;
+
+    @ConfigProperty(name = "dimata.wilayah.reactive.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    /**
+     * Mengalirkan satu halaman data provinsi, urut berdasarkan ID.
+     *
+     * @param page parameter pagination.
+     * @return Multi berisi data provinsi.
+     */
+    public Multi<Province> findAllProvinces(PageRequest page) {
+        return stream(page(dsl.select(PROVINCES.ID, PROVINCES.NAME)
+                .from(PROVINCES)
+                .where(afterId(PROVINCES.ID, page))
+                .orderBy(PROVINCES.ID), page),
+                row -> new Province(row.getString(0), row.getString(1)));
+    }
+
+    /**
+     * Mengalirkan data kabupaten dalam satu provinsi, urut berdasarkan ID.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param page       parameter pagination.
+     * @return Multi berisi data kabupaten.
+     */
+    public Multi<Regency> findRegenciesByProvinceId(String provinceId, PageRequest page) {
+        return stream(page(dsl.select(REGENCIES.ID, REGENCIES.PROVINCE_ID, REGENCIES.NAME)
+                .from(REGENCIES)
+                .where(REGENCIES.PROVINCE_ID.eq(provinceId))
+                .and(afterId(REGENCIES.ID, page))
+                .orderBy(REGENCIES.ID), page),
+                row -> new Regency(row.getString(0), row.getString(1), row.getString(2)));
+    }
+
+    /**
+     * Mengalirkan data kecamatan dalam satu provinsi lewat rentang primary key, urut berdasarkan ID.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param page       parameter pagination.
+     * @return Multi berisi data kecamatan.
+     */
+    public Multi<District> findDistrictsByProvinceId(String provinceId, PageRequest page) {
+        return stream(page(dsl.select(DISTRICTS.ID, DISTRICTS.REGENCY_ID, DISTRICTS.NAME)
+                .from(DISTRICTS)
+                .where(descendantOf(DISTRICTS.ID, provinceId, RegionLevel.PROVINCE, RegionLevel.DISTRICT))
+                .and(afterId(DISTRICTS.ID, page))
+                .orderBy(DISTRICTS.ID), page),
+                row -> new District(row.getString(0), row.getString(1), row.getString(2)));
+    }
+
+    /**
+     * Mengalirkan data desa dalam satu provinsi lewat rentang primary key, urut berdasarkan ID.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param page       parameter pagination.
+     * @return Multi berisi data desa.
+     */
+    public Multi<Village> findVillagesByProvinceId(String provinceId, PageRequest page) {
+        return stream(page(dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                .from(VILLAGES)
+                .where(descendantOf(VILLAGES.ID, provinceId, RegionLevel.PROVINCE, RegionLevel.VILLAGE))
+                .and(afterId(VILLAGES.ID, page))
+                .orderBy(VILLAGES.ID), page),
+                row -> new Village(row.getString(0), row.getString(1), row.getString(2)));
+    }
+
+    /**
+     * Padanan {@link #fetchPage} tanpa eksekusi: LIMIT ditambahkan kalau halaman dibatasi.
+     */
+    private static <R extends Record> Query page(SelectLimitStep<R> query, PageRequest page) {
+        return page.hasLimit() ? query.limit(page.getLimit()) : query;
+    }
+
+    /**
+     * Menjalankan query di satu koneksi pool reaktif dan mengalirkan hasilnya.
+     * Statement ditutup dan koneksi dikembalikan ke pool saat stream selesai, gagal, atau dibatalkan subscriber.
+     *
+     * @param query  query jOOQ, dirender dengan placeholder {@code ?}.
+     * @param mapper mapping berdasarkan posisi kolom.
+     */
+    private <T> Multi<T> stream(Query query, Function<Row, T> mapper) {
+        String sql = query.getSQL(ParamType.INDEXED);
+        Tuple params = Tuple.from(query.getBindValues());
+        return pool.getConnection().onItem().transformToMulti(connection -> connection.prepare(sql)
+                        .onItem().transformToMulti(statement -> statement.createStream(fetchSize, params).toMulti()
+                                .onTermination().call(statement::close))
+                        .onTermination().call(connection::close))
+                .map(mapper);
+    }
+}
@@ -1,32 +1,47 @@
 package com.dimata.service.dewas.wilayah.repo;
 
+import com.dimata.service.dewas.wilayah.jooq.gen.tables.records.RegenciesRecord;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
 import com.dimata.service.dewas.wilayah.model.Regency;
 import com.dimata.service.dewas.wilayah.orm.core.JooqRepository;
 import jakarta.enterprise.context.ApplicationScoped;
-import org.jooq.Record;
-import org.jooq.Result;
+import org.jooq.Record3;
+import org.jooq.RecordMapper;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.REGENCIES;
+
 @ApplicationScoped
 public class RegencyRepository extends JooqRepository {
 
+    // Mapping berdasarkan posisi kolom (id, province_id, name), tanpa lookup nama field
+    private static final RecordMapper<Record3<String, String, String>, Regency> REGENCY_MAPPER =
+            record -> new Regency(record.value1(), record.value2(), record.value3());
+
     /**
      * Mengambil semua data kabupaten dari tabel regencies.
      *
      * @return List of Regency berisi semua data kabupaten.
      */
     public List<Regency> findAll() {
-        // Query untuk mengambil semua data dari tabel regencies
-        return dsl.select()
-                .from("regencies")
-                .fetch()
-                .map(record -> new Regency(
-                        record.get("id", String.class),
-                        record.get("province_id", String.class),
-                        record.get("name", String.class)
-                ));
+        return findAll(PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data kabupaten dengan keyset pagination (seek pada kolom id, bukan OFFSET).
+     *
+     * @param page parameter pagination.
+     * @return List of Regency dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<Regency> findAll(PageRequest page) {
+        return fetchPage(dsl.select(REGENCIES.ID, REGENCIES.PROVINCE_ID, REGENCIES.NAME)
+                .from(REGENCIES)
+                .where(afterId(REGENCIES.ID, page))
+                .orderBy(REGENCIES.ID), page)
+                .map(REGENCY_MAPPER);
     }
 
     /**
@@ -37,18 +52,50 @@ public class RegencyRepository extends JooqRepository {
      * @return List berisi data kabupaten yang ada di provinsi tersebut.
      */
     public List<Regency> findByProvinceId(String provinceId) {
+        return findByProvinceId(provinceId, PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data kabupaten berdasarkan ID provinsi dengan keyset pagination.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param page       parameter pagination.
+     * @return List berisi data kabupaten dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<Regency> findByProvinceId(String provinceId, PageRequest page) {
         // Query untuk mengambil data kabupaten berdasarkan ID provinsi
-        Result<Record> records = dsl.select()
-                .from("regencies")
-                .where("province_id = ?", provinceId)
-                .fetch();
+        return fetchPage(dsl.select(REGENCIES.ID, REGENCIES.PROVINCE_ID, REGENCIES.NAME)
+                .from(REGENCIES)
+                .where(REGENCIES.PROVINCE_ID.eq(provinceId))
+                .and(afterId(REGENCIES.ID, page))
+                .orderBy(REGENCIES.ID), page)
+                .map(REGENCY_MAPPER);
+    }
 
-        // Map hasil query ke objek Regency
-        return records.map(record -> new Regency(
-                record.get("id", String.class),
-                record.get("province_id", String.class),
-                record.get("name", String.class)
-        ));
+    /**
+     * Mengecek apakah tabel regencies berisi data.
+     *
+     * @return true kalau minimal ada satu kabupaten.
+     */
+    public boolean existsAny() {
+        return dsl.fetchExists(REGENCIES);
+    }
+
+    /**
+     * Mengambil banyak data kabupaten sekaligus dengan satu query {@code WHERE id IN (...)}.
+     * ID yang tidak ada di tabel dilewati saja.
+     *
+     * @param ids ID kabupaten yang dicari.
+     * @return List of Regency yang ditemukan, tanpa urutan tertentu.
+     */
+    public List<Regency> findByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return dsl.select(REGENCIES.ID, REGENCIES.PROVINCE_ID, REGENCIES.NAME)
+                .from(REGENCIES)
+                .where(REGENCIES.ID.in(ids))
+                .fetch(REGENCY_MAPPER);
     }
 
     /**
@@ -57,22 +104,18 @@ public class RegencyRepository extends JooqRepository {
      * @param regencies List of Regency untuk diinsert atau diupdate.
      */
     public void bulkUpsert(List<Regency> regencies) {
-        var regenciesTable = org.jooq.impl.DSL.table("regencies");
-        var idField = org.jooq.impl.DSL.field("id");
-        var provinceIdField = org.jooq.impl.DSL.field("province_id");
-        var nameField = org.jooq.impl.DSL.field("name");
+        bulkUpsertEngine.upsert(REGENCIES, regencies.stream()
+                .map(regency -> new RegenciesRecord(regency.getId(), regency.getProvinceId(), regency.getName()))
+                .collect(Collectors.toList()));
+    }
 
-        dsl.batch(
-                regencies.parallelStream()
-                        .map(regency ->
-                                dsl.insertInto(regenciesTable)
-                                        .set(idField, regency.getId())
-                                        .set(provinceIdField, regency.getProvinceId())
-                                        .set(nameField, regency.getName())
-                                        .onDuplicateKeyUpdate()
-                                        .set(provinceIdField, regency.getProvinceId())
-                                        .set(nameField, regency.getName())
-                        ).collect(Collectors.toList())
-        ).execute();
+    /**
+     * Menghapus data kabupaten berdasarkan daftar ID, dipakai import delta untuk baris yang sudah tidak ada di CSV.
+     *
+     * @param ids ID kabupaten yang dihapus.
+     * @return jumlah baris yang terhapus.
+     */
+    public int deleteByIds(List<String> ids) {
+        return ids.isEmpty() ? 0 : dsl.deleteFrom(REGENCIES).where(REGENCIES.ID.in(ids)).execute();
     }
 }
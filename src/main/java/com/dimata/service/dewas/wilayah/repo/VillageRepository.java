@@ -1,36 +1,98 @@
 package com.dimata.service.dewas.wilayah.repo;
 
+import com.dimata.service.dewas.wilayah.jooq.gen.tables.records.VillagesRecord;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
 import com.dimata.service.dewas.wilayah.model.Village;
 import com.dimata.service.dewas.wilayah.orm.core.JooqRepository;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.Record3;
+import org.jooq.RecordMapper;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.DISTRICTS;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.REGENCIES;
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.VILLAGES;
+
 @ApplicationScoped
 public class VillageRepository extends JooqRepository {
 
+    // Mapping berdasarkan posisi kolom (id, district_id, name), tanpa lookup nama field
+    private static final RecordMapper<Record3<String, String, String>, Village> VILLAGE_MAPPER =
+            record -> new Village(record.value1(), record.value2(), record.value3());
+
     /**
      * Mengambil semua data desa tanpa filter.
      * @return List berisi semua data desa.
      */
     public List<Village> findAll() {
-        var villagesTable = org.jooq.impl.DSL.table("villages");
-        var villageIdField = org.jooq.impl.DSL.field("id", String.class);
-        var districtIdField = org.jooq.impl.DSL.field("district_id", String.class);
-        var villageNameField = org.jooq.impl.DSL.field("name", String.class);
-
-        // Query untuk mengambil semua data desa
-        var records = dsl.select(villageIdField, districtIdField, villageNameField)
-                .from(villagesTable)
-                .fetch();
-
-        // Map hasil query ke objek Village
-        return records.stream().map(record -> new Village(
-                record.get(villageIdField),
-                record.get(districtIdField),
-                record.get(villageNameField)
-        )).collect(Collectors.toList());
+        return findAll(PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data desa dengan keyset pagination (seek pada kolom id, bukan OFFSET).
+     *
+     * @param page parameter pagination.
+     * @return List berisi data desa dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<Village> findAll(PageRequest page) {
+        // Query untuk mengambil data desa
+        return fetchPage(dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                .from(VILLAGES)
+                .where(afterId(VILLAGES.ID, page))
+                .orderBy(VILLAGES.ID), page)
+                .map(VILLAGE_MAPPER);
+    }
+
+    /**
+     * Membaca semua data desa memakai cursor dan menyerahkannya satu per satu ke {@code consumer},
+     * tanpa menampung seluruh hasil di memori. Dipakai untuk response yang di-stream.
+     *
+     * @param consumer penerima setiap data desa sesuai urutan ID.
+     */
+    public void forEachVillage(Consumer<Village> consumer) {
+        // fetchSize Integer.MIN_VALUE membuat driver MySQL mengalirkan baris, bukan membaca semuanya dulu
+        try (var cursor = dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                .from(VILLAGES)
+                .orderBy(VILLAGES.ID)
+                .fetchSize(Integer.MIN_VALUE)
+                .fetchLazy()) {
+            for (var record : cursor) {
+                consumer.accept(VILLAGE_MAPPER.map(record));
+            }
+        }
+    }
+
+    /**
+     * Mengecek apakah tabel villages berisi data.
+     *
+     * @return true kalau minimal ada satu desa.
+     */
+    public boolean existsAny() {
+        return dsl.fetchExists(VILLAGES);
+    }
+
+    /**
+     * Mengambil banyak data desa sekaligus dengan satu query {@code WHERE id IN (...)}.
+     * ID yang tidak ada di tabel dilewati saja.
+     *
+     * @param ids ID desa yang dicari.
+     * @return List of Village yang ditemukan, tanpa urutan tertentu.
+     */
+    public List<Village> findByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                .from(VILLAGES)
+                .where(VILLAGES.ID.in(ids))
+                .fetch(VILLAGE_MAPPER);
     }
 
     /**
@@ -42,32 +104,79 @@ public class VillageRepository extends JooqRepository {
      * @return List berisi data desa yang ada di provinsi tersebut.
      */
     public List<Village> findByProvinceId(String provinceId) {
-        // Deklarasi tabel dan field yang digunakan dengan jelas
-        var villagesTable = org.jooq.impl.DSL.table("villages");
-        var districtsTable = org.jooq.impl.DSL.table("districts");
-        var regenciesTable = org.jooq.impl.DSL.table("regencies");
-
-        var villageIdField = org.jooq.impl.DSL.field("villages.id", String.class);
-        var districtIdField = org.jooq.impl.DSL.field("villages.district_id", String.class);
-        var villageNameField = org.jooq.impl.DSL.field("villages.name", String.class);
-        var regencyIdField = org.jooq.impl.DSL.field("districts.regency_id", String.class);
-        var provinceIdField = org.jooq.impl.DSL.field("regencies.province_id", String.class);
-        var regencyIdJoinField = org.jooq.impl.DSL.field("regencies.id", String.class);
-
-        // Optimized query for fetching villages by provinceId
-        var records = dsl.select(villageIdField, districtIdField, villageNameField)
-                .from(villagesTable)
-                .join(districtsTable).on(districtIdField.eq(org.jooq.impl.DSL.field("districts.id", String.class)))
-                .join(regenciesTable).on(regencyIdField.eq(regencyIdJoinField))
-                .where(provinceIdField.eq(provinceId))
-                .fetch();
-
-        // Map hasil query ke objek Village dengan efisiensi stream
-        return records.stream().map(record -> new Village(
-                record.get(villageIdField),
-                record.get(districtIdField),
-                record.get(villageNameField)
-        )).collect(Collectors.toList());
+        return findByProvinceId(provinceId, PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data desa berdasarkan ID provinsi dengan keyset pagination.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param page       parameter pagination.
+     * @return List berisi data desa dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<Village> findByProvinceId(String provinceId, PageRequest page) {
+        return findByProvinceId(provinceId, page, null);
+    }
+
+    /**
+     * Mengambil satu halaman data desa berdasarkan ID provinsi dengan strategi query tertentu.
+     * {@link QueryStrategy#ID_RANGE} memakai rentang primary key tanpa join,
+     * {@link QueryStrategy#JOIN} memakai join villages -> districts -> regencies.
+     *
+     * @param provinceId ID provinsi yang mau dicari datanya.
+     * @param page       parameter pagination.
+     * @param strategy   strategi query, null untuk memakai konfigurasi default.
+     * @return List berisi data desa dalam halaman tersebut, urut berdasarkan ID.
+     */
+    public List<Village> findByProvinceId(String provinceId, PageRequest page, QueryStrategy strategy) {
+        if (strategy(strategy) == QueryStrategy.ID_RANGE) {
+            // Satu range scan pada primary key, tanpa join ke districts dan regencies
+            return fetchPage(dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                    .from(VILLAGES)
+                    .where(descendantOf(VILLAGES.ID, provinceId, RegionLevel.PROVINCE, RegionLevel.VILLAGE))
+                    .and(afterId(VILLAGES.ID, page))
+                    .orderBy(VILLAGES.ID), page)
+                    .map(VILLAGE_MAPPER);
+        }
+
+        return fetchPage(dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                .from(VILLAGES)
+                .join(DISTRICTS).on(VILLAGES.DISTRICT_ID.eq(DISTRICTS.ID))
+                .join(REGENCIES).on(DISTRICTS.REGENCY_ID.eq(REGENCIES.ID))
+                .where(REGENCIES.PROVINCE_ID.eq(provinceId))
+                .and(afterId(VILLAGES.ID, page))
+                .orderBy(VILLAGES.ID), page)
+                .map(VILLAGE_MAPPER);
+    }
+
+    /**
+     * Mengambil satu halaman data desa berdasarkan ID kecamatan.
+     * Filter langsung ke kolom induk district_id tanpa join, cukup satu range scan pada index district_id.
+     *
+     * @param districtId ID kecamatan yang mau dicari datanya.
+     * @param page       parameter pagination.
+     * @return List berisi data desa dalam kecamatan tersebut, urut berdasarkan ID.
+     */
+    public List<Village> findByDistrictId(String districtId, PageRequest page) {
+        return fetchPage(dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                .from(VILLAGES)
+                .where(VILLAGES.DISTRICT_ID.eq(districtId))
+                .and(afterId(VILLAGES.ID, page))
+                .orderBy(VILLAGES.ID), page)
+                .map(VILLAGE_MAPPER);
+    }
+
+    /**
+     * Mengambil data desa berdasarkan ID lewat primary key.
+     *
+     * @param id ID desa yang mau dicari.
+     * @return Optional berisi data desa jika ditemukan, atau Optional kosong jika tidak ada.
+     */
+    public Optional<Village> findById(String id) {
+        return dsl.select(VILLAGES.ID, VILLAGES.DISTRICT_ID, VILLAGES.NAME)
+                .from(VILLAGES)
+                .where(VILLAGES.ID.eq(id))
+                .fetchOptional(VILLAGE_MAPPER);
     }
 
     /**
@@ -77,23 +186,18 @@ public class VillageRepository extends JooqRepository {
      * @param villages List of Village entities untuk diupsert secara batch.
      */
     public void bulkUpsert(List<Village> villages) {
-        // Define table and fields used in the upsert
-        var villagesTable = org.jooq.impl.DSL.table("villages");
-        var idField = org.jooq.impl.DSL.field("id");
-        var districtIdField = org.jooq.impl.DSL.field("district_id");
-        var nameField = org.jooq.impl.DSL.field("name");
-
-        dsl.batch(
-                villages.stream()
-                        .map(village ->
-                                dsl.insertInto(villagesTable)
-                                        .set(idField, village.getId())
-                                        .set(districtIdField, village.getDistrictId())
-                                        .set(nameField, village.getName())
-                                        .onDuplicateKeyUpdate()
-                                        .set(districtIdField, village.getDistrictId())
-                                        .set(nameField, village.getName())
-                        ).collect(Collectors.toList())
-        ).execute();
+        bulkUpsertEngine.upsert(VILLAGES, villages.stream()
+                .map(village -> new VillagesRecord(village.getId(), village.getDistrictId(), village.getName()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Menghapus data desa berdasarkan daftar ID, dipakai import delta untuk baris yang sudah tidak ada di CSV.
+     *
+     * @param ids ID desa yang dihapus.
+     * @return jumlah baris yang terhapus.
+     */
+    public int deleteByIds(List<String> ids) {
+        return ids.isEmpty() ? 0 : dsl.deleteFrom(VILLAGES).where(VILLAGES.ID.in(ids)).execute();
     }
 }
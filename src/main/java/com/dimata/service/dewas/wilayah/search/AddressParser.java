@@ -0,0 +1,216 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memecah alamat teks bebas menjadi potongan nama wilayah.
+ * <p>
+ * Alamat dipisah per koma atau baris, lalu setiap bagian dipisah lagi di kata penanda seperti
+ * "KAB.", "KEC." atau "DESA". Kata penanda menjadi petunjuk level dan tidak ikut dicocokkan. Bagian
+ * yang diawali penanda jalan (JL, RT, RW, GANG, ...) dan angka seperti kode pos dibuang. Kalau alamat
+ * tidak punya pemisah sama sekali, setiap rangkaian kata berurutan ikut dicoba sebagai potongan
+ * ({@link Span#isWindow()}).
+ */
+final class AddressParser {
+
+    /**
+     * Batas jumlah kata yang dipecah menjadi rangkaian, supaya satu alamat panjang tidak meledakkan kandidat.
+     */
+    static final int MAX_WORDS = 16;
+    private static final int MAX_WINDOW_WORDS = 4;
+
+    private static final Map<String, RegionLevel> LEVEL_MARKERS = Map.ofEntries(
+            Map.entry("PROV", RegionLevel.PROVINCE),
+            Map.entry("PROP", RegionLevel.PROVINCE),
+            Map.entry("PROVINSI", RegionLevel.PROVINCE),
+            Map.entry("PROPINSI", RegionLevel.PROVINCE),
+            Map.entry("KAB", RegionLevel.REGENCY),
+            Map.entry("KABUPATEN", RegionLevel.REGENCY),
+            Map.entry("KOTA", RegionLevel.REGENCY),
+            Map.entry("KOTAMADYA", RegionLevel.REGENCY),
+            Map.entry("KODYA", RegionLevel.REGENCY),
+            Map.entry("KEC", RegionLevel.DISTRICT),
+            Map.entry("KECAMATAN", RegionLevel.DISTRICT),
+            Map.entry("DISTRIK", RegionLevel.DISTRICT),
+            Map.entry("DS", RegionLevel.VILLAGE),
+            Map.entry("DESA", RegionLevel.VILLAGE),
+            Map.entry("KEL", RegionLevel.VILLAGE),
+            Map.entry("KELURAHAN", RegionLevel.VILLAGE),
+            Map.entry("GAMPONG", RegionLevel.VILLAGE),
+            Map.entry("NAGARI", RegionLevel.VILLAGE)
+    );
+
+    /**
+     * Bentuk baku untuk kata penanda kabupaten/kota, karena nama kabupaten di data selalu diawali salah satunya.
+     */
+    private static final Map<String, String> REGENCY_PREFIXES = Map.of(
+            "KAB", "KABUPATEN",
+            "KABUPATEN", "KABUPATEN",
+            "KOTA", "KOTA",
+            "KOTAMADYA", "KOTA",
+            "KODYA", "KOTA"
+    );
+
+    private static final Set<String> STREET_MARKERS = Set.of(
+            "JL", "JLN", "JALAN", "GG", "GANG", "RT", "RW", "NO", "BLOK", "KOMPLEK", "KOMP", "PERUM",
+            "DUSUN", "DSN", "DUKUH", "LINGKUNGAN", "LK", "KODE", "KODEPOS"
+    );
+
+    private static final Map<String, String> ABBREVIATIONS = Map.of(
+            "KEP", "KEPULAUAN"
+    );
+
+    private AddressParser() {
+    }
+
+    /**
+     * @return potongan alamat; setiap potongan menandai kata yang dipakainya dalam bitmask.
+     */
+    static List<Span> parse(String address) {
+        List<Span> spans = new ArrayList<>();
+        if (address == null) {
+            return spans;
+        }
+        String[] parts = address.split("[,;\\n]");
+        int word = 0;
+        for (String part : parts) {
+            List<String> words = new ArrayList<>();
+            for (String token : RegionNames.normalize(part).split(" ")) {
+                if (!token.isEmpty()) {
+                    words.add(ABBREVIATIONS.getOrDefault(token, token));
+                }
+            }
+            if (words.isEmpty() || STREET_MARKERS.contains(words.get(0))) {
+                continue;
+            }
+
+            RegionLevel hint = null;
+            String prefix = null;
+            List<String> current = new ArrayList<>();
+            int start = word;
+            for (String token : words) {
+                if (word >= MAX_WORDS) {
+                    break;
+                }
+                RegionLevel marker = LEVEL_MARKERS.get(token);
+                if (marker != null) {
+                    add(spans, hint, prefix, current, start, word);
+                    hint = marker;
+                    prefix = REGENCY_PREFIXES.get(token);
+                    current = new ArrayList<>();
+                    start = word;
+                } else if (!isNumber(token)) {
+                    current.add(token);
+                }
+                word++;
+            }
+            add(spans, hint, prefix, current, start, word);
+        }
+
+        if (parts.length == 1 && spans.size() == 1 && spans.get(0).getLevel() == null
+                && spans.get(0).getText().indexOf(' ') > 0) {
+            Span whole = spans.remove(0);
+            addWindows(spans, whole);
+        }
+        return spans;
+    }
+
+    private static void add(List<Span> spans, RegionLevel hint, String prefix, List<String> words, int start, int end) {
+        if (!words.isEmpty()) {
+            spans.add(new Span(hint, prefix, String.join(" ", words), mask(start, end), false));
+        }
+    }
+
+    /**
+     * Alamat tanpa pemisah, misalnya "LABUHAN BAJAU TEUPAH SELATAN SIMEULUE": setiap rangkaian
+     * sampai {@value #MAX_WINDOW_WORDS} kata, ditambah alamat utuhnya, menjadi potongan tersendiri.
+     */
+    private static void addWindows(List<Span> spans, Span whole) {
+        String[] words = whole.getText().split(" ");
+        int first = Long.numberOfTrailingZeros(whole.getMask());
+        spans.add(new Span(null, null, whole.getText(), whole.getMask(), true));
+        for (int from = 0; from < words.length; from++) {
+            for (int to = from + 1; to <= Math.min(words.length, from + MAX_WINDOW_WORDS); to++) {
+                if (from == 0 && to == words.length) {
+                    continue;
+                }
+                String text = String.join(" ", Arrays.asList(words).subList(from, to));
+                spans.add(new Span(null, null, text, mask(first + from, first + to), true));
+            }
+        }
+    }
+
+    private static long mask(int from, int to) {
+        long mask = 0;
+        for (int i = from; i < to; i++) {
+            mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    private static boolean isNumber(String token) {
+        return token.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Satu potongan alamat.
+     */
+    static final class Span {
+        private final RegionLevel level;
+        private final String regencyPrefix;
+        private final String text;
+        private final long mask;
+        private final boolean window;
+
+        Span(RegionLevel level, String regencyPrefix, String text, long mask, boolean window) {
+            this.level = level;
+            this.regencyPrefix = regencyPrefix;
+            this.text = text;
+            this.mask = mask;
+            this.window = window;
+        }
+
+        /**
+         * @return level dari kata penanda, atau null kalau tidak ada penanda.
+         */
+        RegionLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * @return KABUPATEN atau KOTA kalau potongan diawali penanda kabupaten/kota, selain itu null.
+         */
+        String getRegencyPrefix() {
+            return regencyPrefix;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        /**
+         * @return bit kata-kata alamat yang dicakup potongan ini.
+         */
+        long getMask() {
+            return mask;
+        }
+
+        /**
+         * Potongan hasil rangkaian kata dari alamat tanpa pemisah. Jumlahnya banyak dan sebagian besar
+         * bukan nama wilayah, jadi hanya dicocokkan persis kecuali di dalam cakupan yang kecil.
+         */
+        boolean isWindow() {
+            return window;
+        }
+
+        boolean allows(RegionLevel candidate) {
+            return level == null || level == candidate;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * BK-tree atas kumpulan kata dengan jarak Levenshtein, untuk mencari semua kata yang berjarak
+ * paling banyak {@code k} dari query tanpa membandingkan seluruh isi. Immutable setelah dibangun.
+ */
+final class BkTree {
+
+    private final String[] words;
+    // Anak simpul i: childStart[i] .. childStart[i + 1] di childNodes/childDistances
+    private final int[] childStart;
+    private final int[] childNodes;
+    private final int[] childDistances;
+
+    private BkTree(String[] words, int[] childStart, int[] childNodes, int[] childDistances) {
+        this.words = words;
+        this.childStart = childStart;
+        this.childNodes = childNodes;
+        this.childDistances = childDistances;
+    }
+
+    /**
+     * @param words kata-kata yang berbeda satu sama lain.
+     */
+    static BkTree of(String[] words) {
+        int size = words.length;
+        int[] parent = new int[size];
+        int[] edge = new int[size];
+        // Selama pembangunan anak disimpan sebagai linked list: firstChild lalu nextSibling
+        int[] firstChild = new int[size];
+        int[] nextSibling = new int[size];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(parent, -1);
+
+        for (int i = 1; i < size; i++) {
+            int node = 0;
+            while (true) {
+                int distance = distance(words[i], words[node]);
+                int child = firstChild[node];
+                while (child >= 0 && edge[child] != distance) {
+                    child = nextSibling[child];
+                }
+                if (child < 0) {
+                    parent[i] = node;
+                    edge[i] = distance;
+                    nextSibling[i] = firstChild[node];
+                    firstChild[node] = i;
+                    break;
+                }
+                node = child;
+            }
+        }
+
+        // Padatkan ke array CSR supaya query tidak perlu mengejar pointer
+        int[] childStart = new int[size + 1];
+        for (int i = 1; i < size; i++) {
+            childStart[parent[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        int[] filled = Arrays.copyOf(childStart, size);
+        int[] childNodes = new int[Math.max(0, size - 1)];
+        int[] childDistances = new int[childNodes.length];
+        for (int i = 1; i < size; i++) {
+            int slot = filled[parent[i]]++;
+            childNodes[slot] = i;
+            childDistances[slot] = edge[i];
+        }
+        return new BkTree(words, childStart, childNodes, childDistances);
+    }
+
+    /**
+     * Memanggil {@code consumer} untuk setiap kata dengan jarak paling banyak {@code maxDistance}.
+     */
+    void search(String query, int maxDistance, ObjIntConsumer<String> consumer) {
+        if (words.length == 0) {
+            return;
+        }
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = distance(query, words[node]);
+            if (distance <= maxDistance) {
+                consumer.accept(words[node], distance);
+            }
+            for (int c = childStart[node]; c < childStart[node + 1]; c++) {
+                // Ketaksamaan segitiga: anak di luar rentang ini pasti lebih jauh dari maxDistance
+                if (Math.abs(childDistances[c] - distance) <= maxDistance) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = childNodes[c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Jarak Levenshtein penuh, dibutuhkan untuk navigasi tree.
+     */
+    static int distance(String a, String b) {
+        return boundedDistance(a, b, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Jarak Levenshtein, berhenti lebih awal begitu jaraknya pasti melebihi {@code max}.
+     *
+     * @return jarak, atau {@code max + 1} kalau lebih dari {@code max}.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], max + 1);
+    }
+}
@@ -0,0 +1,346 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionTable;
+import com.dimata.service.dewas.wilayah.model.AddressMatch;
+import com.dimata.service.dewas.wilayah.model.RegionCode;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pencocokan alamat teks bebas ke kode wilayah dengan toleransi salah ketik. Immutable setelah dibangun.
+ * <p>
+ * Alamat dipecah oleh {@link AddressParser}, lalu setiap potongan dicocokkan ke nama wilayah:
+ * persis lewat hash map, atau dengan jarak Levenshtein terbatas. Level dicocokkan dari atas: provinsi
+ * dan kabupaten lebih dulu, lalu rantai terbaik sejauh ini menjadi cakupan pencarian kecamatan, dan
+ * begitu juga untuk desa. Dengan cakupan, desa cukup dicari di antara beberapa ratus nama dalam satu
+ * kabupaten atau kecamatan. Tanpa cakupan, kecamatan dan desa dicari lewat {@link BkTree}. Akhirnya dipilih rantai kandidat yang saling konsisten (kode anak diawali
+ * kode induk) dan menjelaskan paling banyak kata dari alamat.
+ */
+public final class RegionMatchIndex {
+
+    /**
+     * Rentang sampai ukuran ini dicari dengan membandingkan semua nama; di atasnya lewat BK-tree.
+     */
+    static final int SCAN_LIMIT = 2000;
+
+    private final LevelNames[] levels;
+    private final int maxDistance;
+
+    private RegionMatchIndex(LevelNames[] levels, int maxDistance) {
+        this.levels = levels;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * @param maxDistance jarak edit maksimal untuk nama panjang; nama pendek diberi toleransi lebih kecil.
+     */
+    public static RegionMatchIndex of(RegionSnapshot snapshot, int maxDistance) {
+        LevelNames[] levels = new LevelNames[RegionLevel.values().length];
+        for (RegionLevel level : RegionLevel.values()) {
+            levels[level.ordinal()] = new LevelNames(snapshot.table(level));
+        }
+        return new RegionMatchIndex(levels, maxDistance);
+    }
+
+    /**
+     * Mencocokkan satu alamat.
+     */
+    public AddressMatch match(String address) {
+        AddressMatch result = new AddressMatch(address);
+        List<AddressParser.Span> spans = AddressParser.parse(address);
+        if (spans.isEmpty()) {
+            return result;
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        long exactUpper = 0;
+        for (AddressParser.Span span : spans) {
+            find(RegionLevel.PROVINCE, span, null, candidates);
+            find(RegionLevel.REGENCY, span, null, candidates);
+        }
+        for (Candidate candidate : candidates) {
+            if (candidate.distance == 0) {
+                exactUpper |= candidate.mask;
+            }
+        }
+
+        for (RegionLevel level : new RegionLevel[]{RegionLevel.DISTRICT, RegionLevel.VILLAGE}) {
+            Chain scope = best(candidates);
+            for (AddressParser.Span span : spans) {
+                int before = candidates.size();
+                // Cakupan hanya berlaku kalau berasal dari potongan lain; "SUKAMAJU" saja tidak boleh
+                // mempersempit dirinya sendiri ke kecamatan bernama SUKAMAJU
+                boolean scoped = scope != null && (scope.mask & span.getMask()) == 0;
+                if (scoped) {
+                    find(level, span, scope.leaf, candidates);
+                }
+                // Cakupan bisa salah (misalnya nama kabupaten yang kebetulan sama dengan nama desa), kecuali
+                // potongan ini sendiri sudah persis nama provinsi/kabupaten
+                if (candidates.size() == before && (span.getMask() & ~exactUpper) != 0) {
+                    find(level, span, null, candidates);
+                }
+            }
+        }
+
+        Chain chain = best(candidates);
+        if (chain == null) {
+            return result;
+        }
+        result.setMatched(true);
+        result.setLevel(chain.leaf.level);
+        result.setDistance(chain.cost);
+        result.setAmbiguous(chain.ambiguous);
+        fill(result, chain.leaf);
+        return result;
+    }
+
+    /**
+     * Jarak edit yang diizinkan untuk potongan sepanjang {@code length} karakter.
+     */
+    int allowedDistance(int length) {
+        if (length <= 4) {
+            return 0;
+        }
+        if (length <= 8) {
+            return Math.min(1, maxDistance);
+        }
+        return maxDistance;
+    }
+
+    private void find(RegionLevel level, AddressParser.Span span, Candidate scope, List<Candidate> out) {
+        if (!span.allows(level) || (scope != null && scope.level.ordinal() >= level.ordinal())) {
+            return;
+        }
+        LevelNames names = levels[level.ordinal()];
+        String text = span.getText();
+
+        // "KOTA BEKASI" dan "KABUPATEN BEKASI" hanya bisa dibedakan dari penandanya
+        if (span.getRegencyPrefix() != null && level == RegionLevel.REGENCY
+                && addExact(names, names.fullNames.get(span.getRegencyPrefix() + ' ' + text), span, scope, out)) {
+            return;
+        }
+        if (addExact(names, names.exact.get(text), span, scope, out)) {
+            return;
+        }
+
+        int from = 0;
+        int to = names.table.size();
+        if (scope != null) {
+            int[] range = names.table.descendantRange(scope.code, scope.level);
+            from = range[0];
+            to = range[1];
+        }
+        boolean scan = to - from <= SCAN_LIMIT || names.tree == null;
+        int max = span.isWindow() && (scope == null || !scan) ? 0 : allowedDistance(text.length());
+        if (max == 0) {
+            return;
+        }
+        if (scan) {
+            for (int i = from; i < to; i++) {
+                int distance = BkTree.boundedDistance(text, names.names[i], max);
+                if (distance <= max) {
+                    out.add(new Candidate(level, names.table.code(i), distance, span.getMask()));
+                }
+            }
+        } else {
+            int lower = from;
+            int upper = to;
+            names.tree.search(text, max, (name, distance) -> {
+                for (int i : names.exact.get(name)) {
+                    if (i >= lower && i < upper) {
+                        out.add(new Candidate(level, names.table.code(i), distance, span.getMask()));
+                    }
+                }
+            });
+        }
+    }
+
+    private static boolean addExact(LevelNames names, int[] indexes, AddressParser.Span span, Candidate scope,
+                                    List<Candidate> out) {
+        if (indexes == null) {
+            return false;
+        }
+        boolean added = false;
+        for (int i : indexes) {
+            long code = names.table.code(i);
+            if (scope == null || RegionCode.ancestorOf(code, names.table.getLevel(), scope.level) == scope.code) {
+                out.add(new Candidate(names.table.getLevel(), code, 0, span.getMask()));
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Rantai terbaik: untuk setiap kandidat, induk-induknya dicari di antara kandidat dari potongan lain.
+     * Skor: jumlah kata yang dijelaskan, lalu level terdalam, lalu jarak edit terkecil.
+     */
+    private static Chain best(List<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        List<Map<Long, List<Candidate>>> byCode = new ArrayList<>();
+        for (int i = 0; i < RegionLevel.values().length; i++) {
+            byCode.add(new HashMap<>());
+        }
+        for (Candidate candidate : candidates) {
+            byCode.get(candidate.level.ordinal())
+                    .computeIfAbsent(candidate.code, code -> new ArrayList<>(1))
+                    .add(candidate);
+        }
+
+        Chain best = null;
+        for (Candidate leaf : candidates) {
+            long mask = leaf.mask;
+            int cost = leaf.distance;
+            for (RegionLevel level = leaf.level.parent(); level != null; level = level.parent()) {
+                List<Candidate> ancestors = byCode.get(level.ordinal())
+                        .get(RegionCode.ancestorOf(leaf.code, leaf.level, level));
+                Candidate chosen = null;
+                if (ancestors != null) {
+                    for (Candidate ancestor : ancestors) {
+                        if ((ancestor.mask & mask) == 0 && (chosen == null || better(ancestor, chosen))) {
+                            chosen = ancestor;
+                        }
+                    }
+                }
+                if (chosen != null) {
+                    mask |= chosen.mask;
+                    cost += chosen.distance;
+                }
+            }
+
+            Chain chain = new Chain(leaf, mask, cost);
+            int compare = best == null ? 1 : chain.compareTo(best);
+            if (compare > 0) {
+                best = chain;
+            } else if (compare == 0 && best.leaf.code != leaf.code) {
+                best.ambiguous = true;
+            }
+        }
+        return best;
+    }
+
+    private static boolean better(Candidate a, Candidate b) {
+        int words = Long.bitCount(a.mask) - Long.bitCount(b.mask);
+        return words != 0 ? words > 0 : a.distance < b.distance;
+    }
+
+    private void fill(AddressMatch result, Candidate leaf) {
+        for (RegionLevel level = leaf.level; level != null; level = level.parent()) {
+            RegionTable table = levels[level.ordinal()].table;
+            int index = table.indexOf(RegionCode.ancestorOf(leaf.code, leaf.level, level));
+            if (index < 0) {
+                continue;
+            }
+            String id = table.id(index);
+            String name = table.name(index);
+            switch (level) {
+                case PROVINCE:
+                    result.setProvinceId(id);
+                    result.setProvinceName(name);
+                    break;
+                case REGENCY:
+                    result.setRegencyId(id);
+                    result.setRegencyName(name);
+                    break;
+                case DISTRICT:
+                    result.setDistrictId(id);
+                    result.setDistrictName(name);
+                    break;
+                default:
+                    result.setVillageId(id);
+                    result.setVillageName(name);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Nama yang sudah dinormalisasi untuk satu level, beserta index pencariannya.
+     */
+    private static final class LevelNames {
+        private final RegionTable table;
+        private final String[] names;
+        private final Map<String, int[]> exact = new HashMap<>();
+        private final Map<String, int[]> fullNames = new HashMap<>();
+        private final BkTree tree;
+
+        private LevelNames(RegionTable table) {
+            this.table = table;
+            this.names = new String[table.size()];
+            for (int i = 0; i < names.length; i++) {
+                String full = RegionNames.normalize(table.name(i));
+                names[i] = table.getLevel() == RegionLevel.REGENCY ? stripRegencyPrefix(full) : full;
+                append(exact, names[i], i);
+                if (table.getLevel() == RegionLevel.REGENCY) {
+                    append(fullNames, full, i);
+                }
+            }
+            this.tree = table.size() > SCAN_LIMIT ? BkTree.of(exact.keySet().toArray(new String[0])) : null;
+        }
+
+        private static String stripRegencyPrefix(String name) {
+            for (String prefix : new String[]{"KABUPATEN ", "KOTA "}) {
+                if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                    return name.substring(prefix.length());
+                }
+            }
+            return name;
+        }
+
+        private static void append(Map<String, int[]> map, String key, int index) {
+            map.merge(key, new int[]{index}, (existing, added) -> {
+                int[] merged = Arrays.copyOf(existing, existing.length + 1);
+                merged[existing.length] = index;
+                return merged;
+            });
+        }
+    }
+
+    private static final class Candidate {
+        private final RegionLevel level;
+        private final long code;
+        private final int distance;
+        private final long mask;
+
+        private Candidate(RegionLevel level, long code, int distance, long mask) {
+            this.level = level;
+            this.code = code;
+            this.distance = distance;
+            this.mask = mask;
+        }
+    }
+
+    private static final class Chain implements Comparable<Chain> {
+        private final Candidate leaf;
+        private final long mask;
+        private final int words;
+        private final int cost;
+        private boolean ambiguous;
+
+        private Chain(Candidate leaf, long mask, int cost) {
+            this.leaf = leaf;
+            this.mask = mask;
+            this.words = Long.bitCount(mask);
+            this.cost = cost;
+        }
+
+        @Override
+        public int compareTo(Chain other) {
+            if (words != other.words) {
+                return Integer.compare(words, other.words);
+            }
+            if (leaf.level != other.leaf.level) {
+                return Integer.compare(leaf.level.ordinal(), other.leaf.level.ordinal());
+            }
+            return Integer.compare(other.cost, cost);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.model.AddressMatch;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Normalisasi alamat ke kode wilayah di atas {@link RegionMatchIndex}. Seperti index pencarian,
+ * index ini dibangun ulang setiap versi snapshot berubah dan ditukar secara atomik.
+ */
+@ApplicationScoped
+public class RegionMatchService {
+
+    private static final Logger LOGGER = Logger.getLogger(RegionMatchService.class.getName());
+
+    private final AtomicReference<RegionMatchIndex> current = new AtomicReference<>();
+
+    @ConfigProperty(name = "dimata.wilayah.match.max-distance", defaultValue = "2")
+    int maxDistance;
+
+    @ConfigProperty(name = "dimata.wilayah.match.max-batch", defaultValue = "10000")
+    int maxBatch;
+
+    /**
+     * Membangun index untuk snapshot baru. Kalau gagal, index lama tetap dipakai.
+     */
+    public void rebuild(RegionSnapshot snapshot) {
+        try {
+            long start = System.nanoTime();
+            current.set(RegionMatchIndex.of(snapshot, maxDistance));
+            LOGGER.log(Level.INFO, "Index pencocokan alamat diperbarui dalam "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Gagal membangun index pencocokan alamat, tetap memakai index sebelumnya.", e);
+        }
+    }
+
+    /**
+     * Jumlah alamat maksimal dalam satu permintaan.
+     */
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    /**
+     * Mencocokkan sekumpulan alamat. Urutan hasil sama dengan urutan input.
+     *
+     * @return Optional kosong kalau index belum tersedia.
+     */
+    public Optional<List<AddressMatch>> match(List<String> addresses) {
+        RegionMatchIndex index = current.get();
+        if (index == null) {
+            return Optional.empty();
+        }
+        List<AddressMatch> results = new ArrayList<>(addresses.size());
+        for (String address : addresses) {
+            results.add(index.match(address));
+        }
+        return Optional.of(results);
+    }
+}
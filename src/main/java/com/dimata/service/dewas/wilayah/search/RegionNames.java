@@ -0,0 +1,32 @@
+package com.dimata.service.dewas.wilayah.search;
+
+/**
+ * Normalisasi nama wilayah untuk pencarian: huruf besar, karakter selain huruf dan angka
+ * diganti spasi, dan spasi berurutan digabung. "Kota  Banda-Aceh" menjadi "KOTA BANDA ACEH".
+ */
+public final class RegionNames {
+
+    private RegionNames() {
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(name.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = Character.toUpperCase(name.charAt(i));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,413 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionTable;
+import com.dimata.service.dewas.wilayah.model.RegionCode;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.RegionSearchResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Inverted index nama wilayah dari keempat level di satu {@link RegionSnapshot}. Immutable setelah dibangun.
+ * <p>
+ * Setiap baris snapshot menjadi satu entri dengan nomor urut global: provinsi lebih dulu, lalu kabupaten,
+ * kecamatan dan desa, masing-masing terurut kode. Ada dua struktur di atasnya:
+ * <ul>
+ *     <li>daftar kata terurut (kata, entri) untuk pencarian awalan kata dengan binary search,
+ *     setara trie tapi cukup dua array;</li>
+ *     <li>posting list trigram berupa {@code int[]} terurut per trigram, untuk pencarian di tengah kata.</li>
+ * </ul>
+ * Hasil diurutkan: nama sama persis, nama diawali query, kata diawali query, lalu mengandung query;
+ * di dalam tiap kelompok level yang lebih tinggi dan nama yang lebih pendek didahulukan.
+ */
+public final class RegionSearchIndex {
+
+    static final int RANK_EXACT = 0;
+    static final int RANK_NAME_PREFIX = 1;
+    static final int RANK_WORD_PREFIX = 2;
+    static final int RANK_CONTAINS = 3;
+
+    // Alfabet hasil RegionNames.normalize: spasi, 0-9, A-Z
+    private static final int ALPHABET = 37;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private static final int ENTRY_BITS = 26;
+    private static final int LENGTH_BITS = 8;
+
+    private final RegionSnapshot snapshot;
+    private final RegionTable[] tables;
+    private final int[] offsets;
+    private final String[] names;
+
+    private final String[] tokens;
+    private final int[] tokenEntries;
+    private final int[][] postings;
+
+    private RegionSearchIndex(RegionSnapshot snapshot, RegionTable[] tables, int[] offsets, String[] names,
+                              String[] tokens, int[] tokenEntries, int[][] postings) {
+        this.snapshot = snapshot;
+        this.tables = tables;
+        this.offsets = offsets;
+        this.names = names;
+        this.tokens = tokens;
+        this.tokenEntries = tokenEntries;
+        this.postings = postings;
+    }
+
+    /**
+     * Membangun index dari seluruh nama di snapshot.
+     */
+    public static RegionSearchIndex of(RegionSnapshot snapshot) {
+        RegionLevel[] levels = RegionLevel.values();
+        RegionTable[] tables = new RegionTable[levels.length];
+        int[] offsets = new int[levels.length + 1];
+        for (RegionLevel level : levels) {
+            tables[level.ordinal()] = snapshot.table(level);
+            offsets[level.ordinal() + 1] = offsets[level.ordinal()] + tables[level.ordinal()].size();
+        }
+
+        int entries = offsets[levels.length];
+        String[] names = new String[entries];
+        List<String> wordList = new ArrayList<>(entries * 2);
+        List<Integer> wordEntryList = new ArrayList<>(entries * 2);
+        int[] gramCounts = new int[ALPHABET * ALPHABET * ALPHABET];
+
+        for (int entry = 0; entry < entries; entry++) {
+            RegionTable table = tables[levelOf(offsets, entry)];
+            String name = RegionNames.normalize(table.name(entry - offsets[levelOf(offsets, entry)])).intern();
+            names[entry] = name;
+            for (String word : name.split(" ")) {
+                if (!word.isEmpty()) {
+                    wordList.add(word);
+                    wordEntryList.add(entry);
+                }
+            }
+            forEachTrigram(name, gram -> gramCounts[gram]++);
+        }
+
+        // Urutkan pasangan (kata, entri) lewat array indeks supaya kata dan entrinya tetap sejajar
+        Integer[] order = new Integer[wordList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byWord = wordList.get(a).compareTo(wordList.get(b));
+            return byWord != 0 ? byWord : Integer.compare(wordEntryList.get(a), wordEntryList.get(b));
+        });
+        String[] tokens = new String[order.length];
+        int[] tokenEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            tokens[i] = wordList.get(order[i]);
+            tokenEntries[i] = wordEntryList.get(order[i]);
+        }
+
+        // Entri diproses berurutan, jadi setiap posting list otomatis terurut
+        int[][] postings = new int[gramCounts.length][];
+        int[] filled = new int[gramCounts.length];
+        for (int gram = 0; gram < gramCounts.length; gram++) {
+            postings[gram] = gramCounts[gram] == 0 ? NO_POSTINGS : new int[gramCounts[gram]];
+        }
+        for (int entry = 0; entry < entries; entry++) {
+            int current = entry;
+            forEachTrigram(names[entry], gram -> {
+                int size = filled[gram];
+                if (size == 0 || postings[gram][size - 1] != current) {
+                    postings[gram][size] = current;
+                    filled[gram] = size + 1;
+                }
+            });
+        }
+        for (int gram = 0; gram < postings.length; gram++) {
+            if (filled[gram] < postings[gram].length) {
+                postings[gram] = Arrays.copyOf(postings[gram], filled[gram]);
+            }
+        }
+
+        return new RegionSearchIndex(snapshot, tables, offsets, names, tokens, tokenEntries, postings);
+    }
+
+    /**
+     * Snapshot sumber index ini.
+     */
+    public RegionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Jumlah entri (seluruh wilayah dari semua level) di index.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Mencari wilayah berdasarkan nama.
+     *
+     * @param query       teks yang dicari, dinormalisasi dengan {@link RegionNames#normalize(String)}.
+     * @param level       hanya level ini, atau null untuk semua level.
+     * @param parentId    hanya keturunan wilayah ini (provinsi, kabupaten atau kecamatan), atau null.
+     * @param limit       jumlah hasil maksimal.
+     * @return hasil yang sudah diurutkan, paling banyak {@code limit}.
+     */
+    public List<RegionSearchResult> search(String query, RegionLevel level, String parentId, int limit) {
+        String normalized = RegionNames.normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Filter filter = new Filter(level, parentId);
+
+        LongList hits = new LongList();
+        int strongHits = collectWordPrefixHits(normalized, filter, hits);
+        if (strongHits < limit && normalized.length() >= 3) {
+            collectSubstringHits(normalized, filter, hits);
+        }
+
+        int size = Math.min(limit, hits.sortDistinct());
+        List<RegionSearchResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(toResult((int) (hits.get(i) & ((1L << ENTRY_BITS) - 1))));
+        }
+        return results;
+    }
+
+    /**
+     * Entri yang salah satu katanya diawali kata pertama query, lalu dicek terhadap query lengkap.
+     *
+     * @return jumlah hit berbeda yang ditemukan.
+     */
+    private int collectWordPrefixHits(String query, Filter filter, LongList hits) {
+        int space = query.indexOf(' ');
+        String firstWord = space < 0 ? query : query.substring(0, space);
+
+        int from = lowerBound(tokens, firstWord);
+        for (int i = from; i < tokens.length && tokens[i].startsWith(firstWord); i++) {
+            int entry = tokenEntries[i];
+            if (!filter.accepts(entry)) {
+                continue;
+            }
+            int rank = rank(names[entry], query);
+            if (rank >= 0 && rank < RANK_CONTAINS) {
+                hits.add(key(rank, entry));
+            }
+        }
+        // Nama dengan dua kata berawalan sama muncul dua kali di rentang ini
+        return hits.sortDistinct();
+    }
+
+    /**
+     * Entri yang memuat query di tengah kata, dicari lewat irisan posting list trigram.
+     */
+    private void collectSubstringHits(String query, Filter filter, LongList hits) {
+        int[] grams = distinctTrigrams(query);
+        int[][] lists = new int[grams.length][];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings[grams[i]];
+            if (lists[i].length == 0) {
+                return;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        int[] candidates = lists[0];
+        int size = candidates.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            // Posting list tidak boleh ditimpa; irisan pertama disalin ke buffer sendiri
+            int[] target = candidates == lists[0] ? new int[size] : candidates;
+            size = intersect(candidates, size, lists[i], target);
+            candidates = target;
+        }
+
+        for (int i = 0; i < size; i++) {
+            int entry = candidates[i];
+            // Hit dengan rank lebih baik sudah masuk dari pencarian awalan kata
+            if (filter.accepts(entry) && rank(names[entry], query) == RANK_CONTAINS) {
+                hits.add(key(RANK_CONTAINS, entry));
+            }
+        }
+    }
+
+    /**
+     * Irisan {@code left[0, size)} dengan {@code right}, ditulis ke {@code target}. Karena posting list
+     * terpendek dipakai sebagai awal, elemen di {@code right} dilompati dengan binary search.
+     */
+    private static int intersect(int[] left, int size, int[] right, int[] target) {
+        int written = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < right.length; i++) {
+            int index = Arrays.binarySearch(right, from, right.length, left[i]);
+            if (index >= 0) {
+                target[written++] = left[i];
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return written;
+    }
+
+    private RegionSearchResult toResult(int entry) {
+        int level = levelOf(offsets, entry);
+        RegionTable table = tables[level];
+        int index = entry - offsets[level];
+        RegionLevel regionLevel = RegionLevel.values()[level];
+        return new RegionSearchResult(table.id(index), regionLevel,
+                regionLevel.parent() == null ? null : table.parentId(index), table.name(index));
+    }
+
+    /**
+     * @return rank kecocokan {@code query} di {@code name}, atau -1 kalau tidak cocok sama sekali.
+     */
+    static int rank(String name, String query) {
+        if (name.equals(query)) {
+            return RANK_EXACT;
+        }
+        if (name.startsWith(query)) {
+            return RANK_NAME_PREFIX;
+        }
+        int at = name.indexOf(query);
+        if (at < 0) {
+            return -1;
+        }
+        for (; at > 0; at = name.indexOf(query, at + 1)) {
+            if (name.charAt(at - 1) == ' ') {
+                return RANK_WORD_PREFIX;
+            }
+        }
+        return RANK_CONTAINS;
+    }
+
+    /**
+     * Kunci urutan: rank, level, panjang nama, lalu nomor entri (yang sudah mengikuti urutan kode).
+     */
+    private long key(int rank, int entry) {
+        long level = levelOf(offsets, entry);
+        long length = Math.min(names[entry].length(), (1 << LENGTH_BITS) - 1);
+        return ((long) rank << (ENTRY_BITS + LENGTH_BITS + 2))
+                | (level << (ENTRY_BITS + LENGTH_BITS))
+                | (length << ENTRY_BITS)
+                | entry;
+    }
+
+    private static int levelOf(int[] offsets, int entry) {
+        int level = 0;
+        while (entry >= offsets[level + 1]) {
+            level++;
+        }
+        return level;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int index = Arrays.binarySearch(sorted, key);
+        if (index < 0) {
+            return -index - 1;
+        }
+        // Kata duplikat: mundur ke kemunculan pertama
+        while (index > 0 && sorted[index - 1].equals(key)) {
+            index--;
+        }
+        return index;
+    }
+
+    private static int symbol(char c) {
+        if (c == ' ') {
+            return 0;
+        }
+        if (c >= '0' && c <= '9') {
+            return 1 + c - '0';
+        }
+        return 11 + c - 'A';
+    }
+
+    private static void forEachTrigram(String name, IntConsumer consumer) {
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            consumer.accept((symbol(name.charAt(i)) * ALPHABET + symbol(name.charAt(i + 1))) * ALPHABET
+                    + symbol(name.charAt(i + 2)));
+        }
+    }
+
+    private static int[] distinctTrigrams(String query) {
+        LongList grams = new LongList();
+        forEachTrigram(query, grams::add);
+        int[] distinct = new int[grams.sortDistinct()];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] = (int) grams.get(i);
+        }
+        return distinct;
+    }
+
+    /**
+     * Filter level dan induk, dihitung di atas kode primitif tanpa membuat objek model.
+     */
+    private final class Filter {
+        private final int level;
+        private final RegionLevel parentLevel;
+        private final long parentCode;
+
+        private Filter(RegionLevel level, String parentId) {
+            this.level = level == null ? -1 : level.ordinal();
+            if (parentId == null) {
+                this.parentLevel = null;
+                this.parentCode = -1;
+            } else {
+                this.parentLevel = RegionLevel.ofDigits(parentId.length());
+                this.parentCode = RegionCode.encode(parentId);
+            }
+        }
+
+        boolean accepts(int entry) {
+            int entryLevel = levelOf(offsets, entry);
+            if (level >= 0 && entryLevel != level) {
+                return false;
+            }
+            if (parentLevel == null) {
+                return true;
+            }
+            if (entryLevel <= parentLevel.ordinal()) {
+                return false;
+            }
+            RegionLevel regionLevel = RegionLevel.values()[entryLevel];
+            long code = tables[entryLevel].code(entry - offsets[entryLevel]);
+            return RegionCode.ancestorOf(code, regionLevel, parentLevel) == parentCode;
+        }
+    }
+
+    /**
+     * List long primitif yang bisa tumbuh, supaya hit tidak perlu di-box.
+     */
+    private static final class LongList {
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long get(int index) {
+            return values[index];
+        }
+
+        /**
+         * Mengurutkan isi list dan membuang nilai duplikat.
+         *
+         * @return jumlah nilai berbeda.
+         */
+        int sortDistinct() {
+            Arrays.sort(values, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || values[distinct - 1] != values[i]) {
+                    values[distinct++] = values[i];
+                }
+            }
+            size = distinct;
+            return size;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.RegionSearchResult;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pencarian nama wilayah di atas {@link RegionSearchIndex} yang dibangun dari snapshot aktif.
+ * Index dibangun ulang oleh {@link com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder}
+ * setiap versi snapshot berubah, lalu ditukar secara atomik seperti snapshot itu sendiri.
+ */
+@ApplicationScoped
+public class RegionSearchService {
+
+    private static final Logger LOGGER = Logger.getLogger(RegionSearchService.class.getName());
+
+    private final AtomicReference<RegionSearchIndex> current = new AtomicReference<>();
+
+    /**
+     * Membangun index untuk snapshot baru. Kalau gagal, index lama tetap dipakai.
+     */
+    public void rebuild(RegionSnapshot snapshot) {
+        try {
+            long start = System.nanoTime();
+            RegionSearchIndex index = RegionSearchIndex.of(snapshot);
+            current.set(index);
+            LOGGER.log(Level.INFO, "Index pencarian wilayah diperbarui: " + index.size()
+                    + " nama dalam " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Gagal membangun index pencarian wilayah, tetap memakai index sebelumnya.", e);
+        }
+    }
+
+    /**
+     * Index yang sedang aktif.
+     *
+     * @return Optional kosong kalau snapshot belum pernah dibangun.
+     */
+    public Optional<RegionSearchIndex> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Mencari wilayah berdasarkan nama.
+     *
+     * @return Optional kosong kalau index belum tersedia.
+     * @see RegionSearchIndex#search(String, RegionLevel, String, int)
+     */
+    public Optional<List<RegionSearchResult>> search(String query, RegionLevel level, String parentId, int limit) {
+        return current().map(index -> index.search(query, level, parentId, limit));
+    }
+}
@@ -1,71 +1,138 @@
 package com.dimata.service.dewas.wilayah.service;
 
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.importer.ImportResult;
+import com.dimata.service.dewas.wilayah.importer.RegionImportService;
 import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
 import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @ApplicationScoped
 public class DistrictService {
 
-    private static final Logger LOGGER = Logger.getLogger(DistrictService.class.getName());
-    private static final int BATCH_SIZE = 1000; // Menentukan ukuran batch optimal
-
     @Inject
     DistrictRepository districtRepository;
 
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @Inject
+    RegionImportService regionImportService;
+
     /**
      * Mengambil semua data kecamatan.
      * @return List berisi semua data kecamatan.
      */
     public List<District> getAllDistricts() {
-        return districtRepository.findAllDistricts();
+        return getAllDistricts(PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data kecamatan.
+     * @param page parameter keyset pagination.
+     * @return List berisi data kecamatan dalam halaman tersebut.
+     */
+    public List<District> getAllDistricts(PageRequest page) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.getDistricts(page))
+                .orElseGet(() -> districtRepository.findAllDistricts(page));
+    }
+
+    /**
+     * Mengalirkan semua data kecamatan ke {@code consumer} tanpa membangun List penuh.
+     * Dari snapshot kalau tersedia, kalau tidak langsung dari cursor database.
+     *
+     * @param consumer penerima setiap data kecamatan.
+     */
+    public void forEachDistrict(Consumer<District> consumer) {
+        Optional<RegionSnapshot> snapshot = snapshotHolder.current();
+        if (snapshot.isPresent()) {
+            snapshot.get().getDistricts().forEach(consumer);
+        } else {
+            districtRepository.forEachDistrict(consumer);
+        }
+    }
+
+    /**
+     * @return true kalau ada data kecamatan yang bisa dikirim.
+     */
+    public boolean hasDistricts() {
+        return snapshotHolder.current()
+                .map(snapshot -> !snapshot.getDistricts().isEmpty())
+                .orElseGet(districtRepository::existsAny);
     }
 
     /**
      * Mencari kecamatan berdasarkan ID provinsi.
-     * Potensial optimasi: cache untuk menghindari query berulang pada data yang sama.
+     * Dijawab dari snapshot di memori, query ke database hanya dipakai kalau snapshot belum tersedia.
      *
      * @param provinceId ID provinsi
      * @return List of Districts berdasarkan ID provinsi
      */
     public List<District> findByProvinceId(String provinceId) {
-        return districtRepository.findByProvinceId(provinceId);
+        return findByProvinceId(provinceId, PageRequest.all());
     }
 
     /**
-     * Import data kecamatan dari file CSV dan melakukan upsert secara batch.
-     * Menggunakan parallel stream untuk memproses data lebih cepat dan groupingBy untuk membagi batch.
+     * Mencari satu halaman kecamatan berdasarkan ID provinsi.
+     *
+     * @param provinceId ID provinsi
+     * @param page       parameter keyset pagination
+     * @return List of Districts dalam halaman tersebut
      */
-    public void importFromCsvWithUpsert() {
-        String resourcePath = "/file-data-wilayah/districts.csv";
+    public List<District> findByProvinceId(String provinceId, PageRequest page) {
+        return findByProvinceId(provinceId, page, null);
+    }
 
-        try (InputStream inputStream = getClass().getResourceAsStream(resourcePath);
-             InputStreamReader reader = new InputStreamReader(inputStream);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT)) {
+    /**
+     * Mencari satu halaman kecamatan berdasarkan ID provinsi.
+     * Kalau strategi query diminta secara eksplisit, snapshot dilewati dan query langsung ke database
+     * dengan strategi tersebut, supaya kedua strategi bisa dibandingkan di data produksi.
+     *
+     * @param provinceId ID provinsi
+     * @param page       parameter keyset pagination
+     * @param strategy   strategi query, null untuk perilaku normal
+     * @return List of Districts dalam halaman tersebut
+     */
+    public List<District> findByProvinceId(String provinceId, PageRequest page, QueryStrategy strategy) {
+        if (strategy != null) {
+            return districtRepository.findByProvinceId(provinceId, page, strategy);
+        }
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.findDistrictsByProvinceId(provinceId, page))
+                .orElseGet(() -> districtRepository.findByProvinceId(provinceId, page));
+    }
 
-            // Parsing CSV dengan parallel stream dan batch processing
-            csvParser.getRecords().parallelStream()
-                    .map(record -> new District(record.get(0), record.get(1), record.get(2)))
-                    .collect(Collectors.groupingBy(d -> d.getId().hashCode() % BATCH_SIZE))
-                    .values()
-                    .forEach(batch -> {
-                        districtRepository.bulkUpsert(batch);
-                        LOGGER.log(Level.INFO, "Batch upsert sukses dengan size: " + batch.size());
-                    });
+    /**
+     * Mencari satu halaman kecamatan berdasarkan ID kabupaten (untuk dropdown berjenjang).
+     *
+     * @param regencyId ID kabupaten
+     * @param page      parameter keyset pagination
+     * @return List of Districts dalam kabupaten tersebut
+     */
+    public List<District> findByRegencyId(String regencyId, PageRequest page) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.findDistrictsByRegencyId(regencyId, page))
+                .orElseGet(() -> districtRepository.findByRegencyId(regencyId, page));
+    }
 
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Gagal membaca file CSV: " + resourcePath, e);
-        }
+    /**
+     * Import data kecamatan dari file CSV dan melakukan upsert secara batch.
+     *
+     * @return ringkasan import.
+     * @throws IOException kalau file CSV tidak ditemukan atau gagal dibaca.
+     */
+    public ImportResult importFromCsvWithUpsert() throws IOException {
+        return regionImportService.importLevel(RegionLevel.DISTRICT);
     }
 }
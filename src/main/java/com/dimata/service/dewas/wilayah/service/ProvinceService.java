@@ -1,75 +1,95 @@
 package com.dimata.service.dewas.wilayah.service;
 
+import com.dimata.service.dewas.wilayah.cache.NegativeLookupCache;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.importer.ImportResult;
+import com.dimata.service.dewas.wilayah.importer.RegionBootstrap;
+import com.dimata.service.dewas.wilayah.importer.RegionImportService;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
 import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
 import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ProvinceService {
 
-    private static final Logger LOGGER = Logger.getLogger(ProvinceService.class.getName());
-    private static final int BATCH_SIZE = 1000;
-
     @Inject
     ProvinceRepository provinceRepository;
 
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @Inject
+    RegionImportService regionImportService;
+
+    @Inject
+    RegionBootstrap regionBootstrap;
+
+    @Inject
+    NegativeLookupCache negativeLookupCache;
+
     /**
      * Mendapatkan semua data provinsi.
      *
      * @return List of Province berisi semua data provinsi.
      */
     public List<Province> getAllProvinces() {
-        return provinceRepository.findAll();
+        return getAllProvinces(PageRequest.all());
+    }
+
+    /**
+     * Mendapatkan satu halaman data provinsi.
+     *
+     * @param page parameter keyset pagination.
+     * @return List of Province dalam halaman tersebut.
+     */
+    public List<Province> getAllProvinces(PageRequest page) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.getProvinces(page))
+                .orElseGet(() -> provinceRepository.findAll(page));
     }
 
     /**
-     * Mencari data provinsi berdasarkan ID, dengan fallback ke import data CSV jika tidak ditemukan.
+     * Mencari data provinsi berdasarkan ID.
+     * ID yang baru saja tidak ditemukan dijawab dari {@link NegativeLookupCache} tanpa query ke database.
      *
      * @param id ID provinsi
      * @return Optional berisi Province jika ditemukan, atau Optional kosong jika tidak ditemukan.
      */
     public Optional<Province> getProvinceById(String id) {
-        return Optional.ofNullable(provinceRepository.findById(id)
-                .orElseGet(() -> {
-                    importFromCsvWithUpsert();
-                    return provinceRepository.findById(id).orElse(null);
-                }));
+        if (negativeLookupCache.isKnownMissing(RegionLevel.PROVINCE, id)) {
+            return Optional.empty();
+        }
+
+        Optional<Province> province = findById(id);
+        if (province.isEmpty()) {
+            negativeLookupCache.markMissing(RegionLevel.PROVINCE, id);
+            // Kalau tabel ternyata kosong, isi lewat job background; tidak pernah ditunggu di sini
+            regionBootstrap.ensureData();
+        }
+        return province;
+    }
+
+    private Optional<Province> findById(String id) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.findProvinceById(id))
+                .orElseGet(() -> provinceRepository.findById(id));
     }
 
     /**
      * Import data dari file CSV ke database menggunakan batch processing.
-     * Menggunakan parallel stream dan group by untuk meningkatkan performa.
+     * File dibaca sekali jalan dan ditulis per batch berukuran tetap lewat {@link RegionImportService}.
+     *
+     * @return ringkasan import.
+     * @throws IOException kalau file CSV tidak ditemukan atau gagal dibaca.
      */
-    public void importFromCsvWithUpsert() {
-        String resourcePath = "/file-data-wilayah/provinces.csv";
-
-        try (InputStream inputStream = getClass().getResourceAsStream(resourcePath);
-             InputStreamReader reader = new InputStreamReader(inputStream);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT)) {
-
-            // Parsing CSV dan memproses dalam batch
-            csvParser.getRecords().parallelStream()
-                    .map(record -> new Province(record.get(0), record.get(1)))
-                    .collect(Collectors.groupingBy(p -> p.getId().hashCode() % BATCH_SIZE))
-                    .values()
-                    .forEach(batch -> {
-                        provinceRepository.bulkUpsert(batch);
-                        LOGGER.log(Level.INFO, "Batch upsert sukses dengan size: " + batch.size());
-                    });
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Gagal membaca file CSV: " + resourcePath, e);
-        }
+    public ImportResult importFromCsvWithUpsert() throws IOException {
+        return regionImportService.importLevel(RegionLevel.PROVINCE);
     }
 }
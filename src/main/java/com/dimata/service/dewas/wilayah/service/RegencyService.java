@@ -1,79 +1,107 @@
 package com.dimata.service.dewas.wilayah.service;
 
+import com.dimata.service.dewas.wilayah.cache.NegativeLookupCache;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.importer.ImportResult;
+import com.dimata.service.dewas.wilayah.importer.RegionBootstrap;
+import com.dimata.service.dewas.wilayah.importer.RegionImportService;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
 import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
 import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class RegencyService {
 
-    private static final Logger LOGGER = Logger.getLogger(RegencyService.class.getName());
-    private static final int BATCH_SIZE = 1000;
-
     @Inject
     RegencyRepository regencyRepository;
 
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @Inject
+    RegionImportService regionImportService;
+
+    @Inject
+    RegionBootstrap regionBootstrap;
+
+    @Inject
+    NegativeLookupCache negativeLookupCache;
+
     /**
      * Mengambil semua data kabupaten.
      *
      * @return List of Regency berisi semua data kabupaten.
      */
     public List<Regency> getAllRegencies() {
-        return regencyRepository.findAll();
+        return getAllRegencies(PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data kabupaten.
+     *
+     * @param page parameter keyset pagination.
+     * @return List of Regency dalam halaman tersebut.
+     */
+    public List<Regency> getAllRegencies(PageRequest page) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.getRegencies(page))
+                .orElseGet(() -> regencyRepository.findAll(page));
     }
 
     /**
      * Mengambil data kabupaten berdasarkan ID provinsi.
-     * Jika tidak ada data, coba import data dari CSV.
      *
      * @param provinceId ID provinsi.
      * @return List of Regency yang sesuai dengan ID provinsi.
      */
     public List<Regency> getRegenciesByProvinceId(String provinceId) {
-        List<Regency> regencies = regencyRepository.findByProvinceId(provinceId);
+        return getRegenciesByProvinceId(provinceId, PageRequest.all());
+    }
 
-        if (regencies.isEmpty()) {
-            importFromCsvWithUpsert();
-            regencies = regencyRepository.findByProvinceId(provinceId);
+    /**
+     * Mengambil satu halaman data kabupaten berdasarkan ID provinsi.
+     * Provinsi yang baru saja tidak punya kabupaten dijawab dari {@link NegativeLookupCache}.
+     *
+     * @param provinceId ID provinsi.
+     * @param page       parameter keyset pagination.
+     * @return List of Regency dalam halaman tersebut.
+     */
+    public List<Regency> getRegenciesByProvinceId(String provinceId, PageRequest page) {
+        boolean firstPage = page.getAfter() == null;
+        if (firstPage && negativeLookupCache.isKnownMissing(RegionLevel.REGENCY, provinceId)) {
+            return List.of();
         }
 
+        List<Regency> regencies = findByProvinceId(provinceId, page);
+        if (regencies.isEmpty() && firstPage) {
+            negativeLookupCache.markMissing(RegionLevel.REGENCY, provinceId);
+            // Kalau tabel ternyata kosong, isi lewat job background; tidak pernah ditunggu di sini
+            regionBootstrap.ensureData();
+        }
         return regencies;
     }
 
+    private List<Regency> findByProvinceId(String provinceId, PageRequest page) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.findRegenciesByProvinceId(provinceId, page))
+                .orElseGet(() -> regencyRepository.findByProvinceId(provinceId, page));
+    }
+
     /**
      * Import data dari file CSV ke database menggunakan batch processing.
+     *
+     * @return ringkasan import.
+     * @throws IOException kalau file CSV tidak ditemukan atau gagal dibaca.
      */
-    public void importFromCsvWithUpsert() {
-        String resourcePath = "/file-data-wilayah/regencies.csv";
-
-        try (InputStream inputStream = getClass().getResourceAsStream(resourcePath);
-             InputStreamReader reader = new InputStreamReader(inputStream);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT)) {
-
-            csvParser.getRecords().parallelStream()
-                    .map(record -> new Regency(record.get(0), record.get(1), record.get(2)))
-                    .collect(Collectors.groupingBy(r -> r.getId().hashCode() % BATCH_SIZE))
-                    .values()
-                    .forEach(batch -> {
-                        regencyRepository.bulkUpsert(batch);
-                        LOGGER.log(Level.INFO, "Batch upsert sukses dengan size: " + batch.size());
-                    });
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Gagal membaca file CSV: " + resourcePath, e);
-        }
+    public ImportResult importFromCsvWithUpsert() throws IOException {
+        return regionImportService.importLevel(RegionLevel.REGENCY);
     }
 }
@@ -0,0 +1,171 @@
+package com.dimata.service.dewas.wilayah.service;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.ResolvedRegion;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
+import com.dimata.service.dewas.wilayah.repo.VillageRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolusi banyak ID wilayah dari level campuran sekaligus, masing-masing beserta rantai induknya.
+ * <p>
+ * ID induk cukup diturunkan dari awalan ID, jadi semua wilayah yang dibutuhkan bisa dikumpulkan dulu
+ * per level. Kalau snapshot tersedia semuanya dibaca dari memori; kalau tidak, setiap level hanya
+ * butuh satu query {@code WHERE id IN (...)} (dipecah per {@code dimata.wilayah.resolve.chunk-size} ID).
+ */
+@ApplicationScoped
+public class RegionResolveService {
+
+    @Inject
+    ProvinceRepository provinceRepository;
+
+    @Inject
+    RegencyRepository regencyRepository;
+
+    @Inject
+    DistrictRepository districtRepository;
+
+    @Inject
+    VillageRepository villageRepository;
+
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @ConfigProperty(name = "dimata.wilayah.resolve.max-batch", defaultValue = "10000")
+    int maxBatch;
+
+    @ConfigProperty(name = "dimata.wilayah.resolve.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    /**
+     * Jumlah ID maksimal dalam satu permintaan.
+     */
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    /**
+     * Meresolusi daftar ID. Urutan hasil sama dengan urutan input; ID yang tidak valid atau tidak
+     * ditemukan tetap mendapat entri dengan {@code found = false}.
+     *
+     * @param ids ID provinsi, kabupaten, kecamatan atau desa, boleh bercampur.
+     * @return hasil resolusi per ID.
+     */
+    public List<ResolvedRegion> resolve(List<String> ids) {
+        Map<RegionLevel, Set<String>> needed = new EnumMap<>(RegionLevel.class);
+        for (RegionLevel level : RegionLevel.values()) {
+            needed.put(level, new LinkedHashSet<>());
+        }
+        for (String id : ids) {
+            RegionLevel level = levelOf(id);
+            for (; level != null; level = level.parent()) {
+                needed.get(level).add(id.substring(0, level.getDigits()));
+            }
+        }
+
+        Optional<RegionSnapshot> snapshot = snapshotHolder.current();
+        Map<String, Province> provinces = snapshot.isPresent()
+                ? fromSnapshot(needed.get(RegionLevel.PROVINCE), snapshot.get()::findProvinceById)
+                : fromDatabase(needed.get(RegionLevel.PROVINCE), provinceRepository::findByIds, Province::getId);
+        Map<String, Regency> regencies = snapshot.isPresent()
+                ? fromSnapshot(needed.get(RegionLevel.REGENCY), snapshot.get()::findRegencyById)
+                : fromDatabase(needed.get(RegionLevel.REGENCY), regencyRepository::findByIds, Regency::getId);
+        Map<String, District> districts = snapshot.isPresent()
+                ? fromSnapshot(needed.get(RegionLevel.DISTRICT), snapshot.get()::findDistrictById)
+                : fromDatabase(needed.get(RegionLevel.DISTRICT), districtRepository::findByIds, District::getId);
+        Map<String, Village> villages = snapshot.isPresent()
+                ? fromSnapshot(needed.get(RegionLevel.VILLAGE), snapshot.get()::findVillageById)
+                : fromDatabase(needed.get(RegionLevel.VILLAGE), villageRepository::findByIds, Village::getId);
+
+        List<ResolvedRegion> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            ResolvedRegion result = new ResolvedRegion(id);
+            RegionLevel level = levelOf(id);
+            if (level != null) {
+                result.setLevel(level);
+                int digits = level.getDigits();
+                result.setProvince(provinces.get(id.substring(0, RegionLevel.PROVINCE.getDigits())));
+                if (digits >= RegionLevel.REGENCY.getDigits()) {
+                    result.setRegency(regencies.get(id.substring(0, RegionLevel.REGENCY.getDigits())));
+                }
+                if (digits >= RegionLevel.DISTRICT.getDigits()) {
+                    result.setDistrict(districts.get(id.substring(0, RegionLevel.DISTRICT.getDigits())));
+                }
+                if (digits >= RegionLevel.VILLAGE.getDigits()) {
+                    result.setVillage(villages.get(id));
+                }
+                result.setFound(isFound(result, level));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static boolean isFound(ResolvedRegion result, RegionLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return result.getProvince() != null;
+            case REGENCY:
+                return result.getRegency() != null;
+            case DISTRICT:
+                return result.getDistrict() != null;
+            default:
+                return result.getVillage() != null;
+        }
+    }
+
+    /**
+     * @return level dari ID, atau null kalau ID bukan angka dengan panjang kode wilayah.
+     */
+    private static RegionLevel levelOf(String id) {
+        if (id == null || id.isEmpty() || !id.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return null;
+        }
+        try {
+            return RegionLevel.ofDigits(id.length());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static <T> Map<String, T> fromSnapshot(Set<String> ids, Function<String, Optional<T>> finder) {
+        Map<String, T> found = new HashMap<>();
+        for (String id : ids) {
+            finder.apply(id).ifPresent(entity -> found.put(id, entity));
+        }
+        return found;
+    }
+
+    private <T> Map<String, T> fromDatabase(Set<String> ids, Function<Collection<String>, List<T>> finder,
+                                            Function<T, String> idOf) {
+        Map<String, T> found = new HashMap<>();
+        List<String> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            for (T entity : finder.apply(all.subList(from, Math.min(all.size(), from + chunkSize)))) {
+                found.put(idOf.apply(entity), entity);
+            }
+        }
+        return found;
+    }
+}
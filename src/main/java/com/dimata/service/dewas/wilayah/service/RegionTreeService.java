@@ -0,0 +1,101 @@
+package com.dimata.service.dewas.wilayah.service;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.RegionTree;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
+import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
+import com.dimata.service.dewas.wilayah.repo.VillageRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Menyiapkan pohon provinsi -> kabupaten -> kecamatan -> desa.
+ * <p>
+ * Dari snapshot, setiap level hanyalah view atas rentang tabel yang sudah terurut, jadi pohon seluruh
+ * Indonesia tidak perlu dibangun atau disalin per request. Tanpa snapshot, setiap level dibaca dengan
+ * satu query rentang primary key yang terurut ID (tanpa join).
+ */
+@ApplicationScoped
+public class RegionTreeService {
+
+    /**
+     * Kedalaman maksimal: kabupaten, kecamatan dan desa di bawah provinsi.
+     */
+    public static final int MAX_DEPTH = 3;
+
+    @Inject
+    ProvinceRepository provinceRepository;
+
+    @Inject
+    RegencyRepository regencyRepository;
+
+    @Inject
+    DistrictRepository districtRepository;
+
+    @Inject
+    VillageRepository villageRepository;
+
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    /**
+     * Pohon satu provinsi.
+     *
+     * @param provinceId ID provinsi.
+     * @param depth      jumlah level di bawah provinsi, 0 sampai {@link #MAX_DEPTH}.
+     * @return Optional kosong kalau provinsi tidak ditemukan.
+     */
+    public Optional<RegionTree> getProvinceTree(String provinceId, int depth) {
+        Optional<RegionSnapshot> current = snapshotHolder.current();
+        if (current.isPresent()) {
+            RegionSnapshot snapshot = current.get();
+            return snapshot.findProvinceById(provinceId).map(province -> new RegionTree(
+                    List.of(province),
+                    depth >= 1 ? snapshot.findRegenciesByProvinceId(provinceId) : List.of(),
+                    depth >= 2 ? snapshot.findDistrictsByProvinceId(provinceId) : List.of(),
+                    depth >= 3 ? snapshot.findVillagesByProvinceId(provinceId) : List.of(),
+                    depth));
+        }
+
+        Optional<Province> province = provinceRepository.findById(provinceId);
+        return province.map(found -> new RegionTree(
+                List.of(found),
+                depth >= 1 ? regencyRepository.findByProvinceId(provinceId) : List.of(),
+                depth >= 2 ? districtRepository.findByProvinceId(provinceId, PageRequest.all(), QueryStrategy.ID_RANGE) : List.of(),
+                depth >= 3 ? villageRepository.findByProvinceId(provinceId, PageRequest.all(), QueryStrategy.ID_RANGE) : List.of(),
+                depth));
+    }
+
+    /**
+     * Pohon seluruh provinsi.
+     *
+     * @param depth jumlah level di bawah provinsi, 0 sampai {@link #MAX_DEPTH}.
+     */
+    public RegionTree getCountryTree(int depth) {
+        Optional<RegionSnapshot> current = snapshotHolder.current();
+        if (current.isPresent()) {
+            RegionSnapshot snapshot = current.get();
+            return new RegionTree(
+                    snapshot.getProvinces(),
+                    depth >= 1 ? snapshot.getRegencies() : List.of(),
+                    depth >= 2 ? snapshot.getDistricts() : List.of(),
+                    depth >= 3 ? snapshot.getVillages() : List.of(),
+                    depth);
+        }
+
+        return new RegionTree(
+                provinceRepository.findAll(),
+                depth >= 1 ? regencyRepository.findAll() : List.of(),
+                depth >= 2 ? districtRepository.findAllDistricts() : List.of(),
+                depth >= 3 ? villageRepository.findAll() : List.of(),
+                depth);
+    }
+}
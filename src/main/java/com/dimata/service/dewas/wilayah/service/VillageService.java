@@ -1,35 +1,75 @@
 package com.dimata.service.dewas.wilayah.service;
 
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.importer.ImportResult;
+import com.dimata.service.dewas.wilayah.importer.RegionImportService;
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
 import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.orm.core.QueryStrategy;
 import com.dimata.service.dewas.wilayah.repo.VillageRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @ApplicationScoped
 public class VillageService {
 
-    private static final Logger LOGGER = Logger.getLogger(VillageService.class.getName());
-    private static final int BATCH_SIZE = 1000;
-
     @Inject
     VillageRepository villageRepository;
 
+    @Inject
+    RegionSnapshotHolder snapshotHolder;
+
+    @Inject
+    RegionImportService regionImportService;
+
     /**
      * Mengambil semua data desa.
      * @return List berisi semua data desa.
      */
     public List<Village> getAllVillages() {
-        return villageRepository.findAll();
+        return getAllVillages(PageRequest.all());
+    }
+
+    /**
+     * Mengambil satu halaman data desa.
+     * @param page parameter keyset pagination.
+     * @return List berisi data desa dalam halaman tersebut.
+     */
+    public List<Village> getAllVillages(PageRequest page) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.getVillages(page))
+                .orElseGet(() -> villageRepository.findAll(page));
+    }
+
+    /**
+     * Mengalirkan semua data desa ke {@code consumer} tanpa membangun List penuh.
+     * Dari snapshot kalau tersedia, kalau tidak langsung dari cursor database.
+     *
+     * @param consumer penerima setiap data desa.
+     */
+    public void forEachVillage(Consumer<Village> consumer) {
+        Optional<RegionSnapshot> snapshot = snapshotHolder.current();
+        if (snapshot.isPresent()) {
+            snapshot.get().getVillages().forEach(consumer);
+        } else {
+            villageRepository.forEachVillage(consumer);
+        }
+    }
+
+    /**
+     * @return true kalau ada data desa yang bisa dikirim.
+     */
+    public boolean hasVillages() {
+        return snapshotHolder.current()
+                .map(snapshot -> !snapshot.getVillages().isEmpty())
+                .orElseGet(villageRepository::existsAny);
     }
 
     /**
@@ -39,32 +79,72 @@ public class VillageService {
      * @return List desa dalam provinsi terkait
      */
     public List<Village> getVillagesByProvinceId(String provinceId) {
-        return villageRepository.findByProvinceId(provinceId);
+        return getVillagesByProvinceId(provinceId, PageRequest.all());
     }
 
     /**
-     * Import data desa dari CSV menggunakan upsert dalam batch.
-     * Metode ini membaca file CSV dalam mode stream dan mengelompokkan data untuk di-batch proses upsert.
+     * Mengambil satu halaman desa berdasarkan ID provinsi.
+     *
+     * @param provinceId ID provinsi
+     * @param page       parameter keyset pagination
+     * @return List desa dalam halaman tersebut
      */
-    public void importFromCsvWithUpsert() {
-        String resourcePath = "/file-data-wilayah/villages.csv";
-
-        try (InputStream inputStream = getClass().getResourceAsStream(resourcePath);
-             InputStreamReader reader = new InputStreamReader(inputStream);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT)) {
-
-            // Stream paralel untuk parsing dan batching CSV records
-            csvParser.getRecords().parallelStream()
-                    .map(record -> new Village(record.get(0), record.get(1), record.get(2)))
-                    .collect(Collectors.groupingBy(v -> v.getId().hashCode() % BATCH_SIZE))
-                    .values()
-                    .forEach(batch -> {
-                        villageRepository.bulkUpsert(batch);
-                        LOGGER.log(Level.INFO, "Batch upsert sukses dengan size: " + batch.size());
-                    });
-
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Gagal membaca file CSV: " + resourcePath, e);
+    public List<Village> getVillagesByProvinceId(String provinceId, PageRequest page) {
+        return getVillagesByProvinceId(provinceId, page, null);
+    }
+
+    /**
+     * Mengambil satu halaman desa berdasarkan ID provinsi.
+     * Kalau strategi query diminta secara eksplisit, snapshot dilewati dan query langsung ke database
+     * dengan strategi tersebut, supaya kedua strategi bisa dibandingkan di data produksi.
+     *
+     * @param provinceId ID provinsi
+     * @param page       parameter keyset pagination
+     * @param strategy   strategi query, null untuk perilaku normal
+     * @return List desa dalam halaman tersebut
+     */
+    public List<Village> getVillagesByProvinceId(String provinceId, PageRequest page, QueryStrategy strategy) {
+        if (strategy != null) {
+            return villageRepository.findByProvinceId(provinceId, page, strategy);
         }
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.findVillagesByProvinceId(provinceId, page))
+                .orElseGet(() -> villageRepository.findByProvinceId(provinceId, page));
+    }
+
+    /**
+     * Mengambil satu halaman desa berdasarkan ID kecamatan (untuk dropdown berjenjang).
+     *
+     * @param districtId ID kecamatan
+     * @param page       parameter keyset pagination
+     * @return List desa dalam kecamatan tersebut
+     */
+    public List<Village> getVillagesByDistrictId(String districtId, PageRequest page) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.findVillagesByDistrictId(districtId, page))
+                .orElseGet(() -> villageRepository.findByDistrictId(districtId, page));
+    }
+
+    /**
+     * Mengambil satu desa berdasarkan ID.
+     *
+     * @param id ID desa
+     * @return Optional berisi desa jika ditemukan
+     */
+    public Optional<Village> getVillageById(String id) {
+        return snapshotHolder.current()
+                .map(snapshot -> snapshot.findVillageById(id))
+                .orElseGet(() -> villageRepository.findById(id));
+    }
+
+    /**
+     * Import data desa dari CSV menggunakan upsert dalam batch.
+     * File dibaca dalam mode stream sehingga memori yang dipakai hanya sebesar beberapa batch.
+     *
+     * @return ringkasan import.
+     * @throws IOException kalau file CSV tidak ditemukan atau gagal dibaca.
+     */
+    public ImportResult importFromCsvWithUpsert() throws IOException {
+        return regionImportService.importLevel(RegionLevel.VILLAGE);
     }
 }
@@ -0,0 +1,49 @@
+-- Skema tabel wilayah.
+-- Dipakai sebagai sumber jOOQ codegen (DDLDatabase), jadi build tidak butuh koneksi ke MySQL.
+
+CREATE TABLE provinces (
+    id   CHAR(2)      NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_provinces PRIMARY KEY (id)
+);
+
+CREATE TABLE regencies (
+    id          CHAR(4)      NOT NULL,
+    province_id CHAR(2)      NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_regencies PRIMARY KEY (id),
+    CONSTRAINT fk_regencies_province FOREIGN KEY (province_id) REFERENCES provinces (id)
+);
+
+CREATE INDEX regencies_province_id_index ON regencies (province_id);
+
+CREATE TABLE districts (
+    id         CHAR(7)      NOT NULL,
+    regency_id CHAR(4)      NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_districts PRIMARY KEY (id),
+    CONSTRAINT fk_districts_regency FOREIGN KEY (regency_id) REFERENCES regencies (id)
+);
+
+CREATE INDEX districts_regency_id_index ON districts (regency_id);
+
+CREATE TABLE villages (
+    id          CHAR(10)     NOT NULL,
+    district_id CHAR(7)      NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_villages PRIMARY KEY (id),
+    CONSTRAINT fk_villages_district FOREIGN KEY (district_id) REFERENCES districts (id)
+);
+
+CREATE INDEX villages_district_id_index ON villages (district_id);
+
+-- Lock antar node untuk import: hanya node yang memegang lock (locked_until belum lewat) yang boleh import.
+-- imported_checksum: checksum gabungan file CSV pada import terjadwal terakhir yang berhasil, dibaca semua node.
+-- Dibuat juga saat runtime oleh ImportLockRepository (CREATE TABLE IF NOT EXISTS), jadi database lama tidak perlu migrasi manual.
+CREATE TABLE region_import_lock (
+    name              VARCHAR(64)  NOT NULL,
+    owner             VARCHAR(128) NOT NULL,
+    locked_until      TIMESTAMP    NOT NULL,
+    imported_checksum CHAR(64)     NULL,
+    CONSTRAINT pk_region_import_lock PRIMARY KEY (name)
+);
@@ -0,0 +1,43 @@
+package com.dimata.service.dewas.wilayah.cache;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NegativeLookupCacheTest {
+
+    private static NegativeLookupCache cache(int maxSize, long ttlSeconds) {
+        NegativeLookupCache cache = new NegativeLookupCache();
+        cache.maxSize = maxSize;
+        cache.ttlSeconds = ttlSeconds;
+        return cache;
+    }
+
+    @Test
+    void remembersMissesPerLevel() {
+        NegativeLookupCache cache = cache(10, 60);
+        cache.markMissing(RegionLevel.PROVINCE, "99");
+
+        assertTrue(cache.isKnownMissing(RegionLevel.PROVINCE, "99"));
+        assertFalse(cache.isKnownMissing(RegionLevel.REGENCY, "99"));
+
+        cache.clear();
+        assertFalse(cache.isKnownMissing(RegionLevel.PROVINCE, "99"));
+    }
+
+    @Test
+    void expiredAndEvictedEntriesAreForgotten() {
+        NegativeLookupCache expired = cache(10, 0);
+        expired.markMissing(RegionLevel.PROVINCE, "99");
+        assertFalse(expired.isKnownMissing(RegionLevel.PROVINCE, "99"));
+
+        NegativeLookupCache bounded = cache(2, 60);
+        bounded.markMissing(RegionLevel.PROVINCE, "97");
+        bounded.markMissing(RegionLevel.PROVINCE, "98");
+        bounded.markMissing(RegionLevel.PROVINCE, "99");
+        assertFalse(bounded.isKnownMissing(RegionLevel.PROVINCE, "97"));
+        assertTrue(bounded.isKnownMissing(RegionLevel.PROVINCE, "99"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.dimata.service.dewas.wilayah.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseByteCacheTest {
+
+    private static ResponseByteCache cache(long maxBytes) {
+        ResponseByteCache cache = new ResponseByteCache();
+        cache.enabled = true;
+        cache.maxBytes = maxBytes;
+        cache.maxEntryBytes = Integer.MAX_VALUE;
+        return cache;
+    }
+
+    private static ResponseByteCache.Entry entry(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return ResponseByteCache.Entry.of(bytes, bytes.length, "application/json", null, null);
+    }
+
+    @Test
+    void returnsStoredBytes() {
+        ResponseByteCache cache = cache(1024);
+        cache.put("provinces?|v1", entry("[{\"id\":\"11\"}]"));
+
+        ByteBuffer body = cache.get("provinces?|v1").orElseThrow().body();
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        assertEquals("[{\"id\":\"11\"}]", new String(bytes, StandardCharsets.UTF_8));
+        // View baru setiap get, posisi pembaca sebelumnya tidak berpengaruh
+        assertEquals(bytes.length, cache.get("provinces?|v1").orElseThrow().body().remaining());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverBudget() {
+        ResponseByteCache cache = cache(10);
+        cache.put("a", entry("aaaa"));
+        cache.put("b", entry("bbbb"));
+        cache.get("a");
+        cache.put("c", entry("cccc"));
+
+        assertTrue(cache.get("a").isPresent());
+        assertFalse(cache.get("b").isPresent());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(8, cache.getUsedBytes());
+
+        cache.put("big", entry("0123456789x"));
+        assertFalse(cache.get("big").isPresent());
+
+        cache.clear();
+        assertEquals(0, cache.getUsedBytes());
+    }
+}
@@ -0,0 +1,108 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.model.Province;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpCacheFilterTest {
+
+    private static final String ETAG = "\"0123456789abcdef\"";
+
+    /**
+     * Request GET minimal untuk filter: path, parameter query, header, property, dan response dari abortWith.
+     */
+    static final class FakeRequest {
+        final Map<String, String> headers = new HashMap<>();
+        final Map<String, Object> properties = new HashMap<>();
+        final MultivaluedMap<String, String> query = new MultivaluedHashMap<>();
+        final String path;
+        Response aborted;
+
+        FakeRequest(String path) {
+            this.path = path;
+        }
+
+        ContainerRequestContext context() {
+            UriInfo uriInfo = (UriInfo) Proxy.newProxyInstance(UriInfo.class.getClassLoader(), new Class<?>[]{UriInfo.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getPath" -> path;
+                        case "getQueryParameters" -> query;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+            return (ContainerRequestContext) Proxy.newProxyInstance(ContainerRequestContext.class.getClassLoader(),
+                    new Class<?>[]{ContainerRequestContext.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getUriInfo" -> uriInfo;
+                        case "getMethod" -> "GET";
+                        case "getHeaderString" -> headers.get((String) args[0]);
+                        case "getProperty" -> properties.get((String) args[0]);
+                        case "setProperty" -> properties.put((String) args[0], args[1]);
+                        case "abortWith" -> aborted = (Response) args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+
+    static RegionSnapshotHolder snapshotHolder() {
+        RegionSnapshot snapshot = RegionSnapshot.of(List.of(new Province("11", "ACEH")), List.of(), List.of(), List.of());
+        return new RegionSnapshotHolder() {
+            @Override
+            public Optional<RegionSnapshot> current() {
+                return Optional.of(snapshot);
+            }
+        };
+    }
+
+    @Test
+    void matchesListsWildcardAndWeakTags() {
+        assertTrue(HttpCacheFilter.matches(ETAG, ETAG));
+        assertTrue(HttpCacheFilter.matches("\"other\", " + ETAG, ETAG));
+        assertTrue(HttpCacheFilter.matches("W/" + ETAG, ETAG));
+        assertTrue(HttpCacheFilter.matches("*", ETAG));
+    }
+
+    @Test
+    void staleOrMissingTagsDoNotMatch() {
+        assertFalse(HttpCacheFilter.matches(null, ETAG));
+        assertFalse(HttpCacheFilter.matches("\"fedcba9876543210\"", ETAG));
+        assertFalse(HttpCacheFilter.matches("0123456789abcdef", ETAG));
+    }
+
+    @Test
+    void strategyRequestsAreNeverAnsweredWith304() {
+        HttpCacheFilter filter = new HttpCacheFilter();
+        filter.snapshotHolder = snapshotHolder();
+        filter.maxAge = 300;
+
+        FakeRequest plain = new FakeRequest("/villages/33");
+        plain.headers.put(HttpHeaders.IF_NONE_MATCH, "*");
+        filter.filter(plain.context());
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), plain.aborted.getStatus());
+
+        FakeRequest strategy = new FakeRequest("/villages/33");
+        strategy.query.putSingle("strategy", "join");
+        strategy.headers.put(HttpHeaders.IF_NONE_MATCH, "*");
+        filter.filter(strategy.context());
+        assertNull(strategy.aborted);
+        // Tanpa ETag tersimpan, response filter juga tidak menambahkan ETag maupun Cache-Control
+        assertTrue(strategy.properties.isEmpty());
+    }
+}
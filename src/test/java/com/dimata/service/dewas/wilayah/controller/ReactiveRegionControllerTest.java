@@ -0,0 +1,90 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.PageRequest;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Multi;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveRegionControllerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<Village> VILLAGES = List.of(
+            new Village("3301010001", "3301010", "DAYEUHLUHUR"),
+            new Village("3301010002", "3301010", "HANUM"));
+
+    /**
+     * Body seperti yang ditulis Quarkus REST untuk Multi JSON: setiap elemen diserialisasi Jackson,
+     * dipisah koma di dalam array.
+     */
+    private static String body(Multi<Object> items) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (Object item : items.collect().asList().await().indefinitely()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(MAPPER.writeValueAsString(item));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String blockingBody(FieldProjection<Village> projection) throws IOException {
+        if (projection.isFull()) {
+            return MAPPER.writeValueAsString(VILLAGES);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonArrayStreamingOutput.of(projection, VILLAGES::forEach).write(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void writesSameJsonAsBlockingPath() throws IOException {
+        for (String fields : new String[]{null, "id,name", "name,districtId"}) {
+            FieldProjection<Village> projection = FieldProjection.forVillage(fields);
+
+            Multi<Object> items = ReactiveRegionController.list(Multi.createFrom().iterable(VILLAGES),
+                    PageRequest.all(), projection, Village::getId, () -> Response.status(404).build());
+
+            assertEquals(blockingBody(projection), body(items), "fields=" + fields);
+        }
+    }
+
+    @Test
+    void failsWithNotFoundOnlyForEmptyFirstPage() throws IOException {
+        Multi<Object> firstPage = ReactiveRegionController.list(Multi.createFrom().empty(), PageRequest.all(),
+                FieldProjection.forVillage(null), Village::getId, () -> Response.status(404).build());
+        WebApplicationException e = assertThrows(WebApplicationException.class, () -> body(firstPage));
+        assertEquals(404, e.getResponse().getStatus());
+
+        Multi<Object> nextPage = ReactiveRegionController.list(Multi.createFrom().empty(),
+                PageRequest.of("3301010002", null, RegionLevel.VILLAGE),
+                FieldProjection.forVillage(null), Village::getId, () -> Response.status(404).build());
+        assertEquals("[]", body(nextPage));
+    }
+
+    @Test
+    void routesOnlyListEndpoints() {
+        assertTrue(ReadPathFilter.isReactivePath("/provinces"));
+        assertTrue(ReadPathFilter.isReactivePath("/provinces/"));
+        assertTrue(ReadPathFilter.isReactivePath("/villages/33"));
+        assertTrue(ReadPathFilter.isReactivePath("/regencies/abc"));
+        assertFalse(ReadPathFilter.isReactivePath("/provinces/33"));
+        assertFalse(ReadPathFilter.isReactivePath("/villages/id/3301010001"));
+        assertFalse(ReadPathFilter.isReactivePath("/regencies/3301/districts"));
+        assertFalse(ReadPathFilter.isReactivePath("/search"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionTree;
+import com.dimata.service.dewas.wilayah.model.Village;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegionTreeStreamingOutputTest {
+
+    private static final List<Province> PROVINCES = List.of(new Province("11", "ACEH"), new Province("12", "SUMUT"));
+    private static final List<Regency> REGENCIES = List.of(
+            new Regency("1101", "11", "SIMEULUE"), new Regency("1201", "12", "NIAS"));
+    private static final List<District> DISTRICTS = List.of(
+            new District("1101010", "1101", "TEUPAH SELATAN"),
+            // Kecamatan tanpa kabupaten di daftar harus dilewati tanpa menahan merge
+            new District("1102010", "1102", "YATIM"),
+            new District("1201010", "1201", "IDANOGAWO"));
+    private static final List<Village> VILLAGES = List.of(
+            new Village("1101010001", "1101010", "LATIUNG"),
+            new Village("1101010002", "1101010", "LABUHAN BAJAU"),
+            new Village("1201010001", "1201010", "TETEHOSI"));
+
+    private static String write(RegionTree tree, boolean single) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new RegionTreeStreamingOutput(tree, single).write(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void mergesSortedLevelsIntoNestedJson() throws IOException {
+        String json = write(new RegionTree(PROVINCES, REGENCIES, DISTRICTS, VILLAGES, 3), false);
+
+        assertEquals("[{\"id\":\"11\",\"name\":\"ACEH\",\"regencies\":[{\"id\":\"1101\",\"provinceId\":\"11\",\"name\":\"SIMEULUE\","
+                + "\"districts\":[{\"id\":\"1101010\",\"regencyId\":\"1101\",\"name\":\"TEUPAH SELATAN\",\"villages\":["
+                + "{\"id\":\"1101010001\",\"districtId\":\"1101010\",\"name\":\"LATIUNG\"},"
+                + "{\"id\":\"1101010002\",\"districtId\":\"1101010\",\"name\":\"LABUHAN BAJAU\"}]}]}]},"
+                + "{\"id\":\"12\",\"name\":\"SUMUT\",\"regencies\":[{\"id\":\"1201\",\"provinceId\":\"12\",\"name\":\"NIAS\","
+                + "\"districts\":[{\"id\":\"1201010\",\"regencyId\":\"1201\",\"name\":\"IDANOGAWO\",\"villages\":["
+                + "{\"id\":\"1201010001\",\"districtId\":\"1201010\",\"name\":\"TETEHOSI\"}]}]}]}]", json);
+    }
+
+    @Test
+    void stopsAtRequestedDepth() throws IOException {
+        String json = write(new RegionTree(PROVINCES.subList(0, 1), REGENCIES.subList(0, 1), List.of(), List.of(), 1), true);
+
+        assertEquals("{\"id\":\"11\",\"name\":\"ACEH\",\"regencies\":[{\"id\":\"1101\",\"provinceId\":\"11\",\"name\":\"SIMEULUE\"}]}", json);
+    }
+
+    @Test
+    void parsesDepth() {
+        assertEquals(3, RegionTreeStreamingOutput.parseDepth(null));
+        assertEquals(0, RegionTreeStreamingOutput.parseDepth("0"));
+        assertThrows(IllegalArgumentException.class, () -> RegionTreeStreamingOutput.parseDepth("4"));
+        assertThrows(IllegalArgumentException.class, () -> RegionTreeStreamingOutput.parseDepth("x"));
+    }
+}
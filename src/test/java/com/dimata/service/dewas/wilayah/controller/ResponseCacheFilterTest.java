@@ -0,0 +1,48 @@
+package com.dimata.service.dewas.wilayah.controller;
+
+import com.dimata.service.dewas.wilayah.cache.ResponseByteCache;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheFilterTest {
+
+    @Test
+    void strategyRequestsAreNeverServedFromCache() {
+        byte[] body = "[{\"id\":\"3301010001\"}]".getBytes(StandardCharsets.UTF_8);
+        ResponseByteCache.Entry cached = ResponseByteCache.Entry.of(body, body.length, "application/json", null, null);
+
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        filter.snapshotHolder = HttpCacheFilterTest.snapshotHolder();
+        // Setiap kunci dianggap sudah tersimpan
+        filter.responseByteCache = new ResponseByteCache() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public Optional<Entry> get(String key) {
+                return Optional.of(cached);
+            }
+        };
+
+        HttpCacheFilterTest.FakeRequest plain = new HttpCacheFilterTest.FakeRequest("/villages/33");
+        filter.filter(plain.context());
+        assertNotNull(plain.aborted);
+        assertEquals(200, plain.aborted.getStatus());
+
+        HttpCacheFilterTest.FakeRequest strategy = new HttpCacheFilterTest.FakeRequest("/villages/33");
+        strategy.query.putSingle("strategy", "id_range");
+        filter.filter(strategy.context());
+        assertNull(strategy.aborted);
+        // Tanpa kunci cache, response-nya juga tidak disimpan
+        assertTrue(strategy.properties.isEmpty());
+    }
+}
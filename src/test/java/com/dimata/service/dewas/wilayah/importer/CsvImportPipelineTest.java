@@ -0,0 +1,108 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvImportPipelineTest {
+
+    private static final String PROVINCES = "provinces.csv";
+
+    private CsvImportPipeline pipeline;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pipeline = new CsvImportPipeline();
+        pipeline.csvSource = new CsvSource();
+        pipeline.registry = registry;
+        pipeline.batchSize = 10;
+        pipeline.queueCapacity = 1;
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void cutsFixedSizeBatchesInFileOrder() throws Exception {
+        List<List<String>> batches = new ArrayList<>();
+
+        ImportResult result = pipeline.run(PROVINCES, record -> record.get(0), batches::add);
+
+        assertEquals(34, result.getRowsRead());
+        assertEquals(4, result.getBatches());
+        assertEquals(List.of(10, 10, 10, 4), batches.stream().map(List::size).toList());
+        assertEquals("11", batches.get(0).get(0));
+    }
+
+    @Test
+    void recordsBatchStageAndRowMetrics() throws Exception {
+        pipeline.run(PROVINCES, record -> record.get(0), batch -> { });
+
+        assertEquals(4, registry.get("wilayah.import.batch").tag("file", PROVINCES).timer().count());
+        assertEquals(1, registry.get("wilayah.import.stage").tags("file", PROVINCES, "stage", "parse").timer().count());
+        assertEquals(1, registry.get("wilayah.import.stage").tags("file", PROVINCES, "stage", "total").timer().count());
+        assertEquals(34, registry.get("wilayah.import.rows").tags("file", PROVINCES, "result", "read").counter().count());
+    }
+
+    @Test
+    void shardWritersWaitForTheGate() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> parentWritten = new CompletableFuture<>();
+
+        CompletableFuture<ImportResult> run = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pipeline.run(PROVINCES, record -> record.get(0), null, id -> id, 3, parentWritten, written::addAll);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertTrue(written.isEmpty());
+
+        parentWritten.complete(null);
+        ImportResult result = run.get(10, TimeUnit.SECONDS);
+
+        assertEquals(34, result.getRowsRead());
+        assertEquals(34, new HashSet<>(written).size());
+    }
+
+    @Test
+    void failedGateFailsTheLevel() {
+        assertThrows(IllegalStateException.class, () -> pipeline.run(PROVINCES, record -> record.get(0), null, id -> id, 2,
+                CompletableFuture.failedFuture(new IllegalStateException("induk gagal")), batch -> { }));
+    }
+
+    @Test
+    void writerFailureStopsTheImport() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> pipeline.run(PROVINCES, record -> record.get(0), batch -> {
+                    throw new IllegalStateException("db down");
+                }));
+        assertTrue(e.getMessage().contains("db down"));
+    }
+
+    @Test
+    void missingFileIsReported() {
+        assertThrows(FileNotFoundException.class,
+                () -> pipeline.run("none.csv", record -> record, batch -> { }));
+    }
+}
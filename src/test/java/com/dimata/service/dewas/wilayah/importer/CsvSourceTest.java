@@ -0,0 +1,42 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvSourceTest {
+
+    @Test
+    void checksumFollowsExternalFileChanges(@TempDir Path dir) throws Exception {
+        CsvSource source = new CsvSource();
+        source.sourceDir = Optional.of(dir.toString());
+        Path file = dir.resolve("provinces.csv");
+
+        Files.writeString(file, "11,ACEH\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2024-01-01T00:00:00Z")));
+        String first = source.checksum("provinces.csv");
+        assertEquals(first, source.checksum("provinces.csv"));
+
+        Files.writeString(file, "11,ACEH\n12,SUMATERA UTARA\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2024-02-01T00:00:00Z")));
+        assertNotEquals(first, source.checksum("provinces.csv"));
+    }
+
+    @Test
+    void bundledFilesAreReadFromTheClasspath() throws Exception {
+        CsvSource source = new CsvSource();
+
+        assertEquals(64, source.checksum("provinces.csv").length());
+        assertThrows(FileNotFoundException.class, () -> source.open("none.csv"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ImportJobServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    // Jumlah job yang sedang menulis dan nilai tertingginya, untuk memeriksa job yang tumpang tindih
+    private final AtomicInteger writing = new AtomicInteger();
+    private final AtomicInteger maxWriting = new AtomicInteger();
+    private ImportJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new ImportJobService();
+        jobService.jobThreads = 2;
+        jobService.regionImportService = new RegionImportService() {
+            @Override
+            public ImportReport importAll(ImportProgress progress) throws IOException {
+                write();
+                progress.rowRead();
+                progress.batchCommitted(1);
+                return new ImportReport(Map.of(), 1);
+            }
+
+            @Override
+            public ImportResult importLevel(RegionLevel level, ImportProgress progress) throws IOException {
+                if (level != RegionLevel.VILLAGE) {
+                    throw new FileNotFoundException("File CSV tidak ditemukan: " + level);
+                }
+                write();
+                return new ImportResult("villages.csv", 1, 1, 1, 0, 0, 0, 0);
+            }
+        };
+        jobService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    private void write() {
+        maxWriting.accumulateAndGet(writing.incrementAndGet(), Math::max);
+        try {
+            release.await();
+            // Beri kesempatan job lain ikut berjalan kalau memang tidak diantrekan
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writing.decrementAndGet();
+        }
+    }
+
+    private static void waitUntilFinished(ImportJob job) throws InterruptedException {
+        for (int i = 0; i < 200 && !job.isFinished(); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void concurrentSubmissionsShareTheActiveJob() throws Exception {
+        ImportJob all = jobService.submit(ImportScope.ALL);
+
+        assertSame(all, jobService.submit(ImportScope.ALL));
+        assertSame(all, jobService.submit(ImportScope.VILLAGE));
+
+        release.countDown();
+        waitUntilFinished(all);
+
+        assertEquals(ImportJob.State.SUCCEEDED, all.getState());
+        assertEquals(1, all.getRowsRead());
+        assertEquals(1, all.getBatchesCommitted());
+        assertSame(all, jobService.find(all.getId()).orElseThrow());
+        assertNotSame(all, jobService.submit(ImportScope.ALL));
+    }
+
+    @Test
+    void allWaitsForRunningLevelJob() throws Exception {
+        ImportJob village = jobService.submit(ImportScope.VILLAGE);
+        ImportJob all = jobService.submit(ImportScope.ALL);
+
+        assertNotSame(village, all);
+        assertSame(all, jobService.submit(ImportScope.ALL));
+        // Job ALL yang masih antre sudah mencakup level lain
+        assertSame(all, jobService.submit(ImportScope.REGENCY));
+        Thread.sleep(100);
+        assertEquals(ImportJob.State.QUEUED, all.getState());
+
+        release.countDown();
+        waitUntilFinished(village);
+        waitUntilFinished(all);
+
+        assertEquals(ImportJob.State.SUCCEEDED, village.getState());
+        assertEquals(ImportJob.State.SUCCEEDED, all.getState());
+        assertEquals(1, maxWriting.get());
+    }
+
+    @Test
+    void failuresAreReportedOnTheJob() throws Exception {
+        ImportJob job = jobService.submit(ImportScope.DISTRICT);
+        waitUntilFinished(job);
+
+        assertEquals(ImportJob.State.FAILED, job.getState());
+        assertEquals(List.of("File CSV tidak ditemukan: DISTRICT"), job.getErrors());
+        release.countDown();
+    }
+}
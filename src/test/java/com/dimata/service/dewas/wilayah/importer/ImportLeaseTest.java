@@ -0,0 +1,153 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.repo.ImportLockRepository;
+import org.jooq.CloseableDSLContext;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportLeaseTest {
+
+    private static final Duration TTL = Duration.ofSeconds(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CloseableDSLContext database;
+    private ImportLockRepository lockRepository;
+    private ImportJobService jobService;
+    private ImportLease lease;
+
+    /**
+     * Database H2 baru dalam mode MySQL dengan skema dari db/schema.sql.
+     */
+    static CloseableDSLContext openDatabase() throws IOException {
+        CloseableDSLContext database = DSL.using("jdbc:h2:mem:import_lock_" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        try (InputStream schema = ImportLeaseTest.class.getResourceAsStream("/db/schema.sql")) {
+            String script = new String(schema.readAllBytes(), StandardCharsets.UTF_8);
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) {
+                    database.execute(sql);
+                }
+            }
+        }
+        return database;
+    }
+
+    static ImportLockRepository lockRepository(DSLContext database) {
+        return new ImportLockRepository() {
+            {
+                dsl = database;
+            }
+        };
+    }
+
+    static ImportLease lease(ImportLockRepository lockRepository, ImportJobService jobService) {
+        ImportLease lease = new ImportLease() {
+            {
+                importLockRepository = lockRepository;
+                importJobService = jobService;
+                lockTtl = TTL;
+            }
+        };
+        lease.start();
+        return lease;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        database = openDatabase();
+        lockRepository = lockRepository(database);
+
+        jobService = new ImportJobService();
+        jobService.jobThreads = 1;
+        jobService.regionImportService = new RegionImportService() {
+            @Override
+            public ImportReport importAll(ImportProgress progress) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ImportReport(Map.of(), 1);
+            }
+        };
+        jobService.start();
+
+        lease = lease(lockRepository, jobService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        lease.shutdown();
+        jobService.shutdown();
+        database.close();
+    }
+
+    @Test
+    void lockIsHeldUntilJobFinishesEvenPastTtl() throws Exception {
+        ImportJob job = lease.submit(ImportScope.ALL).orElseThrow();
+
+        // Job berjalan lebih lama dari TTL; lock tetap diperpanjang
+        Thread.sleep(TTL.multipliedBy(5).dividedBy(2).toMillis());
+        assertFalse(job.isFinished());
+        assertFalse(lockRepository.tryAcquire(ImportLease.LOCK_NAME, "node-b", TTL));
+        ImportLease other = lease(lockRepository, jobService);
+        try {
+            assertTrue(other.submit(ImportScope.ALL).isEmpty());
+        } finally {
+            other.shutdown();
+        }
+
+        release.countDown();
+        job.completion().get();
+        assertEquals(ImportJob.State.SUCCEEDED, job.getState());
+        // Lock dilepas dari callback selesainya job, bisa sedikit setelah get() kembali
+        boolean acquired = false;
+        for (int i = 0; i < 100 && !acquired; i++) {
+            acquired = lockRepository.tryAcquire(ImportLease.LOCK_NAME, "node-b", TTL);
+            if (!acquired) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(acquired);
+    }
+
+    @Test
+    void checksumIsRecordedBeforeLockIsReleased() throws Exception {
+        ImportJob job = lease.submit(ImportScope.ALL, "checksum-baru").orElseThrow();
+        release.countDown();
+        job.completion().get();
+
+        // Begitu node lain bisa mengambil lock, checksum baru sudah terlihat
+        for (int i = 0; i < 100 && !lockRepository.tryAcquire(ImportLease.LOCK_NAME, "node-b", TTL); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(Optional.of("checksum-baru"), lockRepository.importedChecksum(ImportLease.LOCK_NAME));
+    }
+
+    @Test
+    void lockTableIsCreatedOnFirstUse() {
+        // Database yang sudah berjalan sebelum tabel lock ada
+        try (CloseableDSLContext existing = DSL.using("jdbc:h2:mem:import_lock_" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE")) {
+            ImportLockRepository repository = lockRepository(existing);
+            assertEquals(Optional.empty(), repository.importedChecksum(ImportLease.LOCK_NAME));
+            assertTrue(repository.tryAcquire(ImportLease.LOCK_NAME, "node-a", TTL));
+            assertFalse(lockRepository(existing).tryAcquire(ImportLease.LOCK_NAME, "node-b", TTL));
+        }
+    }
+}
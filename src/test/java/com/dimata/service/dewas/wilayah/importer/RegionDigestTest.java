@@ -0,0 +1,55 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionDigestTest {
+
+    private static long hash(Village village) {
+        return RegionDigest.hash(village.getDistrictId(), village.getName());
+    }
+
+    private static RegionDigest digest(Village... villages) {
+        return RegionDigest.load(RegionLevel.VILLAGE, consumer -> List.of(villages).forEach(consumer),
+                Village::getId, RegionDigestTest::hash);
+    }
+
+    @Test
+    void classifiesRowsAgainstTheDatabase() {
+        RegionDigest digest = digest(
+                new Village("1101010002", "1101010", "LAMA"),
+                new Village("1101010001", "1101010", "LATIUNG"),
+                new Village("1101010003", "1101010", "HILANG"));
+
+        assertFalse(digest.changed("1101010001", RegionDigest.hash("1101010", "LATIUNG")));
+        assertTrue(digest.changed("1101010002", RegionDigest.hash("1101010", "BARU")));
+        assertTrue(digest.changed("1101010004", RegionDigest.hash("1101010", "TAMBAHAN")));
+
+        ImportDiff diff = digest.diff(1);
+        assertEquals(1, diff.getInserted());
+        assertEquals(1, diff.getUpdated());
+        assertEquals(1, diff.getUnchanged());
+        assertEquals(List.of("1101010003"), digest.missingIds());
+    }
+
+    @Test
+    void duplicateIdsAreAlwaysWritten() {
+        RegionDigest digest = digest(new Village("9107182005", "9107182", "B"));
+
+        assertTrue(digest.changed("9107182005", RegionDigest.hash("9107182", "A")));
+        assertTrue(digest.changed("9107182005", RegionDigest.hash("9107182", "B")));
+    }
+
+    @Test
+    void hashSeparatesColumns() {
+        assertNotEquals(RegionDigest.hash("ab", "c"), RegionDigest.hash("a", "bc"));
+    }
+}
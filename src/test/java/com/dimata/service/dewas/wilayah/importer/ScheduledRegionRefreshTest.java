@@ -0,0 +1,99 @@
+package com.dimata.service.dewas.wilayah.importer;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.repo.ImportLockRepository;
+import org.jooq.CloseableDSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduledRegionRefreshTest {
+
+    private final AtomicInteger imports = new AtomicInteger();
+    private final List<Runnable> cleanup = new ArrayList<>();
+    private CloseableDSLContext database;
+    private ImportLockRepository lockRepository;
+
+    /**
+     * Satu node: job service, lease dan refresh sendiri, dengan database lock yang sama.
+     */
+    private final class Node {
+        final AtomicInteger snapshotRefreshes = new AtomicInteger();
+        final ScheduledRegionRefresh refresh = new ScheduledRegionRefresh();
+
+        Node() {
+            ImportJobService jobService = new ImportJobService();
+            jobService.jobThreads = 1;
+            jobService.regionImportService = new RegionImportService() {
+                @Override
+                public ImportReport importAll(ImportProgress progress) {
+                    imports.incrementAndGet();
+                    return new ImportReport(Map.of(), 1);
+                }
+            };
+            jobService.start();
+            ImportLease lease = ImportLeaseTest.lease(lockRepository, jobService);
+            cleanup.add(lease::shutdown);
+            cleanup.add(jobService::shutdown);
+
+            refresh.csvSource = new CsvSource() {
+                @Override
+                public String checksum(String fileName) {
+                    return "v1";
+                }
+            };
+            refresh.importLease = lease;
+            refresh.importLockRepository = lockRepository;
+            refresh.snapshotHolder = new RegionSnapshotHolder() {
+                @Override
+                public void refresh() {
+                    snapshotRefreshes.incrementAndGet();
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        database = ImportLeaseTest.openDatabase();
+        lockRepository = ImportLeaseTest.lockRepository(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanup.forEach(Runnable::run);
+        database.close();
+    }
+
+    @Test
+    void importsOnceAcrossNodes() throws InterruptedException {
+        Node a = new Node();
+        Node b = new Node();
+
+        a.refresh.refresh();
+        for (int i = 0; i < 100 && (a.snapshotRefreshes.get() == 0
+                || lockRepository.importedChecksum(ImportLease.LOCK_NAME).isEmpty()); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, imports.get());
+        assertEquals(1, a.snapshotRefreshes.get());
+        assertTrue(lockRepository.importedChecksum(ImportLease.LOCK_NAME).isPresent());
+
+        // Node lain melihat checksum di database: tidak mengimpor, cukup memuat ulang snapshot sekali
+        b.refresh.refresh();
+        b.refresh.refresh();
+        a.refresh.refresh();
+        assertEquals(1, imports.get());
+        assertEquals(1, b.snapshotRefreshes.get());
+        assertEquals(1, a.snapshotRefreshes.get());
+    }
+}
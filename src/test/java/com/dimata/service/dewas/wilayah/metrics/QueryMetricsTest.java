@@ -0,0 +1,59 @@
+package com.dimata.service.dewas.wilayah.metrics;
+
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Test;
+
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.PROVINCES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryMetricsTest {
+
+    @Test
+    void tagsQueriesWithTheRepositoryMethod() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryMetrics queryMetrics = new QueryMetrics();
+        queryMetrics.registry = registry;
+        queryMetrics.enabled = true;
+
+        Result<Record2<String, String>> rows = DSL.using(SQLDialect.MYSQL).newResult(PROVINCES.ID, PROVINCES.NAME);
+        rows.add(DSL.using(SQLDialect.MYSQL).newRecord(PROVINCES.ID, PROVINCES.NAME).values("11", "ACEH"));
+        rows.add(DSL.using(SQLDialect.MYSQL).newRecord(PROVINCES.ID, PROVINCES.NAME).values("12", "SUMATERA UTARA"));
+        Configuration configuration = new DefaultConfiguration()
+                .set(new MockConnection(context -> new MockResult[]{new MockResult(rows.size(), rows)}))
+                .set(SQLDialect.MYSQL);
+        queryMetrics.apply(configuration);
+        DSLContext context = DSL.using(configuration);
+        ProvinceRepository repository = new ProvinceRepository() {
+            {
+                dsl = context;
+            }
+        };
+
+        assertEquals(2, repository.findAll().size());
+
+        Timer timer = registry.get("wilayah.db.query")
+                .tags("operation", "ProvinceRepository.findAll", "type", "read", "outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(2, registry.get("wilayah.db.rows.fetched")
+                .tag("operation", "ProvinceRepository.findAll")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void lambdaFramesUseTheEnclosingMethodName() {
+        assertEquals("forEachVillage", QueryMetrics.methodName("lambda$forEachVillage$0"));
+        assertEquals("findAll", QueryMetrics.methodName("findAll"));
+    }
+}
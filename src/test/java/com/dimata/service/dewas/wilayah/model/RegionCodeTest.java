@@ -0,0 +1,38 @@
+package com.dimata.service.dewas.wilayah.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegionCodeTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        assertEquals(1101010001L, RegionCode.encode("1101010001"));
+        assertEquals("1101010001", RegionCode.decode(1101010001L, RegionLevel.VILLAGE));
+        assertEquals("11", RegionCode.decode(11L, RegionLevel.PROVINCE));
+    }
+
+    @Test
+    void parentIsDerivedArithmetically() {
+        assertEquals(1101010L, RegionCode.parentOf(1101010001L, RegionLevel.VILLAGE));
+        assertEquals(1101L, RegionCode.parentOf(1101010L, RegionLevel.DISTRICT));
+        assertEquals(11L, RegionCode.parentOf(1101L, RegionLevel.REGENCY));
+        assertEquals(11L, RegionCode.ancestorOf(1101010001L, RegionLevel.VILLAGE, RegionLevel.PROVINCE));
+    }
+
+    @Test
+    void descendantBoundsCoverWholePrefix() {
+        assertEquals(3300000000L, RegionCode.descendantLowerBound(33L, RegionLevel.PROVINCE, RegionLevel.VILLAGE));
+        assertEquals(3400000000L, RegionCode.descendantUpperBound(33L, RegionLevel.PROVINCE, RegionLevel.VILLAGE));
+        assertEquals(1101000L, RegionCode.descendantLowerBound(1101L, RegionLevel.REGENCY, RegionLevel.DISTRICT));
+    }
+
+    @Test
+    void rejectsInvalidCodes() {
+        assertThrows(IllegalArgumentException.class, () -> RegionCode.encode("11A1"));
+        assertThrows(IllegalArgumentException.class, () -> RegionCode.encode("123"));
+        assertThrows(IllegalArgumentException.class, () -> RegionCode.encode(""));
+    }
+}
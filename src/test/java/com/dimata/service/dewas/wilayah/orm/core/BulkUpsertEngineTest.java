@@ -0,0 +1,38 @@
+package com.dimata.service.dewas.wilayah.orm.core;
+
+import com.dimata.service.dewas.wilayah.jooq.gen.tables.records.VillagesRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.dimata.service.dewas.wilayah.jooq.gen.Tables.VILLAGES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkUpsertEngineTest {
+
+    @Test
+    void tsvEscapesSeparatorsAndNulls() {
+        List<VillagesRecord> records = List.of(
+                new VillagesRecord("1101010001", "1101010", "LATIUNG"),
+                new VillagesRecord("1101010002", null, "A\tB\\C\nD"));
+
+        String tsv = new String(BulkUpsertEngine.toTsv(records, VILLAGES.fields()), StandardCharsets.UTF_8);
+
+        assertEquals("1101010001\t1101010\tLATIUNG\n"
+                + "1101010002\t\\N\tA\\tB\\\\C\\nD\n", tsv);
+    }
+
+    @Test
+    void lastRowWinsForDuplicateKeys() {
+        List<VillagesRecord> records = List.of(
+                new VillagesRecord("9107182005", "9107182", "LAMA"),
+                new VillagesRecord("9107182006", "9107182", "LAIN"),
+                new VillagesRecord("9107182005", "9107182", "BARU"));
+
+        List<VillagesRecord> unique = BulkUpsertEngine.lastPerKey(VILLAGES, records);
+
+        assertEquals(2, unique.size());
+        assertEquals("BARU", unique.get(0).getName());
+    }
+}
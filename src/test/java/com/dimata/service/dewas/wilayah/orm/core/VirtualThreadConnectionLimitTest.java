@@ -0,0 +1,77 @@
+package com.dimata.service.dewas.wilayah.orm.core;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+import org.jooq.tools.jdbc.MockConnection;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualThreadConnectionLimitTest {
+
+    private final AtomicInteger open = new AtomicInteger();
+
+    private final ConnectionProvider pool = new ConnectionProvider() {
+        @Override
+        public Connection acquire() {
+            open.incrementAndGet();
+            return new MockConnection(context -> null);
+        }
+
+        @Override
+        public void release(Connection connection) {
+            open.decrementAndGet();
+        }
+    };
+
+    @Test
+    void virtualThreadsWaitForAPermitAndFailAfterMaxWait() throws Exception {
+        VirtualThreadConnectionLimit limit = new VirtualThreadConnectionLimit(pool, 2, Duration.ofMillis(50));
+
+        Connection first = onVirtualThread(limit::acquire);
+        Connection second = onVirtualThread(limit::acquire);
+        assertEquals(0, limit.availablePermits());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> onVirtualThread(limit::acquire));
+        assertInstanceOf(DataAccessException.class, e.getCause());
+        assertEquals(2, open.get());
+
+        // Release dari thread lain tetap mengembalikan izin
+        limit.release(first);
+        Connection third = onVirtualThread(limit::acquire);
+        limit.release(second);
+        limit.release(third);
+        assertEquals(2, limit.availablePermits());
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void platformThreadsAreNotLimited() {
+        VirtualThreadConnectionLimit limit = new VirtualThreadConnectionLimit(pool, 1, Duration.ofMillis(50));
+
+        Connection first = limit.acquire();
+        Connection second = limit.acquire();
+        assertEquals(1, limit.availablePermits());
+
+        limit.release(first);
+        limit.release(second);
+        assertEquals(1, limit.availablePermits());
+        assertEquals(0, open.get());
+    }
+
+    private static <T> T onVirtualThread(Callable<T> task) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return executor.submit(task).get();
+        }
+    }
+}
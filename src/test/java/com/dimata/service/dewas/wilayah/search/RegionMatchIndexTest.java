@@ -0,0 +1,81 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.model.AddressMatch;
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.Village;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionMatchIndexTest {
+
+    private static final RegionMatchIndex INDEX = RegionMatchIndex.of(RegionSnapshot.of(
+            List.of(new Province("11", "ACEH"), new Province("32", "JAWA BARAT")),
+            List.of(new Regency("1101", "11", "KABUPATEN SIMEULUE"),
+                    new Regency("3216", "32", "KABUPATEN BEKASI"),
+                    new Regency("3275", "32", "KOTA BEKASI")),
+            List.of(new District("1101010", "1101", "TEUPAH SELATAN"),
+                    new District("3216010", "3216", "SETU"),
+                    new District("3275010", "3275", "PONDOK GEDE")),
+            List.of(new Village("1101010001", "1101010", "LATIUNG"),
+                    new Village("1101010002", "1101010", "LABUHAN BAJAU"),
+                    new Village("3216010001", "3216010", "SUKAMAJU"),
+                    new Village("3275010001", "3275010", "SUKAMAJU"))), 2);
+
+    @Test
+    void matchesMisspelledAndAbbreviatedAddress() {
+        AddressMatch match = INDEX.match("Jl. Merdeka No 5, Ds. Labuhan Bajao, Kec. Teupah Selatn, Kab. Simeulue 23891");
+
+        assertTrue(match.isMatched());
+        assertEquals(RegionLevel.VILLAGE, match.getLevel());
+        assertEquals("1101010002", match.getVillageId());
+        assertEquals("1101010", match.getDistrictId());
+        assertEquals("1101", match.getRegencyId());
+        assertEquals("11", match.getProvinceId());
+        assertEquals(2, match.getDistance());
+        assertFalse(match.isAmbiguous());
+    }
+
+    @Test
+    void matchesAddressWithoutSeparators() {
+        AddressMatch match = INDEX.match("LATIUNG TEUPAH SELATAN SIMEULUE");
+
+        assertEquals("1101010001", match.getVillageId());
+        assertEquals(0, match.getDistance());
+    }
+
+    @Test
+    void usesHierarchyToDisambiguate() {
+        AddressMatch alone = INDEX.match("Sukamaju");
+        assertTrue(alone.isAmbiguous());
+
+        assertEquals("3275010001", INDEX.match("Desa Sukamaju, Kota Bekasi").getVillageId());
+        assertEquals("3216010001", INDEX.match("Desa Sukamaju, Kab. Bekasi").getVillageId());
+        assertFalse(INDEX.match("Desa Sukamaju, Kab. Bekasi").isAmbiguous());
+    }
+
+    @Test
+    void reportsUnmatchedAddress() {
+        AddressMatch match = INDEX.match("Jl. Sudirman No. 1");
+
+        assertFalse(match.isMatched());
+        assertNull(match.getLevel());
+        assertFalse(INDEX.match("Kab. Xyzzy").isMatched());
+    }
+
+    @Test
+    void boundedDistanceStopsAtLimit() {
+        assertEquals(1, BkTree.boundedDistance("SELATAN", "SELATN", 2));
+        assertEquals(3, BkTree.boundedDistance("ACEH", "BEKASI", 2));
+        assertEquals(3, BkTree.distance("KITTEN", "SITTING"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.dimata.service.dewas.wilayah.search;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshot;
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.RegionSearchResult;
+import com.dimata.service.dewas.wilayah.model.Village;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionSearchIndexTest {
+
+    private static final RegionSearchIndex INDEX = RegionSearchIndex.of(RegionSnapshot.of(
+            List.of(new Province("11", "ACEH"), new Province("12", "SUMATERA UTARA")),
+            List.of(new Regency("1101", "11", "KABUPATEN SIMEULUE"),
+                    new Regency("1102", "11", "KABUPATEN ACEH SINGKIL"),
+                    new Regency("1201", "12", "KABUPATEN NIAS")),
+            List.of(new District("1101010", "1101", "TEUPAH SELATAN"),
+                    new District("1102010", "1102", "SINGKIL"),
+                    new District("1201010", "1201", "IDANOGAWO")),
+            List.of(new Village("1101010001", "1101010", "LATIUNG"),
+                    new Village("1101010002", "1101010", "LABUHAN BAJAU"),
+                    new Village("1102010001", "1102010", "PULO SAROK SINGKIL"),
+                    new Village("1201010001", "1201010", "SINGKILAN"))));
+
+    private static List<String> ids(List<RegionSearchResult> results) {
+        return results.stream().map(RegionSearchResult::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void ranksExactThenPrefixThenWordPrefixThenSubstring() {
+        assertEquals(List.of("1102010", "1201010001", "1102", "1102010001"),
+                ids(INDEX.search("singkil", null, null, 10)));
+        assertEquals(List.of("1102010", "1201010001"), ids(INDEX.search("singkil", null, null, 2)));
+        assertEquals(List.of("1101010002"), ids(INDEX.search("uhan baj", null, null, 10)));
+    }
+
+    @Test
+    void filtersByLevelAndParent() {
+        assertEquals(List.of("1201010001", "1102010001"),
+                ids(INDEX.search("Singkil", RegionLevel.VILLAGE, null, 10)));
+        assertEquals(List.of("1102010", "1102", "1102010001"), ids(INDEX.search("singkil", null, "11", 10)));
+        assertEquals(List.of("1201010001"), ids(INDEX.search("singkil", null, "1201", 10)));
+    }
+
+    @Test
+    void returnsParentAndLevel() {
+        RegionSearchResult aceh = INDEX.search("ACEH", null, null, 1).get(0);
+        assertEquals(RegionLevel.PROVINCE, aceh.getLevel());
+        assertNull(aceh.getParentId());
+
+        RegionSearchResult village = INDEX.search("latiung", null, null, 1).get(0);
+        assertEquals("1101010", village.getParentId());
+        assertTrue(INDEX.search("xyz", null, null, 10).isEmpty());
+        assertTrue(INDEX.search(" - ", null, null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+package com.dimata.service.dewas.wilayah.service;
+
+import com.dimata.service.dewas.wilayah.cache.RegionSnapshotHolder;
+import com.dimata.service.dewas.wilayah.model.District;
+import com.dimata.service.dewas.wilayah.model.Province;
+import com.dimata.service.dewas.wilayah.model.Regency;
+import com.dimata.service.dewas.wilayah.model.RegionLevel;
+import com.dimata.service.dewas.wilayah.model.ResolvedRegion;
+import com.dimata.service.dewas.wilayah.model.Village;
+import com.dimata.service.dewas.wilayah.repo.DistrictRepository;
+import com.dimata.service.dewas.wilayah.repo.ProvinceRepository;
+import com.dimata.service.dewas.wilayah.repo.RegencyRepository;
+import com.dimata.service.dewas.wilayah.repo.VillageRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionResolveServiceTest {
+
+    private final List<String> queries = new ArrayList<>();
+
+    private RegionResolveService service() {
+        RegionResolveService service = new RegionResolveService();
+        service.chunkSize = 1000;
+        // Tanpa snapshot: semua data dibaca dari repository
+        service.snapshotHolder = new RegionSnapshotHolder();
+        service.provinceRepository = new ProvinceRepository() {
+            @Override
+            public List<Province> findByIds(Collection<String> ids) {
+                queries.add("provinces " + ids);
+                return filter(ids, List.of(new Province("11", "ACEH")), Province::getId);
+            }
+        };
+        service.regencyRepository = new RegencyRepository() {
+            @Override
+            public List<Regency> findByIds(Collection<String> ids) {
+                queries.add("regencies " + ids);
+                return filter(ids, List.of(new Regency("1101", "11", "KABUPATEN SIMEULUE")), Regency::getId);
+            }
+        };
+        service.districtRepository = new DistrictRepository() {
+            @Override
+            public List<District> findByIds(Collection<String> ids) {
+                queries.add("districts " + ids);
+                return filter(ids, List.of(new District("1101010", "1101", "TEUPAH SELATAN")), District::getId);
+            }
+        };
+        service.villageRepository = new VillageRepository() {
+            @Override
+            public List<Village> findByIds(Collection<String> ids) {
+                queries.add("villages " + ids);
+                return filter(ids, List.of(new Village("1101010001", "1101010", "LATIUNG")), Village::getId);
+            }
+        };
+        return service;
+    }
+
+    private static <T> List<T> filter(Collection<String> ids, List<T> rows, Function<T, String> idOf) {
+        return rows.stream().filter(row -> ids.contains(idOf.apply(row))).collect(Collectors.toList());
+    }
+
+    @Test
+    void resolvesMixedLevelsWithOneQueryPerLevel() {
+        List<ResolvedRegion> results = service().resolve(List.of("1101010001", "11", "1101", "1101010002", "abc"));
+
+        assertEquals(List.of("provinces [11]", "regencies [1101]", "districts [1101010]",
+                "villages [1101010001, 1101010002]"), queries);
+
+        ResolvedRegion village = results.get(0);
+        assertTrue(village.isFound());
+        assertEquals(RegionLevel.VILLAGE, village.getLevel());
+        assertEquals("LATIUNG", village.getVillage().getName());
+        assertEquals("TEUPAH SELATAN", village.getDistrict().getName());
+        assertEquals("KABUPATEN SIMEULUE", village.getRegency().getName());
+        assertEquals("ACEH", village.getProvince().getName());
+
+        ResolvedRegion regency = results.get(2);
+        assertTrue(regency.isFound());
+        assertEquals("ACEH", regency.getProvince().getName());
+        assertNull(regency.getDistrict());
+
+        ResolvedRegion missing = results.get(3);
+        assertFalse(missing.isFound());
+        assertEquals("TEUPAH SELATAN", missing.getDistrict().getName());
+
+        ResolvedRegion invalid = results.get(4);
+        assertFalse(invalid.isFound());
+        assertNull(invalid.getLevel());
+    }
+}